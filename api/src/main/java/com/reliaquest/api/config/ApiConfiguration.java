@@ -0,0 +1,59 @@
+package com.reliaquest.api.config;
+
+import com.reliaquest.api.deadline.DeadlineInterceptor;
+import com.reliaquest.api.limit.ConcurrencyLimitInterceptor;
+import com.reliaquest.api.replication.ReplicaReadInterceptor;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.web.ResponseBodyCache;
+import com.reliaquest.api.web.ResponseBodyCacheInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ApiConfiguration implements WebMvcConfigurer {
+
+    private final ObjectProvider<ResponseBodyCache> responseBodyCache;
+
+    private final ObjectProvider<EmployeeService> employeeService;
+
+    private final ObjectProvider<ReplicaReadInterceptor> replicaReadInterceptor;
+
+    private final ObjectProvider<DeadlineInterceptor> deadlineInterceptor;
+
+    private final ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor;
+
+    public ApiConfiguration(
+            ObjectProvider<ResponseBodyCache> responseBodyCache,
+            ObjectProvider<EmployeeService> employeeService,
+            ObjectProvider<ReplicaReadInterceptor> replicaReadInterceptor,
+            ObjectProvider<DeadlineInterceptor> deadlineInterceptor,
+            ObjectProvider<ConcurrencyLimitInterceptor> concurrencyLimitInterceptor) {
+        this.responseBodyCache = responseBodyCache;
+        this.employeeService = employeeService;
+        this.replicaReadInterceptor = replicaReadInterceptor;
+        this.deadlineInterceptor = deadlineInterceptor;
+        this.concurrencyLimitInterceptor = concurrencyLimitInterceptor;
+    }
+
+    /*
+     * Order: concurrency limit, deadline, replica guard, response cache, each only when configured. Cheap refusals
+     * come before any work, and the response cache is skipped when reads go to the upstream.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        concurrencyLimitInterceptor.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/api/v1/employee", "/api/v1/employee/**"));
+        deadlineInterceptor.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/api/v1/employee", "/api/v1/employee/**"));
+        replicaReadInterceptor.ifAvailable(interceptor ->
+                registry.addInterceptor(interceptor).addPathPatterns("/api/v1/employee", "/api/v1/employee/**"));
+        responseBodyCache.ifAvailable(cache -> {
+            EmployeeService service = employeeService.getObject();
+            if (!service.isReadThrough()) {
+                registry.addInterceptor(new ResponseBodyCacheInterceptor(cache, service));
+            }
+        });
+    }
+}
@@ -2,8 +2,12 @@ package com.reliaquest.api.controller;
 
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.search.NameTrie;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.common.search.FuzzyNameIndex;
 import java.util.List;
+import java.util.Locale;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -11,6 +15,11 @@ import org.springframework.web.bind.annotation.*;
 @RequestMapping("/api/v1/employee")
 public class EmployeeController implements IEmployeeController<Employee, EmployeeDTO> {
 
+    /**
+     * Version of the data after a write, returned so that a client can ask a read replica for data at least that new.
+     */
+    public static final String VERSION_HEADER = "X-Employee-Version";
+
     private final EmployeeService service;
 
     public EmployeeController(EmployeeService service) {
@@ -53,13 +62,49 @@ public class EmployeeController implements IEmployeeController<Employee, Employe
     @PostMapping()
     public ResponseEntity<Employee> createEmployee(@RequestBody EmployeeDTO employeeInput) {
         Employee employee = service.createEmployee(employeeInput);
-        return ResponseEntity.ok(employee);
+        return ResponseEntity.ok()
+                .header(VERSION_HEADER, Long.toString(service.getVersion()))
+                .body(employee);
     }
 
     @Override
     @RequestMapping(value = "/{id}", method = RequestMethod.DELETE)
     public ResponseEntity<String> deleteEmployeeById(@PathVariable String id) {
         service.deleteEmployeeById(id);
-        return ResponseEntity.ok("Employee with id " + id + " was deleted");
+        return ResponseEntity.ok()
+                .header(VERSION_HEADER, Long.toString(service.getVersion()))
+                .body("Employee with id " + id + " was deleted");
+    }
+
+    @GetMapping("/search/fuzzy/{searchString}")
+    public ResponseEntity<List<Employee>> getEmployeesByFuzzyNameSearch(
+            @PathVariable String searchString, @RequestParam(defaultValue = "1") int maxDistance) {
+        if (maxDistance < 1 || maxDistance > FuzzyNameIndex.MAX_DISTANCE) {
+            throw new BadRequestException(
+                    "maxDistance must be between 1 and " + FuzzyNameIndex.MAX_DISTANCE + ": " + maxDistance);
+        }
+        return ResponseEntity.ok(service.searchEmployeesFuzzy(searchString, maxDistance));
+    }
+
+    @GetMapping("/typeahead/{prefix}")
+    public ResponseEntity<List<Employee>> getTypeaheadCompletions(
+            @PathVariable String prefix,
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "name") String rank) {
+        if (limit < 1) {
+            throw new BadRequestException("limit must be positive: " + limit);
+        }
+        NameTrie.Ranking ranking;
+        try {
+            ranking = NameTrie.Ranking.valueOf(rank.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("rank must be name or salary: " + rank);
+        }
+        return ResponseEntity.ok(service.getTypeaheadCompletions(prefix, limit, ranking));
+    }
+
+    @GetMapping("/analytics/salary")
+    public ResponseEntity<SalaryStatistics> getSalaryStatistics() {
+        return ResponseEntity.ok(service.getSalaryStatistics());
     }
 }
@@ -0,0 +1,189 @@
+package com.reliaquest.api.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * The point in time after which nobody is waiting for the current request's answer any more.
+ *
+ * <p>{@link DeadlineInterceptor} binds one to the request thread; code further down reads it with
+ * {@link #current()} and gives up with {@link DeadlineExceededException} once it has passed, instead of finishing
+ * work whose result would be thrown away. Work handed to another thread takes the deadline along with
+ * {@link #propagate(Supplier)}. Without a bound deadline every check passes, so code running outside a request,
+ * such as the periodic upstream refresh, is unaffected.
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    // Scans check the clock only every so many elements; reading it costs more than visiting one
+    private static final int CHECKPOINT_INTERVAL = 1024;
+
+    private final Duration timeout;
+    private final long expiresAtNanos;
+
+    private Deadline(Duration timeout) {
+        this.timeout = timeout;
+        this.expiresAtNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(timeout);
+    }
+
+    /**
+     * @return the deadline bound to this thread, or null if there is none
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Binds the deadline to this thread until the returned scope is closed, which restores the previous one.
+     */
+    public static Scope bind(Deadline deadline) {
+        Deadline previous = CURRENT.get();
+        CURRENT.set(deadline);
+        return () -> {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Fails if this thread's deadline has passed.
+     *
+     * @param activity what would have been done, for the error message
+     */
+    public static void check(String activity) {
+        Deadline deadline = CURRENT.get();
+        if (deadline != null && deadline.isExpired()) {
+            throw deadline.exceeded(activity);
+        }
+    }
+
+    /**
+     * Shortens a wait or timeout to what is left of this thread's deadline.
+     *
+     * @param timeout the wait without a deadline
+     * @param activity what the wait is for, for the error message
+     * @return the shorter of the timeout and the remaining time
+     * @throws DeadlineExceededException if the deadline has already passed
+     */
+    public static Duration cap(Duration timeout, String activity) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return timeout;
+        }
+        Duration remaining = deadline.remaining();
+        if (remaining.isZero()) {
+            throw deadline.exceeded(activity);
+        }
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * A filter for a scan over many elements that lets every element through but fails the scan once this thread's
+     * deadline has passed. The deadline is captured here, so the filter may run on other threads.
+     *
+     * @param activity the scan, for the error message
+     */
+    public static <T> Predicate<T> checkpoint(String activity) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return element -> true;
+        }
+        int[] visited = {0};
+        return element -> {
+            if (++visited[0] % CHECKPOINT_INTERVAL == 0 && deadline.isExpired()) {
+                throw deadline.exceeded(activity);
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Wraps work for another thread so that it runs under this thread's deadline.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> work) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return work;
+        }
+        return () -> {
+            try (Scope ignored = bind(deadline)) {
+                return work.get();
+            }
+        };
+    }
+
+    /**
+     * Waits for the future, but not beyond this thread's deadline. Failures are reported like
+     * {@link CompletableFuture#join()} reports them.
+     *
+     * @param future the result of work done elsewhere; left running if the deadline passes first
+     * @param activity what is waited for, for the error message
+     */
+    public static <T> T join(CompletableFuture<T> future, String activity) {
+        Deadline deadline = CURRENT.get();
+        if (deadline == null) {
+            return future.join();
+        }
+        try {
+            return future.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw deadline.exceeded(activity);
+        } catch (ExecutionException e) {
+            throw new CompletionException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public boolean isExpired() {
+        return System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * @return the time left, zero once expired
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * @return how long ago the deadline passed, zero if it has not
+     */
+    public Duration overrun() {
+        return Duration.ofNanos(Math.max(0, System.nanoTime() - expiresAtNanos));
+    }
+
+    private DeadlineExceededException exceeded(String activity) {
+        return new DeadlineExceededException(
+                "Deadline of " + timeout.toMillis() + " ms passed before " + activity + " finished");
+    }
+
+    /**
+     * Restores the previously bound deadline when closed.
+     */
+    @FunctionalInterface
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -0,0 +1,37 @@
+package com.reliaquest.api.deadline;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(DeadlineProperties.class)
+public class DeadlineConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.deadline", name = "enabled", matchIfMissing = true)
+    public DeadlineInterceptor deadlineInterceptor(DeadlineProperties properties) {
+        return new DeadlineInterceptor(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.deadline", name = "enabled", matchIfMissing = true)
+    public MeterBinder deadlineMetrics(DeadlineInterceptor interceptor) {
+        return registry -> {
+            FunctionCounter.builder("api.deadline.requests", interceptor, DeadlineInterceptor::getRequestCount)
+                    .description("Requests given a deadline")
+                    .register(registry);
+            FunctionCounter.builder("api.deadline.overrun", interceptor, DeadlineInterceptor::getOverrunCount)
+                    .description("Requests still being worked on when their deadline passed")
+                    .register(registry);
+            FunctionCounter.builder(
+                            "api.deadline.overrun.time", interceptor, i -> i.getOverrunTime().toNanos() / 1e9)
+                    .baseUnit("seconds")
+                    .description("Time spent on requests after their deadline had passed")
+                    .register(registry);
+        };
+    }
+}
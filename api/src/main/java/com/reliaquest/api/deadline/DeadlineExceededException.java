@@ -0,0 +1,11 @@
+package com.reliaquest.api.deadline;
+
+/**
+ * The request's deadline passed before its work was done, so the rest of it was abandoned.
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,94 @@
+package com.reliaquest.api.deadline;
+
+import com.reliaquest.api.controller.BadRequestException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Gives every employee request a {@link Deadline}: the timeout the client sends in {@value #TIMEOUT_HEADER}, in
+ * milliseconds, or the configured default, capped at the configured maximum. The deadline is bound to the request
+ * thread for the rest of the request.
+ *
+ * <p>Also counts the requests that finished after their deadline and by how much, which is work done for clients
+ * that had already given up.
+ */
+public class DeadlineInterceptor implements HandlerInterceptor {
+
+    public static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final String SCOPE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".scope";
+    private static final String DEADLINE_ATTRIBUTE = DeadlineInterceptor.class.getName() + ".deadline";
+
+    private final DeadlineProperties properties;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong overrunRequests = new AtomicLong();
+    private final LongAdder overrunNanos = new LongAdder();
+
+    public DeadlineInterceptor(DeadlineProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Deadline deadline = Deadline.after(timeout(request.getHeader(TIMEOUT_HEADER)));
+        request.setAttribute(DEADLINE_ATTRIBUTE, deadline);
+        request.setAttribute(SCOPE_ATTRIBUTE, Deadline.bind(deadline));
+        requests.incrementAndGet();
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(SCOPE_ATTRIBUTE) instanceof Deadline.Scope scope) {
+            scope.close();
+        }
+        if (request.getAttribute(DEADLINE_ATTRIBUTE) instanceof Deadline deadline && deadline.isExpired()) {
+            overrunRequests.incrementAndGet();
+            overrunNanos.add(deadline.overrun().toNanos());
+        }
+    }
+
+    /**
+     * @return requests that were given a deadline
+     */
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    /**
+     * @return requests that were still being worked on when their deadline passed
+     */
+    public long getOverrunCount() {
+        return overrunRequests.get();
+    }
+
+    /**
+     * @return the total time spent on requests after their deadline had passed
+     */
+    public Duration getOverrunTime() {
+        return Duration.ofNanos(overrunNanos.sum());
+    }
+
+    private Duration timeout(String header) {
+        if (header == null || header.isBlank()) {
+            return properties.getDefaultTimeout();
+        }
+        long millis;
+        try {
+            millis = Long.parseLong(header.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed " + TIMEOUT_HEADER + ": " + header);
+        }
+        if (millis <= 0) {
+            throw new BadRequestException(TIMEOUT_HEADER + " must be positive: " + header);
+        }
+        Duration requested = Duration.ofMillis(millis);
+        return requested.compareTo(properties.getMaxTimeout()) > 0 ? properties.getMaxTimeout() : requested;
+    }
+}
@@ -0,0 +1,43 @@
+package com.reliaquest.api.deadline;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the per-request deadline of the employee endpoints.
+ */
+@ConfigurationProperties(prefix = "employee.deadline")
+public class DeadlineProperties {
+
+    private boolean enabled = true;
+
+    // Deadline of requests that do not send the timeout header
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    // Longest timeout a client may ask for; longer ones are shortened to it
+    private Duration maxTimeout = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getDefaultTimeout() {
+        return defaultTimeout;
+    }
+
+    public void setDefaultTimeout(Duration defaultTimeout) {
+        this.defaultTimeout = defaultTimeout;
+    }
+
+    public Duration getMaxTimeout() {
+        return maxTimeout;
+    }
+
+    public void setMaxTimeout(Duration maxTimeout) {
+        this.maxTimeout = maxTimeout;
+    }
+}
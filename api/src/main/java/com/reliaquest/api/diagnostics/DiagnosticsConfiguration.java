@@ -0,0 +1,32 @@
+package com.reliaquest.api.diagnostics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.common.diagnostics.FlightRecordings;
+import com.reliaquest.common.web.RecordingJacksonHttpMessageConverter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(FlightRecordingProperties.class)
+public class DiagnosticsConfiguration {
+
+    /*
+     * Replaces the JSON converter Spring Boot would configure with the same converter reporting to flight recordings.
+     */
+    @Bean
+    public RecordingJacksonHttpMessageConverter recordingJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new RecordingJacksonHttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public FlightRecordings flightRecordings(FlightRecordingProperties properties) {
+        return new FlightRecordings(
+                "employee-api", properties.getMaxDuration(), properties.getMaxSize().toBytes(), properties.getMaxAge());
+    }
+
+    @Bean
+    public FlightRecordingEndpoint flightRecordingEndpoint(FlightRecordings recordings) {
+        return new FlightRecordingEndpoint(recordings);
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.diagnostics;
+
+import com.reliaquest.common.diagnostics.FlightRecordings;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+
+/**
+ * Actuator endpoint starting, stopping and downloading a bounded JDK Flight Recorder recording.
+ *
+ * <pre>
+ * GET    /actuator/flightrecording       status of the current or last recording
+ * POST   /actuator/flightrecording       {"settings": "profile", "duration": "PT2M"}, both optional
+ * DELETE /actuator/flightrecording       stops the recording
+ * GET    /actuator/flightrecording/dump  the recorded data as a .jfr file
+ * </pre>
+ */
+@WebEndpoint(id = "flightrecording")
+public class FlightRecordingEndpoint {
+
+    private static final String DUMP = "dump";
+
+    private final FlightRecordings recordings;
+
+    public FlightRecordingEndpoint(FlightRecordings recordings) {
+        this.recordings = recordings;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return recordings.status();
+    }
+
+    @WriteOperation
+    public Map<String, Object> start(@Nullable String settings, @Nullable Duration duration) {
+        try {
+            return recordings.start(settings, duration);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidEndpointRequestException(e.getMessage(), e.getMessage());
+        }
+    }
+
+    @DeleteOperation
+    public Map<String, Object> stop() {
+        return recordings.stop();
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String name) throws IOException {
+        if (!DUMP.equals(name)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        InputStream dump = recordings.dump();
+        if (dump == null) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        // Closed, and so deleted, once the resource has been written to the response
+        return new WebEndpointResponse<>(new InputStreamResource(dump), WebEndpointResponse.STATUS_OK);
+    }
+}
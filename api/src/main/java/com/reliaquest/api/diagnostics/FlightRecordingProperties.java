@@ -0,0 +1,43 @@
+package com.reliaquest.api.diagnostics;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bounds of the flight recordings started through the {@code flightrecording} actuator endpoint.
+ */
+@ConfigurationProperties(prefix = "employee.flight-recording")
+public class FlightRecordingProperties {
+
+    // A recording stops by itself after this long, or after the shorter duration it was started with
+    private Duration maxDuration = Duration.ofMinutes(30);
+
+    // Older events are dropped once a recording holds this much, or spans this long
+    private DataSize maxSize = DataSize.ofMegabytes(100);
+    private Duration maxAge = Duration.ofMinutes(10);
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public DataSize getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(DataSize maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
@@ -0,0 +1,41 @@
+package com.reliaquest.api.limit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.concurrency-limit", name = "enabled")
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor(ConcurrencyLimitProperties properties) {
+        return new ConcurrencyLimitInterceptor(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.concurrency-limit", name = "enabled")
+    public MeterBinder concurrencyLimitMetrics(ConcurrencyLimitInterceptor interceptor) {
+        return registry -> {
+            for (ConcurrencyLimiter limiter : interceptor.getLimiters()) {
+                Gauge.builder("api.concurrency.limit", limiter, ConcurrencyLimiter::getLimit)
+                        .tag("operations", limiter.getName())
+                        .description("Concurrent requests currently allowed")
+                        .register(registry);
+                Gauge.builder("api.concurrency.inflight", limiter, ConcurrencyLimiter::getInFlight)
+                        .tag("operations", limiter.getName())
+                        .description("Requests currently being served")
+                        .register(registry);
+                FunctionCounter.builder("api.concurrency.rejected", limiter, ConcurrencyLimiter::getRejectedCount)
+                        .tag("operations", limiter.getName())
+                        .description("Requests answered with 503 because the limit was reached")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.api.limit;
+
+/**
+ * A request was turned away because its operations already had as many requests in flight as their limit allows.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    public ConcurrencyLimitExceededException(String message) {
+        // Thrown for every request shed under overload, where filling in a stack trace would only add to the load
+        super(message, null, false, false);
+    }
+}
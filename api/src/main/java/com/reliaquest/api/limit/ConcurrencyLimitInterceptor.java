@@ -0,0 +1,69 @@
+package com.reliaquest.api.limit;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.List;
+import java.util.Set;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Admits employee requests through one of two {@link ConcurrencyLimiter}s: one for the cheap operations, which are
+ * the configured controller methods, and one for every other operation. Keeping them apart stops a backlog of list
+ * and search requests from using up the limit of single-employee lookups, and fast lookups from making the
+ * expensive operations look slow.
+ *
+ * <p>A request over its limit is answered with {@code 503} before any other work is done for it.
+ *
+ * <p>Only successful requests adapt the limits. A failed request, such as one past its deadline, one a stale replica
+ * turns away, or one rejected by the upstream circuit breaker, is answered without the work a successful one does,
+ * so its latency would pull the average down and make the successful ones look slow.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    private static final String LIMITER_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+    private static final String START_ATTRIBUTE = ConcurrencyLimitInterceptor.class.getName() + ".start";
+
+    private final Set<String> cheapOperations;
+    private final ConcurrencyLimiter cheap;
+    private final ConcurrencyLimiter expensive;
+
+    public ConcurrencyLimitInterceptor(ConcurrencyLimitProperties properties) {
+        this.cheapOperations = Set.copyOf(properties.getCheapOperations());
+        this.cheap = new ConcurrencyLimiter("cheap", properties);
+        this.expensive = new ConcurrencyLimiter("expensive", properties);
+    }
+
+    public List<ConcurrencyLimiter> getLimiters() {
+        return List.of(cheap, expensive);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConcurrencyLimiter limiter = cheapOperations.contains(method.getMethod().getName()) ? cheap : expensive;
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException("Too many concurrent " + limiter.getName()
+                    + " requests, limit is " + limiter.getLimit());
+        }
+        request.setAttribute(LIMITER_ATTRIBUTE, limiter);
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(LIMITER_ATTRIBUTE) instanceof ConcurrencyLimiter limiter
+                && request.getAttribute(START_ATTRIBUTE) instanceof Long start) {
+            request.removeAttribute(LIMITER_ATTRIBUTE);
+            if (ex == null && response.getStatus() < HttpServletResponse.SC_BAD_REQUEST) {
+                limiter.release(System.nanoTime() - start);
+            } else {
+                limiter.release();
+            }
+        }
+    }
+}
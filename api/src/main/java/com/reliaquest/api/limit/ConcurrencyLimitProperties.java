@@ -0,0 +1,108 @@
+package com.reliaquest.api.limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the adaptive limits on concurrent employee requests. Cheap and expensive operations each get a limit
+ * with these settings.
+ */
+@ConfigurationProperties(prefix = "employee.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    private boolean enabled = false;
+
+    // Limit before any latency has been observed, and the bounds it is kept within
+    private int initialLimit = 20;
+    private int minLimit = 4;
+    private int maxLimit = 200;
+
+    // How much slower than the long-term average a request may be before the limit is lowered
+    private double rttTolerance = 1.5;
+
+    // Share of each newly computed limit that is taken over, damping the reaction to single slow requests
+    private double smoothing = 0.2;
+
+    // Requests the limit may exceed the estimated capacity by, so that it keeps probing for more
+    private int queueSize = 4;
+
+    // Number of requests the long-term average latency roughly spans
+    private int longWindow = 600;
+
+    // EmployeeController methods that get the cheap limit; every other endpoint gets the expensive one
+    private List<String> cheapOperations =
+            new ArrayList<>(List.of("getEmployeeById", "getTypeaheadCompletions", "getSalaryStatistics"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public void setInitialLimit(int initialLimit) {
+        this.initialLimit = initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public void setMinLimit(int minLimit) {
+        this.minLimit = minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public double getRttTolerance() {
+        return rttTolerance;
+    }
+
+    public void setRttTolerance(double rttTolerance) {
+        this.rttTolerance = rttTolerance;
+    }
+
+    public double getSmoothing() {
+        return smoothing;
+    }
+
+    public void setSmoothing(double smoothing) {
+        this.smoothing = smoothing;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getLongWindow() {
+        return longWindow;
+    }
+
+    public void setLongWindow(int longWindow) {
+        this.longWindow = longWindow;
+    }
+
+    public List<String> getCheapOperations() {
+        return cheapOperations;
+    }
+
+    public void setCheapOperations(List<String> cheapOperations) {
+        this.cheapOperations = cheapOperations;
+    }
+}
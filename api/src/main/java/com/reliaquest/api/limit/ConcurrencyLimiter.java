@@ -0,0 +1,118 @@
+package com.reliaquest.api.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits concurrent requests to a number that adapts to their latency, so that excess requests are turned away at
+ * once instead of queueing for threads and CPU until every request is slow.
+ *
+ * <p>The limit follows the gradient between the long-term average latency and the latency of each request: while
+ * requests are no slower than {@code rttTolerance} times the average, the limit grows by up to {@code queueSize};
+ * once they are, it shrinks in proportion, by at most half. The long-term average is pulled down quickly when
+ * requests become much faster than it, as they do when an overload ends. The limit is left alone while fewer than
+ * half of it are in flight, since latency then says nothing about whether more requests could be served.
+ */
+public class ConcurrencyLimiter {
+
+    private static final int WARM_UP_SAMPLES = 10;
+
+    private final String name;
+    private final ConcurrencyLimitProperties properties;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile int limit;
+
+    // Guarded by this
+    private double estimatedLimit;
+    private double longRttNanos;
+    private long samples;
+
+    public ConcurrencyLimiter(String name, ConcurrencyLimitProperties properties) {
+        this.name = name;
+        this.properties = properties;
+        this.estimatedLimit = properties.getInitialLimit();
+        this.limit = properties.getInitialLimit();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getAcceptedCount() {
+        return accepted.get();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Admits a request if fewer than the limit are in flight. An admitted request must be paired with
+     * {@link #release(long)} or {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.incrementAndGet();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Ends an admitted request without adapting the limit, for a request that failed rather than being served.
+     * Its latency says nothing about how long serving a request takes.
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Ends an admitted request and adapts the limit to how long it took.
+     */
+    public void release(long rttNanos) {
+        int concurrent = inFlight.getAndDecrement();
+        if (rttNanos > 0) {
+            onSample(rttNanos, concurrent);
+        }
+    }
+
+    private synchronized void onSample(long rttNanos, int concurrent) {
+        samples++;
+        if (samples <= WARM_UP_SAMPLES) {
+            longRttNanos += (rttNanos - longRttNanos) / samples;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * 2 / (properties.getLongWindow() + 1);
+        }
+        // After an overload the average lags far behind the recovered latency, which would keep the limit high
+        if (longRttNanos > 2 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (samples <= WARM_UP_SAMPLES || concurrent < estimatedLimit / 2) {
+            return;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, properties.getRttTolerance() * longRttNanos / rttNanos));
+        double newLimit = estimatedLimit * gradient + properties.getQueueSize();
+        newLimit = estimatedLimit * (1 - properties.getSmoothing()) + newLimit * properties.getSmoothing();
+        estimatedLimit = Math.max(properties.getMinLimit(), Math.min(properties.getMaxLimit(), newLimit));
+        limit = (int) estimatedLimit;
+    }
+}
@@ -3,6 +3,9 @@ package com.reliaquest.api.model;
 public class EmployeeDTO {
     private String name;
     private int salary;
+    // Optional attributes forwarded to the upstream server, which requires them
+    private Integer age;
+    private String title;
 
     public EmployeeDTO() {}
 
@@ -26,4 +29,20 @@ public class EmployeeDTO {
     public void setSalary(int salary) {
         this.salary = salary;
     }
+
+    public Integer getAge() {
+        return age;
+    }
+
+    public void setAge(Integer age) {
+        this.age = age;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
 }
@@ -0,0 +1,39 @@
+package com.reliaquest.api.model;
+
+import java.util.Map;
+
+public class SalaryStatistics {
+    private final long count;
+    private final long sum;
+    private final double mean;
+    private final double relativeAccuracy;
+    private final Map<String, Long> percentiles;
+
+    public SalaryStatistics(long count, long sum, double mean, double relativeAccuracy, Map<String, Long> percentiles) {
+        this.count = count;
+        this.sum = sum;
+        this.mean = mean;
+        this.relativeAccuracy = relativeAccuracy;
+        this.percentiles = percentiles;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return mean;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public Map<String, Long> getPercentiles() {
+        return percentiles;
+    }
+}
@@ -0,0 +1,92 @@
+package com.reliaquest.api.replication;
+
+import com.reliaquest.api.store.EmployeeMutation;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Bounded, in-memory tail of the store's changes that replication sessions read from.
+ *
+ * <p>Versions are consecutive, so a change lives at its version modulo the capacity, and once more than the capacity
+ * has been written the oldest changes are overwritten. A replica whose position has been overwritten needs a new
+ * snapshot.
+ */
+public class MutationLog implements Consumer<EmployeeMutation> {
+
+    private final EmployeeMutation[] entries;
+
+    // Oldest retained version and newest written version; the log holds (first - 1, last]
+    private long first = 1;
+    private long last;
+
+    public MutationLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive: " + capacity);
+        }
+        this.entries = new EmployeeMutation[capacity];
+    }
+
+    /**
+     * Sets the version the log starts after, that of the snapshot returned when it subscribed to the store.
+     * Changes accepted in the meantime are kept, since they are all newer.
+     *
+     * @param version the store version at subscription
+     */
+    public synchronized void startAfter(long version) {
+        first = version + 1;
+        last = Math.max(last, version);
+    }
+
+    @Override
+    public synchronized void accept(EmployeeMutation mutation) {
+        entries[index(mutation.version())] = mutation;
+        last = mutation.version();
+        first = Math.max(first, last - entries.length + 1);
+        notifyAll();
+    }
+
+    public synchronized long lastVersion() {
+        return last;
+    }
+
+    /**
+     * Whether every change after the given version can still be read.
+     *
+     * @param version the version a reader has applied
+     */
+    public synchronized boolean covers(long version) {
+        return version >= first - 1;
+    }
+
+    /**
+     * Returns the changes after the given version, waiting for the first one if there are none yet.
+     *
+     * @param version the version the reader has applied
+     * @param max the maximum number of changes to return
+     * @param timeoutMillis how long to wait for a change
+     * @return the changes, empty on timeout; or an empty optional if changes after the version were overwritten
+     */
+    public synchronized Optional<List<EmployeeMutation>> readAfter(long version, int max, long timeoutMillis)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+        while (last <= version && remaining > 0) {
+            wait(remaining);
+            remaining = deadline - System.currentTimeMillis();
+        }
+        if (!covers(version)) {
+            return Optional.empty();
+        }
+        List<EmployeeMutation> batch = new ArrayList<>();
+        for (long next = version + 1; next <= last && batch.size() < max; next++) {
+            batch.add(entries[index(next)]);
+        }
+        return Optional.of(batch);
+    }
+
+    private int index(long version) {
+        return (int) Math.floorMod(version, (long) entries.length);
+    }
+}
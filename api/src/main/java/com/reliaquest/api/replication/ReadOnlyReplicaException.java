@@ -0,0 +1,25 @@
+package com.reliaquest.api.replication;
+
+import java.net.URI;
+
+/**
+ * A write was sent to a read replica; it has to go to the primary.
+ */
+public class ReadOnlyReplicaException extends RuntimeException {
+
+    private final URI primaryUrl;
+
+    public ReadOnlyReplicaException(URI primaryUrl) {
+        super(primaryUrl == null
+                ? "This api instance is a read-only replica; send writes to the primary"
+                : "This api instance is a read-only replica; send writes to " + primaryUrl);
+        this.primaryUrl = primaryUrl;
+    }
+
+    /**
+     * @return the primary's HTTP base URL, or null if not configured
+     */
+    public URI getPrimaryUrl() {
+        return primaryUrl;
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.api.replication;
+
+import com.reliaquest.api.controller.BadRequestException;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.deadline.Deadline;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Guards the employee endpoints of a read replica.
+ *
+ * <p>Writes are refused. A read is served only if the replica is within the configured staleness of the primary,
+ * and, when the client sends the {@value EmployeeController#VERSION_HEADER} token it got from a write to the
+ * primary, once the replica has applied that write. Responses carry the primary version the replica reflects, which
+ * clients can send back to never read older data than they already saw.
+ */
+public class ReplicaReadInterceptor implements HandlerInterceptor {
+
+    private final ReplicationReplica replica;
+    private final ReplicationProperties properties;
+
+    public ReplicaReadInterceptor(ReplicationReplica replica, ReplicationProperties properties) {
+        this.replica = replica;
+        this.properties = properties;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws InterruptedException {
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            throw new ReadOnlyReplicaException(properties.getPrimaryUrl());
+        }
+
+        String token = request.getHeader(EmployeeController.VERSION_HEADER);
+        if (token != null) {
+            long version = parseVersion(token);
+            String activity = "waiting for version " + version;
+            if (!replica.awaitVersion(version, Deadline.cap(properties.getReadYourWritesTimeout(), activity))) {
+                Deadline.check(activity);
+                throw new StaleReplicaException("Replica has not applied version " + version + " yet");
+            }
+        }
+        Duration staleness = replica.getStaleness();
+        if (staleness == null || staleness.compareTo(properties.getMaxStaleness()) > 0) {
+            throw new StaleReplicaException(staleness == null
+                    ? "Replica has not caught up with the primary yet"
+                    : "Replica is " + staleness.toMillis() + " ms behind the primary");
+        }
+
+        response.setHeader(EmployeeController.VERSION_HEADER, Long.toString(replica.getAppliedVersion()));
+        return true;
+    }
+
+    private static long parseVersion(String token) {
+        try {
+            return Long.parseLong(token.trim());
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Malformed " + EmployeeController.VERSION_HEADER + ": " + token);
+        }
+    }
+}
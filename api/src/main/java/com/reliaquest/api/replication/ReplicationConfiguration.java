@@ -0,0 +1,53 @@
+package com.reliaquest.api.replication;
+
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.upstream.UpstreamProperties;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(ReplicationProperties.class)
+public class ReplicationConfiguration {
+
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "employee.replication", name = "role", havingValue = "primary")
+    public ReplicationPrimary replicationPrimary(EmployeeService service, ReplicationProperties properties) {
+        return new ReplicationPrimary(service, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.replication", name = "role", havingValue = "primary")
+    public MeterBinder replicationPrimaryMetrics(ReplicationPrimary primary) {
+        return ReplicationMetrics.primary(primary);
+    }
+
+    /*
+     * A replica's data comes only from its primary; refreshing it from the mock server as well would interleave two
+     * histories in one store.
+     */
+    @Bean(initMethod = "start", destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "employee.replication", name = "role", havingValue = "replica")
+    public ReplicationReplica replicationReplica(
+            EmployeeService service, ReplicationProperties properties, UpstreamProperties upstreamProperties) {
+        if (upstreamProperties.isEnabled()) {
+            throw new IllegalStateException("A replica follows its primary; set employee.upstream.enabled=false");
+        }
+        return new ReplicationReplica(service, properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.replication", name = "role", havingValue = "replica")
+    public MeterBinder replicationReplicaMetrics(ReplicationReplica replica) {
+        return ReplicationMetrics.replica(replica);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.replication", name = "role", havingValue = "replica")
+    public ReplicaReadInterceptor replicaReadInterceptor(
+            ReplicationReplica replica, ReplicationProperties properties) {
+        return new ReplicaReadInterceptor(replica, properties);
+    }
+}
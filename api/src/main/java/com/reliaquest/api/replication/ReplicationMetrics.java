@@ -0,0 +1,45 @@
+package com.reliaquest.api.replication;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Duration;
+
+/**
+ * Publishes replication progress: on a primary its newest version and connected replicas, on a replica how far
+ * behind the primary it is, in changes and in time.
+ */
+public final class ReplicationMetrics {
+
+    private ReplicationMetrics() {}
+
+    public static MeterBinder primary(ReplicationPrimary primary) {
+        return registry -> {
+            Gauge.builder("replication.primary.version", primary, ReplicationPrimary::getVersion)
+                    .description("Newest version in the mutation log")
+                    .register(registry);
+            Gauge.builder("replication.primary.replicas", primary, ReplicationPrimary::getConnectedReplicas)
+                    .description("Replicas currently following this primary")
+                    .register(registry);
+        };
+    }
+
+    public static MeterBinder replica(ReplicationReplica replica) {
+        return registry -> {
+            Gauge.builder("replication.replica.lag", replica, ReplicationReplica::getLag)
+                    .description("Primary changes not yet applied, as of the latest heartbeat")
+                    .register(registry);
+            Gauge.builder("replication.replica.staleness", replica, ReplicationMetrics::stalenessSeconds)
+                    .baseUnit("seconds")
+                    .description("Time since this replica was last caught up with the primary")
+                    .register(registry);
+            Gauge.builder("replication.replica.connected", replica, r -> r.isConnected() ? 1 : 0)
+                    .description("Whether this replica is connected to the primary: 1 connected, 0 not")
+                    .register(registry);
+        };
+    }
+
+    private static double stalenessSeconds(ReplicationReplica replica) {
+        Duration staleness = replica.getStaleness();
+        return staleness == null ? Double.NaN : staleness.toNanos() / 1e9;
+    }
+}
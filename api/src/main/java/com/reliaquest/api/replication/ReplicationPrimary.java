@@ -0,0 +1,175 @@
+package com.reliaquest.api.replication;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.EmployeeMutation;
+import com.reliaquest.api.store.EmployeeSnapshot;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Streams the store's ordered changes to read replicas over TCP.
+ *
+ * <p>A connecting replica says how far it has applied the log. If the {@link MutationLog} still holds everything
+ * after that, the replica is sent only the missing changes; otherwise it is first sent a full snapshot. From then on
+ * it is sent every change as it happens. Whenever it has been sent everything the log held, it is sent a heartbeat
+ * carrying the version it was sent up to, which is also sent when there are no changes so that replicas can tell how
+ * far behind they are. The version is that of the last change sent rather than the log's newest, which under
+ * sustained writes is always a little ahead and would keep the replica from ever counting as caught up.
+ *
+ * <p>A replica that falls so far behind that its position is overwritten is disconnected, and is sent a snapshot
+ * when it reconnects.
+ */
+public class ReplicationPrimary implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationPrimary.class);
+
+    private static final int MAX_BATCH = 1024;
+
+    private final EmployeeService service;
+    private final ReplicationProperties properties;
+    private final MutationLog mutationLog;
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final Set<Socket> sessions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+
+    private volatile ServerSocket serverSocket;
+
+    public ReplicationPrimary(EmployeeService service, ReplicationProperties properties) {
+        this.service = service;
+        this.properties = properties;
+        this.mutationLog = new MutationLog(properties.getLogCapacity());
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "replication-primary-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() throws IOException {
+        mutationLog.startAfter(service.subscribe(mutationLog).version());
+        serverSocket = new ServerSocket(properties.getPort(), 50, InetAddress.getByName(properties.getHost()));
+        executor.execute(this::acceptReplicas);
+        log.info("Replication primary listening on {}", serverSocket.getLocalSocketAddress());
+    }
+
+    /**
+     * @return the port replicas connect to, which differs from the configured one if that was zero
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public int getConnectedReplicas() {
+        return sessions.size();
+    }
+
+    public long getVersion() {
+        return mutationLog.lastVersion();
+    }
+
+    @Override
+    public void close() throws IOException {
+        service.unsubscribe(mutationLog);
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket session : sessions) {
+            session.close();
+        }
+        executor.shutdownNow();
+    }
+
+    private void acceptReplicas() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                sessions.add(socket);
+                executor.execute(() -> serve(socket));
+            } catch (IOException e) {
+                if (!serverSocket.isClosed()) {
+                    log.warn("Failed to accept a replica: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            ReplicationWire.expect(in, ReplicationWire.HELLO);
+            long replicaEpoch = in.readLong();
+            long position = in.readLong();
+
+            boolean tail = replicaEpoch == epoch && position <= mutationLog.lastVersion() && mutationLog.covers(position);
+            if (!tail) {
+                position = sendSnapshot(out);
+            }
+            log.info(
+                    "Replica {} connected at version {}, {}",
+                    socket.getRemoteSocketAddress(),
+                    position,
+                    tail ? "sending the tail" : "sent a snapshot");
+
+            long heartbeatMillis = properties.getHeartbeatInterval().toMillis();
+            while (!Thread.currentThread().isInterrupted()) {
+                Optional<List<EmployeeMutation>> batch = mutationLog.readAfter(position, MAX_BATCH, heartbeatMillis);
+                if (batch.isEmpty()) {
+                    log.warn("Replica {} fell behind the retained log; it resyncs on reconnect",
+                            socket.getRemoteSocketAddress());
+                    return;
+                }
+                for (EmployeeMutation mutation : batch.get()) {
+                    ReplicationWire.writeChange(out, mutation);
+                    position = mutation.version();
+                }
+                // A full batch may have left changes behind, which the next batch sends straight away
+                if (batch.get().size() < MAX_BATCH) {
+                    ReplicationWire.writeHeartbeat(out, position);
+                }
+                out.flush();
+            }
+        } catch (SocketException e) {
+            log.info("Replica {} disconnected: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } catch (IOException e) {
+            log.warn("Replication to {} failed: {}", socket.getRemoteSocketAddress(), e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            sessions.remove(socket);
+        }
+    }
+
+    /*
+     * A snapshot is immutable, so it can be written without holding up writers. Its version is always covered by the
+     * log, which subscribed before any snapshot was taken.
+     */
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        EmployeeSnapshot snapshot = service.snapshot();
+        ReplicationWire.writeSnapshotHeader(out, epoch, snapshot.version(), snapshot.size());
+        for (Employee employee : snapshot) {
+            ReplicationWire.writeEmployee(out, employee);
+        }
+        return snapshot.version();
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.replication;
+
+import java.net.URI;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for shipping the employee store's mutation log from a primary api instance to read replicas.
+ */
+@ConfigurationProperties(prefix = "employee.replication")
+public class ReplicationProperties {
+
+    public enum Role {
+        // Neither ships nor receives a log
+        STANDALONE,
+        // Accepts replica connections and streams every change to them
+        PRIMARY,
+        // Follows a primary and serves reads only
+        REPLICA
+    }
+
+    private Role role = Role.STANDALONE;
+
+    // Address the primary listens on, and that replicas connect to
+    private String host = "localhost";
+    private int port = 8121;
+
+    // HTTP base URL of the primary, reported to clients that send writes to a replica
+    private URI primaryUrl;
+
+    // Changes kept by the primary so that a reconnecting replica can catch up without a full snapshot
+    private int logCapacity = 65_536;
+    private Duration heartbeatInterval = Duration.ofMillis(100);
+    private Duration reconnectDelay = Duration.ofSeconds(1);
+
+    // Replicas refuse reads once they have not been caught up with the primary for this long
+    private Duration maxStaleness = Duration.ofSeconds(1);
+    // How long a replica waits for a write named by a client's version token before refusing the read
+    private Duration readYourWritesTimeout = Duration.ofMillis(500);
+
+    public Role getRole() {
+        return role;
+    }
+
+    public void setRole(Role role) {
+        this.role = role;
+    }
+
+    public String getHost() {
+        return host;
+    }
+
+    public void setHost(String host) {
+        this.host = host;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public URI getPrimaryUrl() {
+        return primaryUrl;
+    }
+
+    public void setPrimaryUrl(URI primaryUrl) {
+        this.primaryUrl = primaryUrl;
+    }
+
+    public int getLogCapacity() {
+        return logCapacity;
+    }
+
+    public void setLogCapacity(int logCapacity) {
+        this.logCapacity = logCapacity;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+
+    public Duration getReconnectDelay() {
+        return reconnectDelay;
+    }
+
+    public void setReconnectDelay(Duration reconnectDelay) {
+        this.reconnectDelay = reconnectDelay;
+    }
+
+    public Duration getMaxStaleness() {
+        return maxStaleness;
+    }
+
+    public void setMaxStaleness(Duration maxStaleness) {
+        this.maxStaleness = maxStaleness;
+    }
+
+    public Duration getReadYourWritesTimeout() {
+        return readYourWritesTimeout;
+    }
+
+    public void setReadYourWritesTimeout(Duration readYourWritesTimeout) {
+        this.readYourWritesTimeout = readYourWritesTimeout;
+    }
+}
@@ -0,0 +1,202 @@
+package com.reliaquest.api.replication;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.EmployeeMutation;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Follows a {@link ReplicationPrimary} and applies its changes to the local store, reconnecting whenever the
+ * connection is lost.
+ *
+ * <p>Positions are the primary's versions, which the local store's own versions do not match. The replica is
+ * caught up when it has applied the version named by the primary's latest heartbeat; its staleness is the time since
+ * it last was, so data served by a replica is never older than its staleness.
+ */
+public class ReplicationReplica implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicationReplica.class);
+
+    // Missed heartbeats after which the primary is considered gone
+    private static final int HEARTBEAT_TOLERANCE = 10;
+
+    private static final long NEVER = -1;
+
+    private final EmployeeService service;
+    private final ReplicationProperties properties;
+    private final Thread thread;
+
+    private volatile boolean closed;
+    private volatile Socket socket;
+
+    // Guarded by this; the epoch and position identify what the local store reflects
+    private long epoch;
+    private long appliedVersion = NEVER;
+
+    private volatile long primaryVersion = NEVER;
+    private volatile long caughtUpNanos = NEVER;
+    private volatile boolean connected;
+
+    public ReplicationReplica(EmployeeService service, ReplicationProperties properties) {
+        this.service = service;
+        this.properties = properties;
+        this.thread = new Thread(this::follow, "replication-replica");
+        this.thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        thread.interrupt();
+        Socket current = socket;
+        if (current != null) {
+            current.close();
+        }
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    /**
+     * @return the primary version the local store reflects, or -1 before the first snapshot
+     */
+    public synchronized long getAppliedVersion() {
+        return appliedVersion;
+    }
+
+    /**
+     * @return how many of the primary's changes have not been applied yet, as of its latest heartbeat
+     */
+    public long getLag() {
+        long primary = primaryVersion;
+        return primary == NEVER ? 0 : Math.max(0, primary - getAppliedVersion());
+    }
+
+    /**
+     * @return the time since the replica was last caught up with the primary, or null if it never was
+     */
+    public Duration getStaleness() {
+        long caughtUp = caughtUpNanos;
+        return caughtUp == NEVER ? null : Duration.ofNanos(System.nanoTime() - caughtUp);
+    }
+
+    /**
+     * Waits until the replica has applied the given primary version.
+     *
+     * @param version the version to wait for
+     * @param timeout the longest time to wait
+     * @return true if the version has been applied
+     */
+    public synchronized boolean awaitVersion(long version, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (appliedVersion < version) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(Math.max(1, remaining / 1_000_000));
+        }
+        return true;
+    }
+
+    private void follow() {
+        while (!closed) {
+            try (Socket connection = new Socket()) {
+                socket = connection;
+                connection.connect(
+                        new InetSocketAddress(properties.getHost(), properties.getPort()),
+                        (int) properties.getReconnectDelay().toMillis());
+                connection.setTcpNoDelay(true);
+                connection.setSoTimeout((int) properties.getHeartbeatInterval().toMillis() * HEARTBEAT_TOLERANCE);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(connection.getInputStream()));
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(connection.getOutputStream()));
+                synchronized (this) {
+                    ReplicationWire.writeHello(out, epoch, appliedVersion);
+                }
+                connected = true;
+                log.info("Following replication primary {}:{}", properties.getHost(), properties.getPort());
+                receive(in);
+            } catch (IOException e) {
+                if (!closed) {
+                    log.warn("Lost replication primary {}:{}: {}", properties.getHost(), properties.getPort(),
+                            e.getMessage());
+                }
+            } finally {
+                connected = false;
+            }
+            try {
+                Thread.sleep(properties.getReconnectDelay().toMillis());
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void receive(DataInputStream in) throws IOException {
+        while (!closed) {
+            byte type = in.readByte();
+            switch (type) {
+                case ReplicationWire.SNAPSHOT -> applySnapshot(in);
+                case ReplicationWire.CHANGE -> apply(ReplicationWire.readChange(in));
+                case ReplicationWire.HEARTBEAT -> {
+                    long version = in.readLong();
+                    primaryVersion = version;
+                    if (getAppliedVersion() >= version) {
+                        caughtUpNanos = System.nanoTime();
+                    }
+                }
+                default -> throw new StreamCorruptedException("Unexpected message " + type);
+            }
+        }
+    }
+
+    private void applySnapshot(DataInputStream in) throws IOException {
+        long snapshotEpoch = in.readLong();
+        long version = in.readLong();
+        int size = in.readInt();
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(ReplicationWire.readEmployee(in));
+        }
+        service.applyReplicatedSnapshot(employees);
+        synchronized (this) {
+            epoch = snapshotEpoch;
+            appliedVersion = version;
+            notifyAll();
+        }
+        log.info("Loaded snapshot of {} employees at primary version {}", size, version);
+    }
+
+    private void apply(EmployeeMutation mutation) throws IOException {
+        synchronized (this) {
+            if (mutation.version() != appliedVersion + 1) {
+                // Start over from a snapshot rather than serve a store with a gap in it
+                epoch = 0;
+                throw new StreamCorruptedException(
+                        "Expected version " + (appliedVersion + 1) + " but got " + mutation.version());
+            }
+        }
+        service.applyReplicated(mutation);
+        synchronized (this) {
+            appliedVersion = mutation.version();
+            notifyAll();
+        }
+    }
+}
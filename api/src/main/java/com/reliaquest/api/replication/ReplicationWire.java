@@ -0,0 +1,97 @@
+package com.reliaquest.api.replication;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeMutation;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.util.UUID;
+
+/**
+ * Binary framing of the replication stream.
+ *
+ * <pre>
+ * replica -> primary  HELLO     epoch, version      the log the replica follows and how far it has applied it
+ * primary -> replica  SNAPSHOT  epoch, version, n, n x employee
+ * primary -> replica  CHANGE    version, id, present, [employee]
+ * primary -> replica  HEARTBEAT version             the newest version the primary held when it read the changes sent
+ * </pre>
+ *
+ * The epoch identifies one run of the primary, whose versions restart with it. A replica that follows another epoch
+ * is sent a snapshot rather than the tail.
+ */
+final class ReplicationWire {
+
+    static final byte HELLO = 1;
+    static final byte SNAPSHOT = 2;
+    static final byte CHANGE = 3;
+    static final byte HEARTBEAT = 4;
+
+    private static final byte HAS_NAME = 1;
+    private static final byte HAS_SALARY = 2;
+
+    private ReplicationWire() {}
+
+    static void writeHello(DataOutputStream out, long epoch, long version) throws IOException {
+        out.writeByte(HELLO);
+        out.writeLong(epoch);
+        out.writeLong(version);
+        out.flush();
+    }
+
+    static void writeSnapshotHeader(DataOutputStream out, long epoch, long version, int size) throws IOException {
+        out.writeByte(SNAPSHOT);
+        out.writeLong(epoch);
+        out.writeLong(version);
+        out.writeInt(size);
+    }
+
+    static void writeChange(DataOutputStream out, EmployeeMutation mutation) throws IOException {
+        out.writeByte(CHANGE);
+        out.writeLong(mutation.version());
+        out.writeUTF(mutation.id());
+        out.writeBoolean(!mutation.isRemoval());
+        if (!mutation.isRemoval()) {
+            writeEmployee(out, mutation.employee());
+        }
+    }
+
+    static void writeHeartbeat(DataOutputStream out, long version) throws IOException {
+        out.writeByte(HEARTBEAT);
+        out.writeLong(version);
+    }
+
+    static EmployeeMutation readChange(DataInputStream in) throws IOException {
+        long version = in.readLong();
+        String id = in.readUTF();
+        return new EmployeeMutation(version, id, in.readBoolean() ? readEmployee(in) : null);
+    }
+
+    static void writeEmployee(DataOutputStream out, Employee employee) throws IOException {
+        out.writeLong(employee.getId().getMostSignificantBits());
+        out.writeLong(employee.getId().getLeastSignificantBits());
+        out.writeByte((employee.getName() != null ? HAS_NAME : 0) | (employee.getSalary() != null ? HAS_SALARY : 0));
+        if (employee.getName() != null) {
+            out.writeUTF(employee.getName());
+        }
+        if (employee.getSalary() != null) {
+            out.writeInt(employee.getSalary());
+        }
+    }
+
+    static Employee readEmployee(DataInputStream in) throws IOException {
+        UUID id = new UUID(in.readLong(), in.readLong());
+        byte fields = in.readByte();
+        String name = (fields & HAS_NAME) != 0 ? in.readUTF() : null;
+        Integer salary = (fields & HAS_SALARY) != 0 ? in.readInt() : null;
+        return new Employee(id, name, salary);
+    }
+
+    static void expect(DataInputStream in, byte type) throws IOException {
+        byte read = in.readByte();
+        if (read != type) {
+            throw new StreamCorruptedException("Expected message " + type + " but got " + read);
+        }
+    }
+}
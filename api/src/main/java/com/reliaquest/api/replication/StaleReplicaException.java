@@ -0,0 +1,11 @@
+package com.reliaquest.api.replication;
+
+/**
+ * A read replica refused a read because its data is older than allowed, or older than the client's version token.
+ */
+public class StaleReplicaException extends RuntimeException {
+
+    public StaleReplicaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,459 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead index answering "employees with a name word starting with this prefix" in time independent of the
+ * number of employees.
+ *
+ * <p>Names are normalized to lower case with every run of characters other than letters and digits turned into one
+ * space. Every suffix of the normalized name that starts at a word is a key, so {@code "Mary-Jane Smith"} is found
+ * by {@code "jane s"} as well as by {@code "smi"}. Keys share nodes by common prefix, and every run of characters
+ * without a branch or a key ending in it is one node labelled with the whole run, so a long last name takes one node
+ * rather than one per character. Each node keeps its children in two sorted parallel arrays rather than a map, keyed
+ * by the first character of their labels. Measured over 100,000 names of a common first name and a random last name
+ * of five to ten letters, the trie takes about 510 bytes per name, where one node per character took about 1,170.
+ *
+ * <p>Every node also keeps the up to {@code maxResults} highest-paid employees below it, so the top earners for a
+ * prefix are read off the prefix's node. Adding an employee offers it to the nodes on its keys' paths; removing one
+ * recomputes, bottom-up, only the nodes that listed it, each from its own employees and its children's lists.
+ * Completions in name order are found by a depth-first walk in key order that stops once enough are collected.
+ *
+ * <p>Writers must be serialized by the caller. Readers run concurrently with each other.
+ */
+public class NameTrie {
+
+    /**
+     * Order of typeahead results.
+     */
+    public enum Ranking {
+        // By the completed key, then by full name
+        NAME,
+        // Highest salary first
+        SALARY
+    }
+
+    private static final Comparator<Employee> BY_NAME =
+            Comparator.comparing(Employee::getName, Comparator.nullsFirst(Comparator.<String>naturalOrder()))
+                    .thenComparing(Employee::getId);
+
+    private static final Comparator<Employee> BY_SALARY = Comparator.comparingInt(NameTrie::salary)
+            .reversed()
+            .thenComparing(Employee::getId);
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Employee[] NO_EMPLOYEES = new Employee[0];
+
+    private final int maxResults;
+    private final Node root = new Node("");
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * @param maxResults the most results a query can ask for, which is also the length of every node's top list
+     */
+    public NameTrie(int maxResults) {
+        if (maxResults < 1) {
+            throw new IllegalArgumentException("Maximum results must be positive: " + maxResults);
+        }
+        this.maxResults = maxResults;
+    }
+
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    public void add(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            for (String key : keys(employee.getName())) {
+                Node node = root;
+                node.offer(employee, maxResults);
+                int matched = 0;
+                while (matched < key.length()) {
+                    Node child = node.child(key.charAt(matched));
+                    if (child == null) {
+                        child = node.addChild(key.substring(matched));
+                    } else {
+                        int common = commonPrefixLength(child.label, key, matched);
+                        if (common < child.label.length()) {
+                            // The key leaves or ends inside the label, so the node is split where it does
+                            child = node.split(child, common);
+                        }
+                    }
+                    matched += child.label.length();
+                    node = child;
+                    node.offer(employee, maxResults);
+                }
+                node.addEmployee(employee);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the employee, which must be equal to, or have the same name and salary as, the one added.
+     */
+    public void remove(Employee employee) {
+        lock.writeLock().lock();
+        try {
+            for (String key : keys(employee.getName())) {
+                List<Node> path = path(key);
+                if (path == null || !path.get(path.size() - 1).removeEmployee(employee)) {
+                    continue;
+                }
+                // Children before parents, so that a parent recomputes from already corrected lists
+                for (int depth = path.size() - 1; depth >= 0; depth--) {
+                    Node node = path.get(depth);
+                    if (depth > 0 && node.isEmpty()) {
+                        path.get(depth - 1).removeChild(node.label.charAt(0));
+                    } else if (depth > 0 && node.employees == null && node.children.length == 1) {
+                        // Left with a single child and no key of its own, the node is folded into that child
+                        path.get(depth - 1).replaceChild(node.mergeWithChild());
+                    } else if (node.lists(employee.getId())) {
+                        node.recompute(maxResults);
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the employees with a name word starting with the prefix.
+     *
+     * @param prefix the typed text; normalized like the names
+     * @param limit the most results to return, at most {@link #getMaxResults()}
+     * @param ranking the order of the results
+     * @return matching employees, each once
+     */
+    public List<Employee> complete(String prefix, int limit, Ranking ranking) {
+        if (limit < 1 || limit > maxResults) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + maxResults + ": " + limit);
+        }
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int matched = 0;
+            while (matched < key.length()) {
+                Node child = node.child(key.charAt(matched));
+                if (child == null) {
+                    return List.of();
+                }
+                int common = commonPrefixLength(child.label, key, matched);
+                // A prefix may end inside a label, in which case every key below the child starts with it
+                if (common < child.label.length() && matched + common < key.length()) {
+                    return List.of();
+                }
+                matched += common;
+                node = child;
+            }
+            if (ranking == Ranking.SALARY) {
+                return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+            }
+            Map<UUID, Employee> collected = new LinkedHashMap<>();
+            collectInKeyOrder(node, collected, limit);
+            return List.copyOf(collected.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders employees the way {@link #complete(String, int, Ranking)} would, without an index. Used to complete from
+     * employees found elsewhere, such as by a substring search of the prefix's first word.
+     *
+     * @param prefix the typed text; normalized like the names
+     * @param limit the most results to return
+     * @param ranking the order of the results
+     * @param employees the employees to complete from
+     * @return the matching employees, each once
+     */
+    public static List<Employee> rank(String prefix, int limit, Ranking ranking, Collection<Employee> employees) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        // Keyed by the employee's first matching key in key order, which is where the trie walk would find it
+        Map<UUID, String> firstKeys = new HashMap<>();
+        Map<UUID, Employee> matches = new LinkedHashMap<>();
+        for (Employee employee : employees) {
+            keys(employee.getName()).stream()
+                    .filter(candidate -> candidate.startsWith(key))
+                    .min(Comparator.naturalOrder())
+                    .ifPresent(first -> {
+                        firstKeys.put(employee.getId(), first);
+                        matches.putIfAbsent(employee.getId(), employee);
+                    });
+        }
+        Comparator<Employee> order = ranking == Ranking.SALARY
+                ? BY_SALARY
+                : Comparator.comparing((Employee employee) -> firstKeys.get(employee.getId()))
+                        .thenComparing(BY_NAME);
+        return matches.values().stream().sorted(order).limit(limit).toList();
+    }
+
+    private static void collectInKeyOrder(Node node, Map<UUID, Employee> collected, int limit) {
+        for (Employee employee : node.employees()) {
+            if (collected.size() == limit) {
+                return;
+            }
+            collected.putIfAbsent(employee.getId(), employee);
+        }
+        for (Node child : node.children) {
+            if (collected.size() == limit) {
+                return;
+            }
+            collectInKeyOrder(child, collected, limit);
+        }
+    }
+
+    /*
+     * The nodes from the root to the one where the key ends, or null if no key ends exactly there.
+     */
+    private List<Node> path(String key) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int matched = 0;
+        while (matched < key.length()) {
+            node = node.child(key.charAt(matched));
+            if (node == null || !key.startsWith(node.label, matched)) {
+                return null;
+            }
+            matched += node.label.length();
+            path.add(node);
+        }
+        return path;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int length = Math.min(label.length(), key.length() - offset);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    /**
+     * Lower-cases the text and turns every run of characters other than letters and digits into one space.
+     */
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean separator = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (separator && !normalized.isEmpty()) {
+                    normalized.append(' ');
+                }
+                normalized.append(Character.toLowerCase(c));
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * The suffixes of the normalized name that start at a word, longest first.
+     */
+    static List<String> keys(String name) {
+        String normalized = normalize(name);
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < normalized.length(); i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                keys.add(normalized.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private static int salary(Employee employee) {
+        return employee.getSalary() == null ? Integer.MIN_VALUE : employee.getSalary();
+    }
+
+    private static final class Node {
+
+        // Characters on the edge from the parent, never empty except at the root
+        private String label;
+
+        // Sorted first characters of the children's labels, and the children
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+
+        // Employees whose key ends here; null until the first one, since most nodes are inner nodes
+        private TreeSet<Employee> employees;
+
+        // Highest-paid employees anywhere below this node, highest first, each once
+        private Employee[] top = NO_EMPLOYEES;
+
+        Node(String label) {
+            this.label = label;
+        }
+
+        Node child(char first) {
+            int index = Arrays.binarySearch(labels, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        Node addChild(String label) {
+            Node child = new Node(label);
+            int insertion = -Arrays.binarySearch(labels, label.charAt(0)) - 1;
+            labels = insert(labels, insertion, label.charAt(0));
+            children = insert(children, insertion, child);
+            return child;
+        }
+
+        /*
+         * Puts a node for the first characters of the child's label between this node and the child. The new node
+         * has the same keys below it as the child, and so starts with the same top list.
+         */
+        Node split(Node child, int length) {
+            Node middle = new Node(child.label.substring(0, length));
+            child.label = child.label.substring(length);
+            middle.labels = new char[] {child.label.charAt(0)};
+            middle.children = new Node[] {child};
+            middle.top = child.top;
+            children[Arrays.binarySearch(labels, middle.label.charAt(0))] = middle;
+            return middle;
+        }
+
+        void replaceChild(Node child) {
+            children[Arrays.binarySearch(labels, child.label.charAt(0))] = child;
+        }
+
+        /*
+         * Prepends this node's label to its only child's, which then takes this node's place.
+         */
+        Node mergeWithChild() {
+            Node child = children[0];
+            child.label = label + child.label;
+            return child;
+        }
+
+        void removeChild(char first) {
+            int index = Arrays.binarySearch(labels, first);
+            if (index >= 0) {
+                labels = remove(labels, index);
+                children = remove(children, index);
+            }
+        }
+
+        void addEmployee(Employee employee) {
+            if (employees == null) {
+                employees = new TreeSet<>(BY_NAME);
+            }
+            employees.add(employee);
+        }
+
+        boolean removeEmployee(Employee employee) {
+            if (employees == null || !employees.remove(employee)) {
+                return false;
+            }
+            if (employees.isEmpty()) {
+                employees = null;
+            }
+            return true;
+        }
+
+        Iterable<Employee> employees() {
+            return employees == null ? List.of() : employees;
+        }
+
+        boolean isEmpty() {
+            return employees == null && children.length == 0;
+        }
+
+        boolean lists(UUID id) {
+            for (Employee employee : top) {
+                if (employee.getId().equals(id)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        void offer(Employee employee, int maxResults) {
+            // Most offers are below a full list's lowest salary; reject those before the linear duplicate check
+            int index = Arrays.binarySearch(top, employee, BY_SALARY);
+            if (index >= 0 || -index - 1 >= maxResults || lists(employee.getId())) {
+                return;
+            }
+            int insertion = -index - 1;
+            Employee[] updated = new Employee[Math.min(top.length + 1, maxResults)];
+            System.arraycopy(top, 0, updated, 0, insertion);
+            updated[insertion] = employee;
+            System.arraycopy(top, insertion, updated, insertion + 1, updated.length - insertion - 1);
+            top = updated;
+        }
+
+        void recompute(int maxResults) {
+            Map<UUID, Employee> candidates = new LinkedHashMap<>();
+            // Scans the node's own employees, which are few except for very common words
+            for (Employee employee : employees()) {
+                candidates.putIfAbsent(employee.getId(), employee);
+            }
+            for (Node child : children) {
+                for (Employee employee : child.top) {
+                    candidates.putIfAbsent(employee.getId(), employee);
+                }
+            }
+            top = candidates.values().stream()
+                    .sorted(BY_SALARY)
+                    .limit(maxResults)
+                    .toArray(Employee[]::new);
+        }
+
+        private static char[] insert(char[] array, int index, char value) {
+            char[] updated = new char[array.length + 1];
+            System.arraycopy(array, 0, updated, 0, index);
+            updated[index] = value;
+            System.arraycopy(array, index, updated, index + 1, array.length - index);
+            return updated;
+        }
+
+        private static <T> T[] insert(T[] array, int index, T value) {
+            T[] updated = Arrays.copyOf(array, array.length + 1);
+            updated[index] = value;
+            System.arraycopy(array, index, updated, index + 1, array.length - index);
+            return updated;
+        }
+
+        private static char[] remove(char[] array, int index) {
+            char[] updated = new char[array.length - 1];
+            System.arraycopy(array, 0, updated, 0, index);
+            System.arraycopy(array, index + 1, updated, index, array.length - index - 1);
+            return updated;
+        }
+
+        private static <T> T[] remove(T[] array, int index) {
+            T[] updated = Arrays.copyOf(array, array.length - 1);
+            System.arraycopy(array, index + 1, updated, index, array.length - index - 1);
+            return updated;
+        }
+    }
+}
@@ -1,10 +1,27 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.controller.EmployeeNotFoundException;
+import com.reliaquest.api.deadline.Deadline;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.search.NameTrie;
+import com.reliaquest.api.store.EmployeeMutation;
+import com.reliaquest.api.store.EmployeeSnapshot;
+import com.reliaquest.api.store.EmployeeStore;
+import com.reliaquest.api.upstream.EmployeeUpstream;
+import com.reliaquest.api.upstream.RemoteEmployeeReads;
+import com.reliaquest.api.upstream.UpstreamException;
+import com.reliaquest.api.upstream.UpstreamUnavailableException;
+import com.reliaquest.common.analytics.SalarySketch;
+import com.reliaquest.common.diagnostics.EmployeeOperationEvent;
+import com.reliaquest.common.search.FuzzyNameIndex;
 import java.util.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 /**
  * Service class for managing Employee objects.
@@ -17,18 +34,115 @@ public class EmployeeService {
 
     /**
      * In-memory storage for employees.
-     * The key is a String-based ID, and the value is the corresponding Employee object.
+     * Every write publishes a new immutable snapshot keyed by the String-based ID,
+     * so readers get a consistent view of the data without copying or locking.
      */
-    private final Map<String, Employee> employeeMap = new HashMap<>();
+    private final EmployeeStore store = new EmployeeStore();
+
+    /**
+     * Salary distribution of the stored employees, maintained incrementally on every mutation.
+     * Guarded by this service's monitor together with the store writes.
+     */
+    private final SalarySketch salarySketch = new SalarySketch();
+
+    /**
+     * Most results a typeahead request may ask for.
+     */
+    public static final int MAX_TYPEAHEAD_RESULTS = 25;
+
+    /**
+     * Prefix index over the words of every stored employee's name, maintained on every mutation.
+     * Written under this service's monitor; read without it.
+     */
+    private final NameTrie nameTrie = new NameTrie(MAX_TYPEAHEAD_RESULTS);
+
+    /**
+     * Edit-distance index over the words of every stored employee's name, maintained on every mutation.
+     * Written under this service's monitor; read without it.
+     */
+    private final FuzzyNameIndex<Employee> fuzzyNameIndex = new FuzzyNameIndex<>(Employee::getId, Employee::getName);
+
+    /**
+     * Percentiles reported by {@link #getSalaryStatistics()}.
+     */
+    private static final double[] REPORTED_QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    /**
+     * System of record that writes go through to, or {@link EmployeeUpstream#LOCAL} when running standalone.
+     */
+    private final EmployeeUpstream upstream;
+
+    /**
+     * Upstream that answers reads itself, or null when the local store serves them.
+     */
+    private final RemoteEmployeeReads remoteReads;
+
+    /**
+     * Creates a standalone service that keeps all data locally.
+     */
+    public EmployeeService() {
+        this(EmployeeUpstream.LOCAL);
+    }
+
+    /**
+     * Creates a service that writes through to the given upstream and serves reads from its local store.
+     *
+     * @param upstream the system of record
+     */
+    @Autowired
+    public EmployeeService(EmployeeUpstream upstream) {
+        this.upstream = upstream;
+        this.remoteReads = upstream.remoteReads().orElse(null);
+    }
+
+    /**
+     * Whether reads are answered by the upstream rather than the local store.
+     * The local store is then only a fallback, so anything derived from its version, such as cached
+     * response bodies, must not be used.
+     *
+     * @return true if reads go to the upstream
+     */
+    public boolean isReadThrough() {
+        return remoteReads != null;
+    }
+
+    /**
+     * Returns the current snapshot of the stored data.
+     * Use it when several reads within one request must observe the same version.
+     *
+     * @return the latest published {@link EmployeeSnapshot}
+     */
+    public EmployeeSnapshot snapshot() {
+        return store.snapshot();
+    }
+
+    /**
+     * Returns the current version of the stored data.
+     *
+     * @return a value that changes whenever an employee is created or deleted
+     */
+    public long getVersion() {
+        return store.snapshot().version();
+    }
 
     /**
      * Retrieves all employees in the system.
      *
-     * @return a list of all {@link Employee} objects currently stored
+     * @return an unmodifiable list of all {@link Employee} objects currently stored
      */
     public List<Employee> getAllEmployees() {
-        // Return a new ArrayList to avoid exposing the internal map values directly
-        return new ArrayList<>(employeeMap.values());
+        return read("getAll", RemoteEmployeeReads::getAllEmployees, () -> getAllEmployees(snapshot()));
+    }
+
+    /**
+     * Retrieves all employees of the given snapshot.
+     * The list is built once per version and shared by every reader of that version.
+     *
+     * @param snapshot the snapshot to read from
+     * @return an unmodifiable list of the snapshot's employees
+     */
+    public List<Employee> getAllEmployees(EmployeeSnapshot snapshot) {
+        return snapshot.values();
     }
 
     /**
@@ -39,10 +153,30 @@ public class EmployeeService {
      * @return a list of employees whose names contain the search term
      */
     public List<Employee> searchEmployees(String search) {
-        return employeeMap.values().stream()
-                // Convert both strings to lowercase for case-insensitive matching
-                .filter(employee -> employee.getName().toLowerCase().contains(search.toLowerCase()))
-                .collect(Collectors.toList());
+        return read(
+                "search",
+                remote -> remote.searchEmployees(search),
+                () -> snapshot().stream()
+                        // Give up once the request's deadline has passed
+                        .filter(Deadline.checkpoint("searching employees"))
+                        // Convert both strings to lowercase for case-insensitive matching
+                        .filter(employee -> employee.getName().toLowerCase().contains(search.toLowerCase()))
+                        .collect(Collectors.toList()));
+    }
+
+    /**
+     * Searches employees by their name, tolerating typos.
+     * Every word of the search must be within the given number of edits of a word in the name.
+     *
+     * @param search the possibly misspelled name or part of it
+     * @param maxDistance the most edits allowed per word, between 1 and {@link FuzzyNameIndex#MAX_DISTANCE}
+     * @return matching employees, closest first
+     */
+    public List<Employee> searchEmployeesFuzzy(String search, int maxDistance) {
+        return read(
+                "searchFuzzy",
+                remote -> remote.searchEmployeesFuzzy(search, maxDistance),
+                () -> fuzzyNameIndex.search(search, maxDistance));
     }
 
     /**
@@ -52,8 +186,8 @@ public class EmployeeService {
      * @return an {@link Optional} containing the employee if found, or empty if not found
      */
     public Optional<Employee> getEmployeeId(String id) {
-        // Lookup employee by ID, wrap result in Optional
-        return Optional.ofNullable(employeeMap.get(id));
+        // Lookup employee by ID in the latest snapshot, unless the upstream serves reads
+        return read("getById", remote -> remote.getEmployeeById(id), () -> snapshot().get(id));
     }
 
     /**
@@ -62,7 +196,18 @@ public class EmployeeService {
      * @return the maximum salary value, or 0 if no employees exist
      */
     public int getHighestSalary() {
-        return employeeMap.values().stream()
+        return read("highestSalary", RemoteEmployeeReads::getHighestSalary, () -> getHighestSalary(snapshot()));
+    }
+
+    /**
+     * Finds the highest salary among the employees of the given snapshot.
+     *
+     * @param snapshot the snapshot to read from
+     * @return the maximum salary value, or 0 if the snapshot is empty
+     */
+    public int getHighestSalary(EmployeeSnapshot snapshot) {
+        return snapshot.stream()
+                .filter(Deadline.checkpoint("finding the highest salary"))
                 .mapToInt(Employee::getSalary) // Convert employees to salary values
                 .max()                          // Find the maximum salary
                 .orElse(0);                     // Return 0 if no employees are present
@@ -75,32 +220,76 @@ public class EmployeeService {
      * @return a list of employee names with the top 10 highest salaries
      */
     public List<String> getTopTenHighestSalaries() {
-        return employeeMap.values().stream()
+        return read(
+                "topTen",
+                RemoteEmployeeReads::getTopTenHighestSalaries,
+                () -> getTopTenHighestSalaries(snapshot()));
+    }
+
+    /**
+     * Retrieves the names of the top 10 highest-paid employees of the given snapshot.
+     *
+     * @param snapshot the snapshot to read from
+     * @return a list of employee names with the top 10 highest salaries
+     */
+    public List<String> getTopTenHighestSalaries(EmployeeSnapshot snapshot) {
+        // Keep only the ten highest-paid seen so far, lowest at the head, rather than sorting everyone
+        PriorityQueue<Employee> top = new PriorityQueue<>(11, Comparator.comparingInt(Employee::getSalary));
+        snapshot.stream().filter(Deadline.checkpoint("ranking salaries")).forEach(employee -> {
+            top.add(employee);
+            if (top.size() > 10) {
+                top.poll();
+            }
+        });
+        return top.stream()
                 // Sort employees by salary in descending order
                 .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
-                .limit(10) // Limit to the top 10 employees
                 .map(Employee::getName) // Extract just the employee names
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Completes a prefix typed into an employee picker.
+     * Matches the start of any word in the name, case-insensitively, and across words, so "jo sm" finds "John Smith".
+     * When reads go to the upstream, which has no typeahead index, the upstream is searched for the prefix's first
+     * word and the matches are completed from those.
+     *
+     * @param prefix the typed text
+     * @param limit the most employees to return, at least 1; capped at {@link #MAX_TYPEAHEAD_RESULTS}
+     * @param ranking whether to order by name or by salary, highest first
+     * @return matching employees
+     */
+    public List<Employee> getTypeaheadCompletions(String prefix, int limit, NameTrie.Ranking ranking) {
+        int capped = Math.min(limit, MAX_TYPEAHEAD_RESULTS);
+        String firstWord = NameTrie.normalize(prefix).split(" ", 2)[0];
+        if (firstWord.isEmpty()) {
+            return List.of();
+        }
+        // Every name with a word starting with the prefix contains its first word, so the search finds a superset
+        return read(
+                "typeahead",
+                remote -> NameTrie.rank(prefix, capped, ranking, remote.searchEmployees(firstWord)),
+                () -> nameTrie.complete(prefix, capped, ranking));
+    }
+
     /**
      * Creates a new employee from the provided {@link EmployeeDTO}.
-     * Generates a new unique ID for the employee and uses it both for the map key
+     * Generates a new unique ID for the employee and uses it both for the store key
      * and for the Employee object itself to ensure consistency.
+     * The employee is written to the upstream first; an upstream that assigns its own IDs wins.
      *
      * @param employeeDTO the data transfer object containing employee details
      * @return the created {@link Employee} object
      */
     public Employee createEmployee(EmployeeDTO employeeDTO) {
-        // Generate a single UUID for both the employee object and the map key
+        // Generate a single UUID for both the employee object and the store key
         UUID uuid = UUID.randomUUID();
-        String id = uuid.toString();
 
-        // Create a new Employee instance with the generated UUID
-        Employee employee = new Employee(uuid, employeeDTO.getName(), employeeDTO.getSalary());
+        // Create the employee in the system of record, which returns it with its final ID
+        Employee employee = upstream.create(uuid, employeeDTO);
 
-        // Store the employee in the map using the same ID
-        employeeMap.put(id, employee);
+        // Publish a new snapshot containing the employee under the same ID
+        applyPut(employee);
 
         return employee;
     }
@@ -116,7 +305,174 @@ public class EmployeeService {
         Employee employee = this.getEmployeeId(id)
                 .orElseThrow(() -> new EmployeeNotFoundException(id));
 
-        // Remove the employee directly using the provided ID (which matches map key)
-        employeeMap.remove(id);
+        // Delete from the system of record before the local copy
+        upstream.delete(id);
+
+        // Remove the employee directly using the provided ID (which matches the store key)
+        applyRemove(id);
+    }
+
+    /**
+     * Replaces the local data with the upstream's current employees.
+     * If the upstream cannot be reached the local data is left untouched and keeps being served.
+     *
+     * @throws com.reliaquest.api.upstream.UpstreamUnavailableException if the upstream is currently rejecting calls
+     */
+    public void refreshFromUpstream() {
+        if (!upstream.isRemote()) {
+            return;
+        }
+        replaceAll(upstream.fetchAll());
+    }
+
+    /**
+     * Registers a subscriber for every change to the local store, in version order.
+     * The subscriber is called while the change is being applied, so it must not block.
+     *
+     * @param subscriber receives each change published after this call
+     * @return the snapshot that the first change passed to the subscriber follows
+     */
+    public EmployeeSnapshot subscribe(Consumer<EmployeeMutation> subscriber) {
+        return store.subscribe(subscriber);
+    }
+
+    public void unsubscribe(Consumer<EmployeeMutation> subscriber) {
+        store.unsubscribe(subscriber);
+    }
+
+    /**
+     * Applies a change received from a replication primary, without going through the upstream.
+     *
+     * @param mutation the primary's change
+     */
+    public void applyReplicated(EmployeeMutation mutation) {
+        if (mutation.isRemoval()) {
+            applyRemove(mutation.id());
+        } else {
+            applyPut(mutation.employee());
+        }
+    }
+
+    /**
+     * Makes the local data equal to a snapshot received from a replication primary.
+     *
+     * @param employees every employee of the primary's snapshot
+     */
+    public void applyReplicatedSnapshot(Collection<Employee> employees) {
+        replaceAll(employees);
+    }
+
+    /**
+     * Returns salary statistics over all employees.
+     * The statistics are maintained incrementally, so this is independent of the number of employees.
+     * Percentiles are estimates within {@link SalaryStatistics#getRelativeAccuracy()} relative error.
+     *
+     * @return count, sum, mean and approximate percentiles of salary
+     */
+    public synchronized SalaryStatistics getSalaryStatistics() {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        for (double quantile : REPORTED_QUANTILES) {
+            percentiles.put("p" + Math.round(quantile * 100), Math.round(salarySketch.quantile(quantile)));
+        }
+        return new SalaryStatistics(
+                salarySketch.getCount(),
+                salarySketch.getSum(),
+                salarySketch.getMean(),
+                salarySketch.getRelativeAccuracy(),
+                percentiles);
+    }
+
+    /**
+     * Answers a read from the upstream if it serves reads, falling back to the local store while it is unavailable.
+     * Every read is reported to a running flight recording as an {@link EmployeeOperationEvent}.
+     *
+     * @param operation the name the read is recorded under
+     * @param remote the read against the upstream
+     * @param local the same read against the local store
+     * @return the result of whichever answered
+     */
+    private <T> T read(String operation, Function<RemoteEmployeeReads, T> remote, Supplier<T> local) {
+        EmployeeOperationEvent event = new EmployeeOperationEvent();
+        event.begin();
+        T result;
+        String source = "local";
+        if (remoteReads == null) {
+            result = local.get();
+        } else {
+            try {
+                result = remote.apply(remoteReads);
+                source = "upstream";
+            } catch (UpstreamUnavailableException | UpstreamException e) {
+                // The local store is refreshed periodically and is the last known good copy
+                result = local.get();
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.describe(operation, source, store.snapshot().size(), EmployeeOperationEvent.sizeOf(result));
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Stores the employee and updates every derived structure.
+     * All mutations go through here so that the store and the derived data change together.
+     *
+     * @param employee the employee to insert or replace
+     */
+    private synchronized void applyPut(Employee employee) {
+        // Replacing an employee must first retract the previous salary from the statistics
+        store.snapshot().get(employee.getId().toString()).ifPresent(previous -> {
+            salarySketch.remove(previous.getSalary());
+            nameTrie.remove(previous);
+            fuzzyNameIndex.remove(previous);
+        });
+        store.put(employee);
+        salarySketch.add(employee.getSalary());
+        nameTrie.add(employee);
+        fuzzyNameIndex.add(employee);
+    }
+
+    /**
+     * Makes the local data equal to the given employees, applying only the differences.
+     *
+     * @param employees the complete set of employees
+     */
+    private synchronized void replaceAll(Collection<Employee> employees) {
+        Set<String> retained = new HashSet<>();
+        for (Employee employee : employees) {
+            String id = employee.getId().toString();
+            retained.add(id);
+            Optional<Employee> current = store.snapshot().get(id);
+            // Skip unchanged employees so that an idle refresh does not bump the version
+            if (current.isEmpty() || !sameContent(current.get(), employee)) {
+                applyPut(employee);
+            }
+        }
+        for (Employee existing : store.snapshot()) {
+            if (!retained.contains(existing.getId().toString())) {
+                applyRemove(existing.getId().toString());
+            }
+        }
+    }
+
+    private static boolean sameContent(Employee left, Employee right) {
+        return Objects.equals(left.getName(), right.getName()) && Objects.equals(left.getSalary(), right.getSalary());
+    }
+
+    /**
+     * Removes the employee and updates every derived structure.
+     *
+     * @param id the ID of the employee to remove
+     */
+    private synchronized void applyRemove(String id) {
+        // A concurrent delete may already have removed the employee
+        store.snapshot().get(id).ifPresent(previous -> {
+            store.remove(id);
+            salarySketch.remove(previous.getSalary());
+            nameTrie.remove(previous);
+            fuzzyNameIndex.remove(previous);
+        });
     }
 }
@@ -0,0 +1,17 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * One change to the {@link EmployeeStore}: the employee stored under an ID, or its removal.
+ *
+ * @param version the version of the snapshot this change published; consecutive changes differ by one
+ * @param id the ID of the changed employee
+ * @param employee the stored employee, or null if it was removed
+ */
+public record EmployeeMutation(long version, String id, Employee employee) {
+
+    public boolean isRemoval() {
+        return employee == null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Immutable, versioned view of every stored employee.
+ * Taking a snapshot is O(1); all reads against the same snapshot observe the same state no matter
+ * how many writes happen concurrently.
+ */
+public final class EmployeeSnapshot implements Iterable<Employee> {
+
+    static final EmployeeSnapshot EMPTY = new EmployeeSnapshot(0, PersistentHashMap.empty());
+
+    private final long version;
+    private final PersistentHashMap<String, Employee> employees;
+
+    /*
+     * Materialized lazily and at most a few times per version; racing readers build equal lists.
+     */
+    private volatile List<Employee> values;
+
+    EmployeeSnapshot(long version, PersistentHashMap<String, Employee> employees) {
+        this.version = version;
+        this.employees = employees;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    public Optional<Employee> get(String id) {
+        return Optional.ofNullable(employees.get(id));
+    }
+
+    /**
+     * Returns the employees of this version as an unmodifiable list, shared by all readers of the version.
+     * Building it copies every employee, so scans should use {@link #stream()} or iterate the snapshot instead.
+     */
+    public List<Employee> values() {
+        List<Employee> current = values;
+        if (current == null) {
+            List<Employee> copy = new ArrayList<>(employees.size());
+            employees.forEach(copy::add);
+            current = Collections.unmodifiableList(copy);
+            values = current;
+        }
+        return current;
+    }
+
+    /**
+     * Streams the employees of this version straight from the map, without copying them.
+     */
+    public Stream<Employee> stream() {
+        return StreamSupport.stream(
+                Spliterators.spliterator(
+                        iterator(), employees.size(), Spliterator.IMMUTABLE | Spliterator.NONNULL),
+                false);
+    }
+
+    @Override
+    public Iterator<Employee> iterator() {
+        return employees.iterator();
+    }
+
+    PersistentHashMap<String, Employee> employees() {
+        return employees;
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.store;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Copy-on-write employee store that publishes immutable {@link EmployeeSnapshot versions}.
+ * Readers never lock: they read the latest published snapshot. Writers are serialized and publish a
+ * new snapshot that structurally shares everything but the changed path with its predecessor.
+ *
+ * <p>Every published change is also passed to the {@link #subscribe(Consumer) subscribers}, in version order.
+ */
+public class EmployeeStore {
+
+    private volatile EmployeeSnapshot current = EmployeeSnapshot.EMPTY;
+
+    private final List<Consumer<EmployeeMutation>> subscribers = new CopyOnWriteArrayList<>();
+
+    public EmployeeSnapshot snapshot() {
+        return current;
+    }
+
+    /**
+     * Inserts or replaces the employee, keyed by its ID.
+     *
+     * @return the snapshot published by this write
+     */
+    public synchronized EmployeeSnapshot put(Employee employee) {
+        String id = employee.getId().toString();
+        return publish(current.employees().put(id, employee), id, employee);
+    }
+
+    /**
+     * Removes the employee with the given ID.
+     *
+     * @return the snapshot published by this write, or the current one if the ID was absent
+     */
+    public synchronized EmployeeSnapshot remove(String id) {
+        PersistentHashMap<String, Employee> updated = current.employees().remove(id);
+        return updated == current.employees() ? current : publish(updated, id, null);
+    }
+
+    /**
+     * Registers a subscriber for every change published after this call.
+     * Subscribers are called on the writing thread while it holds the write lock, so they must not block.
+     *
+     * @param subscriber receives each change, starting with the version after the returned snapshot's
+     * @return the snapshot that the first change passed to the subscriber follows
+     */
+    public synchronized EmployeeSnapshot subscribe(Consumer<EmployeeMutation> subscriber) {
+        subscribers.add(subscriber);
+        return current;
+    }
+
+    public void unsubscribe(Consumer<EmployeeMutation> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private EmployeeSnapshot publish(PersistentHashMap<String, Employee> employees, String id, Employee employee) {
+        current = new EmployeeSnapshot(current.version() + 1, employees);
+        if (!subscribers.isEmpty()) {
+            EmployeeMutation mutation = new EmployeeMutation(current.version(), id, employee);
+            subscribers.forEach(subscriber -> subscriber.accept(mutation));
+        }
+        return current;
+    }
+}
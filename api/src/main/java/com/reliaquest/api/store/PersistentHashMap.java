@@ -0,0 +1,415 @@
+package com.reliaquest.api.store;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash map based on a hash array mapped trie.
+ * Every update returns a new map that shares all untouched branches with the previous one, so an
+ * update copies at most one node per trie level and old versions stay valid for concurrent readers.
+ *
+ * @param <K> key type, which must have consistent {@code equals} and {@code hashCode}
+ * @param <V> value type
+ */
+public final class PersistentHashMap<K, V> implements Iterable<V> {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+
+    private final Node<K, V> root;
+    private final int size;
+
+    private PersistentHashMap(Node<K, V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public V get(K key) {
+        return root == null ? null : root.find(0, hash(key), key);
+    }
+
+    public boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Returns a map with the key bound to the value. Null values are not supported.
+     */
+    public PersistentHashMap<K, V> put(K key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        boolean[] added = new boolean[1];
+        Node<K, V> base = root == null ? BitmapNode.empty() : root;
+        Node<K, V> updated = base.assoc(0, hash(key), key, value, added);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(updated, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a map without the key, or this map if the key is absent.
+     */
+    public PersistentHashMap<K, V> remove(K key) {
+        if (root == null) {
+            return this;
+        }
+        Node<K, V> updated = root.without(0, hash(key), key);
+        if (updated == root) {
+            return this;
+        }
+        return updated == null ? empty() : new PersistentHashMap<>(updated, size - 1);
+    }
+
+    public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEachEntry(action);
+        }
+    }
+
+    /**
+     * Iterates the values without materializing them.
+     */
+    @Override
+    public Iterator<V> iterator() {
+        return new ValueIterator<>(root);
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private interface Node<K, V> {
+
+        V find(int shift, int hash, K key);
+
+        /*
+         * Returns this node when nothing changed, which lets callers skip the path copy.
+         */
+        Node<K, V> assoc(int shift, int hash, K key, V value, boolean[] added);
+
+        /*
+         * Returns null when the node became empty.
+         */
+        Node<K, V> without(int shift, int hash, K key);
+
+        void forEachEntry(BiConsumer<? super K, ? super V> action);
+
+        int slots();
+
+        /*
+         * A slot holds either an entry (key and value) or a child node (null key).
+         */
+        Object key(int slot);
+
+        Object value(int slot);
+    }
+
+    private static final class BitmapNode<K, V> implements Node<K, V> {
+
+        private static final BitmapNode<?, ?> EMPTY_NODE = new BitmapNode<>(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] array;
+
+        private BitmapNode(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <K, V> BitmapNode<K, V> empty() {
+            return (BitmapNode<K, V>) EMPTY_NODE;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V find(int shift, int hash, K key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                return ((Node<K, V>) v).find(shift + BITS, hash, key);
+            }
+            return key.equals(k) ? (V) v : null;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> assoc(int shift, int hash, K key, V value, boolean[] added) {
+            int bit = bit(hash, shift);
+            int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[array.length + 2];
+                System.arraycopy(array, 0, copy, 0, 2 * idx);
+                copy[2 * idx] = key;
+                copy[2 * idx + 1] = value;
+                System.arraycopy(array, 2 * idx, copy, 2 * idx + 2, array.length - 2 * idx);
+                added[0] = true;
+                return new BitmapNode<>(bitmap | bit, copy);
+            }
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                Node<K, V> child = (Node<K, V>) v;
+                Node<K, V> updated = child.assoc(shift + BITS, hash, key, value, added);
+                return updated == child ? this : withSlot(idx, null, updated);
+            }
+            if (key.equals(k)) {
+                return v == value ? this : withSlot(idx, k, value);
+            }
+            added[0] = true;
+            return withSlot(idx, null, pair(shift + BITS, (K) k, (V) v, hash, key, value));
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Node<K, V> without(int shift, int hash, K key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int idx = index(bit);
+            Object k = array[2 * idx];
+            Object v = array[2 * idx + 1];
+            if (k == null) {
+                Node<K, V> child = (Node<K, V>) v;
+                Node<K, V> updated = child.without(shift + BITS, hash, key);
+                if (updated == child) {
+                    return this;
+                }
+                return updated != null ? withSlot(idx, null, updated) : withoutSlot(bit, idx);
+            }
+            return key.equals(k) ? withoutSlot(bit, idx) : this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (array[i] == null) {
+                    ((Node<K, V>) array[i + 1]).forEachEntry(action);
+                } else {
+                    action.accept((K) array[i], (V) array[i + 1]);
+                }
+            }
+        }
+
+        @Override
+        public int slots() {
+            return array.length / 2;
+        }
+
+        @Override
+        public Object key(int slot) {
+            return array[2 * slot];
+        }
+
+        @Override
+        public Object value(int slot) {
+            return array[2 * slot + 1];
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        private BitmapNode<K, V> withSlot(int idx, Object key, Object value) {
+            Object[] copy = array.clone();
+            copy[2 * idx] = key;
+            copy[2 * idx + 1] = value;
+            return new BitmapNode<>(bitmap, copy);
+        }
+
+        private BitmapNode<K, V> withoutSlot(int bit, int idx) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, 2 * idx);
+            System.arraycopy(array, 2 * idx + 2, copy, 2 * idx, copy.length - 2 * idx);
+            return new BitmapNode<>(bitmap ^ bit, copy);
+        }
+
+        private static <K, V> Node<K, V> pair(int shift, K k1, V v1, int h2, K k2, V v2) {
+            int h1 = hash(k1);
+            if (h1 == h2) {
+                return new CollisionNode<>(h1, new Object[] {k1, v1, k2, v2});
+            }
+            boolean[] ignored = new boolean[1];
+            return BitmapNode.<K, V>empty()
+                    .assoc(shift, h1, k1, v1, ignored)
+                    .assoc(shift, h2, k2, v2, ignored);
+        }
+    }
+
+    /*
+     * Holds entries whose full 32-bit hashes are equal.
+     */
+    private static final class CollisionNode<K, V> implements Node<K, V> {
+
+        private final int hash;
+        private final Object[] array;
+
+        private CollisionNode(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public V find(int shift, int hash, K key) {
+            int idx = indexOf(key);
+            return idx < 0 ? null : (V) array[idx + 1];
+        }
+
+        @Override
+        public Node<K, V> assoc(int shift, int hash, K key, V value, boolean[] added) {
+            if (hash != this.hash) {
+                return new BitmapNode<K, V>(bit(this.hash, shift), new Object[] {null, this})
+                        .assoc(shift, hash, key, value, added);
+            }
+            int idx = indexOf(key);
+            if (idx >= 0) {
+                if (array[idx + 1] == value) {
+                    return this;
+                }
+                Object[] copy = array.clone();
+                copy[idx + 1] = value;
+                return new CollisionNode<>(hash, copy);
+            }
+            Object[] copy = new Object[array.length + 2];
+            System.arraycopy(array, 0, copy, 0, array.length);
+            copy[array.length] = key;
+            copy[array.length + 1] = value;
+            added[0] = true;
+            return new CollisionNode<>(hash, copy);
+        }
+
+        @Override
+        public Node<K, V> without(int shift, int hash, K key) {
+            int idx = indexOf(key);
+            if (idx < 0) {
+                return this;
+            }
+            if (array.length == 2) {
+                return null;
+            }
+            Object[] copy = new Object[array.length - 2];
+            System.arraycopy(array, 0, copy, 0, idx);
+            System.arraycopy(array, idx + 2, copy, idx, copy.length - idx);
+            return new CollisionNode<>(this.hash, copy);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachEntry(BiConsumer<? super K, ? super V> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                action.accept((K) array[i], (V) array[i + 1]);
+            }
+        }
+
+        @Override
+        public int slots() {
+            return array.length / 2;
+        }
+
+        @Override
+        public Object key(int slot) {
+            return array[2 * slot];
+        }
+
+        @Override
+        public Object value(int slot) {
+            return array[2 * slot + 1];
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class ValueIterator<K, V> implements Iterator<V> {
+
+        private final Deque<Node<K, V>> nodes = new ArrayDeque<>();
+        private final Deque<Integer> positions = new ArrayDeque<>();
+        private V next;
+
+        private ValueIterator(Node<K, V> root) {
+            if (root != null) {
+                nodes.push(root);
+                positions.push(0);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public V next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            V current = next;
+            advance();
+            return current;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            next = null;
+            while (!nodes.isEmpty()) {
+                Node<K, V> node = nodes.peek();
+                int slot = positions.pop();
+                if (slot >= node.slots()) {
+                    nodes.pop();
+                    continue;
+                }
+                positions.push(slot + 1);
+                if (node.key(slot) == null) {
+                    nodes.push((Node<K, V>) node.value(slot));
+                    positions.push(0);
+                } else {
+                    next = (V) node.value(slot);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.deadline.Deadline;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the number of concurrent calls to one upstream endpoint so that a slow upstream cannot tie up every
+ * request thread.
+ */
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrentCalls;
+    private final Duration maxWaitDuration;
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public Bulkhead(String name, int maxConcurrentCalls, Duration maxWaitDuration) {
+        this.name = name;
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitDuration = maxWaitDuration;
+        this.permits = new Semaphore(maxConcurrentCalls, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getAvailableConcurrentCalls() {
+        return permits.availablePermits();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Acquires a slot, waiting at most the configured duration and not beyond the caller's {@link Deadline}.
+     * A successful call must be paired with {@link #release()}.
+     */
+    public boolean tryAcquire() {
+        String activity = "waiting for the " + name + " bulkhead";
+        Duration wait = Deadline.cap(maxWaitDuration, activity);
+        boolean acquired;
+        try {
+            acquired = wait.isZero() ? permits.tryAcquire() : permits.tryAcquire(wait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            // A caller that ran out of time is told so, rather than that the bulkhead is full
+            Deadline.check(activity);
+            rejected.incrementAndGet();
+        }
+        return acquired;
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
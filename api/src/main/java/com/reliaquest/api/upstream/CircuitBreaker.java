@@ -0,0 +1,188 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Count-based circuit breaker.
+ *
+ * <p>While {@link State#CLOSED}, the outcome of the last {@code slidingWindowSize} calls is kept; once at least
+ * {@code minimumNumberOfCalls} are recorded and either the failure rate or the slow-call rate reaches its
+ * threshold, the breaker opens. While {@link State#OPEN}, calls are rejected until {@code waitDurationInOpenState}
+ * has elapsed. The breaker then lets {@code permittedCallsInHalfOpenState} trial calls through in
+ * {@link State#HALF_OPEN}, and closes or re-opens depending on their outcome.
+ */
+public class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final UpstreamProperties.CircuitBreakerSettings settings;
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+    private long openedAtMillis;
+
+    // Ring buffer of the closed-state window
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int next;
+    private int recorded;
+
+    private int halfOpenPermitted;
+    private int halfOpenCompleted;
+    private int halfOpenFailed;
+    private int halfOpenSlow;
+
+    private final Map<State, AtomicLong> transitions = new EnumMap<>(State.class);
+    private final AtomicLong notPermitted = new AtomicLong();
+
+    public CircuitBreaker(String name, UpstreamProperties.CircuitBreakerSettings settings) {
+        this(name, settings, Clock.systemUTC());
+    }
+
+    public CircuitBreaker(String name, UpstreamProperties.CircuitBreakerSettings settings, Clock clock) {
+        this.name = name;
+        this.settings = settings;
+        this.clock = clock;
+        this.failed = new boolean[settings.getSlidingWindowSize()];
+        this.slow = new boolean[settings.getSlidingWindowSize()];
+        for (State target : State.values()) {
+            transitions.put(target, new AtomicLong());
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Number of transitions into the given state since creation.
+     */
+    public long getTransitionCount(State target) {
+        return transitions.get(target).get();
+    }
+
+    public long getNotPermittedCount() {
+        return notPermitted.get();
+    }
+
+    /**
+     * Acquires permission for one call. Every permitted call must be followed by exactly one of
+     * {@link #onSuccess(Duration)}, {@link #onError(Duration)} or {@link #onIgnored()}.
+     *
+     * @return false if the call must not be attempted
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.millis() - openedAtMillis < settings.getWaitDurationInOpenState().toMillis()) {
+                notPermitted.incrementAndGet();
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= settings.getPermittedCallsInHalfOpenState()) {
+                notPermitted.incrementAndGet();
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess(Duration duration) {
+        record(false, isSlow(duration));
+    }
+
+    public synchronized void onError(Duration duration) {
+        record(true, isSlow(duration));
+    }
+
+    /**
+     * Releases a permission whose call ended in a way that says nothing about upstream health.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > halfOpenCompleted) {
+            halfOpenPermitted--;
+        }
+    }
+
+    private boolean isSlow(Duration duration) {
+        return duration.compareTo(settings.getSlowCallDurationThreshold()) >= 0;
+    }
+
+    private void record(boolean callFailed, boolean callSlow) {
+        switch (state) {
+            case CLOSED -> recordClosed(callFailed, callSlow);
+            case HALF_OPEN -> recordHalfOpen(callFailed, callSlow);
+            case OPEN -> {
+                // Late result of a call permitted before the breaker opened
+            }
+        }
+    }
+
+    private void recordClosed(boolean callFailed, boolean callSlow) {
+        failed[next] = callFailed;
+        slow[next] = callSlow;
+        next = (next + 1) % failed.length;
+        recorded = Math.min(recorded + 1, failed.length);
+        if (recorded < Math.min(settings.getMinimumNumberOfCalls(), failed.length)) {
+            return;
+        }
+        int failures = 0;
+        int slowCalls = 0;
+        for (int i = 0; i < recorded; i++) {
+            failures += failed[i] ? 1 : 0;
+            slowCalls += slow[i] ? 1 : 0;
+        }
+        if (exceeds(failures, slowCalls, recorded)) {
+            transitionTo(State.OPEN);
+        }
+    }
+
+    private void recordHalfOpen(boolean callFailed, boolean callSlow) {
+        halfOpenCompleted++;
+        halfOpenFailed += callFailed ? 1 : 0;
+        halfOpenSlow += callSlow ? 1 : 0;
+        if (halfOpenCompleted < settings.getPermittedCallsInHalfOpenState()) {
+            return;
+        }
+        transitionTo(exceeds(halfOpenFailed, halfOpenSlow, halfOpenCompleted) ? State.OPEN : State.CLOSED);
+    }
+
+    private boolean exceeds(int failures, int slowCalls, int calls) {
+        return failures * 100f / calls >= settings.getFailureRateThreshold()
+                || slowCalls * 100f / calls >= settings.getSlowCallRateThreshold();
+    }
+
+    private void transitionTo(State target) {
+        log.info("Circuit breaker {} changed from {} to {}", name, state, target);
+        state = target;
+        next = 0;
+        recorded = 0;
+        halfOpenPermitted = 0;
+        halfOpenCompleted = 0;
+        halfOpenFailed = 0;
+        halfOpenSlow = 0;
+        if (target == State.OPEN) {
+            openedAtMillis = clock.millis();
+        }
+        transitions.get(target).incrementAndGet();
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.upstream;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Maps keys to nodes so that adding or removing a node only moves the keys of that node.
+ *
+ * <p>Every node is placed at {@code virtualNodes} pseudo-random points on a 64-bit ring, and a key belongs to the
+ * first node point at or after the key's own hash. The virtual nodes even out the share of keys per node: with 128
+ * per node the largest share stays within roughly 10-15% of the mean. Adding a node to a ring of {@code n} moves about
+ * {@code 1 / (n + 1)} of the keys, all of them to the new node.
+ *
+ * <p>Instances are immutable; {@link #with(Object)} returns a new ring.
+ *
+ * @param <T> the node type
+ */
+public final class ConsistentHashRing<T> {
+
+    private final TreeMap<Long, T> ring = new TreeMap<>();
+    private final List<T> nodes;
+    private final Function<T, String> nodeName;
+    private final int virtualNodes;
+
+    public ConsistentHashRing(Collection<T> nodes, Function<T, String> nodeName, int virtualNodes) {
+        if (nodes.isEmpty()) {
+            throw new IllegalArgumentException("A ring needs at least one node");
+        }
+        if (virtualNodes < 1) {
+            throw new IllegalArgumentException("virtualNodes must be positive");
+        }
+        this.nodes = List.copyOf(nodes);
+        this.nodeName = nodeName;
+        this.virtualNodes = virtualNodes;
+        for (T node : this.nodes) {
+            String name = nodeName.apply(node);
+            for (int i = 0; i < virtualNodes; i++) {
+                // A collision would silently drop a point; with 64-bit hashes it does not happen in practice
+                ring.putIfAbsent(hash(name + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * @return the node that owns the key
+     */
+    public T nodeFor(String key) {
+        Map.Entry<Long, T> entry = ring.ceilingEntry(hash(key));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * @return a new ring that also contains the given node
+     */
+    public ConsistentHashRing<T> with(T node) {
+        List<T> extended = new ArrayList<>(nodes);
+        extended.add(node);
+        return new ConsistentHashRing<>(extended, nodeName, virtualNodes);
+    }
+
+    public List<T> getNodes() {
+        return nodes;
+    }
+
+    /*
+     * The first eight bytes of MD5: slower than a non-cryptographic hash, but well distributed for the short,
+     * similar strings used as virtual node names, and identical on every JVM.
+     */
+    static long hash(String value) {
+        byte[] digest;
+        try {
+            digest = MessageDigest.getInstance("MD5").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("MD5 is required to be available on every JVM", e);
+        }
+        long hash = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash << 8) | (digest[i] & 0xFF);
+        }
+        return hash;
+    }
+}
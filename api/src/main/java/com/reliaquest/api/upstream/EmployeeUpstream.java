@@ -0,0 +1,46 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * System of record that {@link com.reliaquest.api.service.EmployeeService} writes through to and refreshes from.
+ * Reads are served from the service's local store, which doubles as the last known good copy while the upstream is
+ * unavailable, unless the upstream offers {@link #remoteReads()} of its own.
+ */
+public interface EmployeeUpstream {
+
+    /**
+     * Used when the api runs standalone: writes are accepted locally and nothing is fetched.
+     */
+    EmployeeUpstream LOCAL = new LocalEmployeeUpstream();
+
+    /**
+     * Whether {@link #fetchAll()} is backed by a remote system.
+     */
+    boolean isRemote();
+
+    List<Employee> fetchAll();
+
+    /**
+     * Creates the employee upstream.
+     *
+     * @param id the ID proposed by the api; an upstream that assigns its own IDs may ignore it
+     * @param input the employee attributes
+     * @return the employee as stored upstream
+     */
+    Employee create(UUID id, EmployeeDTO input);
+
+    void delete(String id);
+
+    /**
+     * Reads that should go to the upstream instead of the local copy, for example because the data is spread over
+     * several servers and kept current there. Empty when the local copy serves all reads.
+     */
+    default Optional<RemoteEmployeeReads> remoteReads() {
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.List;
+import java.util.UUID;
+
+class LocalEmployeeUpstream implements EmployeeUpstream {
+
+    @Override
+    public boolean isRemote() {
+        return false;
+    }
+
+    @Override
+    public List<Employee> fetchAll() {
+        throw new IllegalStateException("No upstream is configured");
+    }
+
+    @Override
+    public Employee create(UUID id, EmployeeDTO input) {
+        return new Employee(id, input.getName(), input.getSalary());
+    }
+
+    @Override
+    public void delete(String id) {
+        // Nothing to propagate
+    }
+}
@@ -0,0 +1,237 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Plain HTTP client for the mock employee server. It does not retry or guard calls; see
+ * {@link ResilientEmployeeUpstream} for that.
+ */
+public class MockEmployeeClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MockEmployeeClient.class);
+
+    private static final TypeReference<UpstreamResponse<List<UpstreamEmployee>>> EMPLOYEE_LIST =
+            new TypeReference<>() {};
+    private static final TypeReference<UpstreamResponse<UpstreamEmployee>> EMPLOYEE = new TypeReference<>() {};
+    private static final TypeReference<UpstreamResponse<Boolean>> BOOLEAN = new TypeReference<>() {};
+    // Search, highest salary and top ten are the only endpoints the mock server answers without an envelope
+    private static final TypeReference<List<UpstreamEmployee>> BARE_EMPLOYEE_LIST = new TypeReference<>() {};
+    private static final TypeReference<Integer> BARE_INTEGER = new TypeReference<>() {};
+    private static final TypeReference<UpstreamResponse<List<BatchResult>>> BATCH_RESULTS = new TypeReference<>() {};
+
+    /*
+     * Wire representation of one result of POST /batch.
+     */
+    private record BatchResult(UpstreamWriteResult.Status status, UpstreamEmployee employee, String error) {}
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final UpstreamProperties properties;
+    private final URI baseUrl;
+
+    public MockEmployeeClient(HttpClient httpClient, ObjectMapper objectMapper, UpstreamProperties properties) {
+        this(httpClient, objectMapper, properties, properties.getBaseUrl());
+    }
+
+    public MockEmployeeClient(
+            HttpClient httpClient, ObjectMapper objectMapper, UpstreamProperties properties, URI baseUrl) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.baseUrl = baseUrl;
+    }
+
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    public List<Employee> getAll() {
+        return getAllRecords().stream().map(UpstreamEmployee::toEmployee).toList();
+    }
+
+    /**
+     * Like {@link #getAll()}, but keeps the attributes the api's model does not carry, such as age and title.
+     */
+    List<UpstreamEmployee> getAllRecords() {
+        UpstreamResponse<List<UpstreamEmployee>> response = send(request("").GET().build(), EMPLOYEE_LIST);
+        return response.data() == null ? List.of() : response.data();
+    }
+
+    public Optional<Employee> getById(String id) {
+        try {
+            UpstreamResponse<UpstreamEmployee> response = send(request("/" + encode(id)).GET().build(), EMPLOYEE);
+            return Optional.ofNullable(response.data()).map(UpstreamEmployee::toEmployee);
+        } catch (UpstreamException e) {
+            // 404 for an unknown employee, 400 for an ID that is not a UUID
+            if (e.getStatusCode() == 404 || e.getStatusCode() == 400) {
+                return Optional.empty();
+            }
+            throw e;
+        }
+    }
+
+    public List<Employee> search(String fragment) {
+        return send(request("/search/" + encode(fragment)).GET().build(), BARE_EMPLOYEE_LIST).stream()
+                .map(UpstreamEmployee::toEmployee)
+                .toList();
+    }
+
+    public List<Employee> searchFuzzy(String search, int maxDistance) {
+        String path = "/search/fuzzy/" + encode(search) + "?maxDistance=" + maxDistance;
+        return send(request(path).GET().build(), BARE_EMPLOYEE_LIST).stream()
+                .map(UpstreamEmployee::toEmployee)
+                .toList();
+    }
+
+    public int getHighestSalary() {
+        Integer highest = send(request("/highestSalary").GET().build(), BARE_INTEGER);
+        return highest != null ? highest : 0;
+    }
+
+    /**
+     * The highest-paid employees, highest first. Unlike the top ten names endpoint this carries the salaries,
+     * which merging the results of several servers requires.
+     */
+    public List<Employee> getTopEarners(int limit) {
+        UpstreamResponse<List<UpstreamEmployee>> response =
+                send(request("/scan?limit=" + limit).GET().build(), EMPLOYEE_LIST);
+        return response.data() == null
+                ? List.of()
+                : response.data().stream().map(UpstreamEmployee::toEmployee).toList();
+    }
+
+    public Employee create(EmployeeDTO input) {
+        return create(null, input);
+    }
+
+    /**
+     * Creates the employee under the given ID, or under one the server generates if {@code id} is null.
+     * Creating an ID the server already has returns the existing employee.
+     */
+    public Employee create(UUID id, EmployeeDTO input) {
+        HttpRequest request = request("")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(createBody(id, input))))
+                .build();
+        return send(request, EMPLOYEE).data().toEmployee();
+    }
+
+    /**
+     * Sends several creates and deletes in one request. The server applies them in order, each on its own.
+     *
+     * @return one result per write, in the same order
+     */
+    public List<UpstreamWriteResult> applyBatch(List<UpstreamWrite> writes) {
+        List<Map<String, Object>> body = new ArrayList<>(writes.size());
+        for (UpstreamWrite write : writes) {
+            Map<String, Object> operation = new LinkedHashMap<>();
+            operation.put("type", write.type());
+            if (write.type() == UpstreamWrite.Type.CREATE) {
+                operation.put("create", createBody(UUID.fromString(write.id()), write.input()));
+            } else {
+                operation.put("id", write.id());
+            }
+            body.add(operation);
+        }
+        HttpRequest request = request("/batch")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(write(body)))
+                .build();
+        List<BatchResult> results = send(request, BATCH_RESULTS).data();
+        if (results == null || results.size() != writes.size()) {
+            throw new UpstreamException("Batch of " + writes.size() + " writes to " + request.uri()
+                    + " returned " + (results == null ? 0 : results.size()) + " results", 0);
+        }
+        return results.stream()
+                .map(result -> new UpstreamWriteResult(
+                        result.status(),
+                        result.employee() == null ? null : result.employee().toEmployee(),
+                        result.error()))
+                .toList();
+    }
+
+    /**
+     * @return false if the upstream did not know the employee
+     */
+    public boolean delete(String id) {
+        return Boolean.TRUE.equals(send(request("/" + encode(id)).DELETE().build(), BOOLEAN).data());
+    }
+
+    private Map<String, Object> createBody(UUID id, EmployeeDTO input) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        if (id != null) {
+            body.put("id", id);
+        }
+        body.put("name", input.getName());
+        body.put("salary", input.getSalary());
+        body.put("age", input.getAge() != null ? input.getAge() : properties.getDefaultAge());
+        body.put("title", input.getTitle() != null ? input.getTitle() : properties.getDefaultTitle());
+        return body;
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                // A call the caller can no longer use is not sent, and one in flight is aborted at the deadline
+                .timeout(Deadline.cap(properties.getRequestTimeout(), "calling the upstream"))
+                .header("Accept", "application/json");
+    }
+
+    private <T> T send(HttpRequest request, TypeReference<T> type) {
+        HttpResponse<byte[]> response;
+        try {
+            response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (HttpTimeoutException e) {
+            // Timed out because the caller's deadline shortened the timeout, which says nothing about the upstream
+            Deadline.check(request.method() + " " + request.uri());
+            throw new UpstreamException(request.method() + " " + request.uri() + " failed: " + e.getMessage(), e);
+        } catch (IOException e) {
+            throw new UpstreamException(request.method() + " " + request.uri() + " failed: " + e.getMessage(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamException(request.method() + " " + request.uri() + " was interrupted", e);
+        }
+        if (response.statusCode() >= 400) {
+            log.debug("{} {} returned {}", request.method(), request.uri(), response.statusCode());
+            throw new UpstreamException(
+                    request.method() + " " + request.uri() + " returned " + response.statusCode(),
+                    response.statusCode());
+        }
+        try {
+            return objectMapper.readValue(response.body(), type);
+        } catch (IOException e) {
+            throw new UpstreamException("Unreadable response from " + request.uri(), e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
+    private byte[] write(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to serialize upstream request", e);
+        }
+    }
+}
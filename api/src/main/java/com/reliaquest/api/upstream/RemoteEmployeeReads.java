@@ -0,0 +1,27 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Read operations answered by the upstream itself rather than by the api's local copy.
+ * See {@link EmployeeUpstream#remoteReads()}.
+ */
+public interface RemoteEmployeeReads {
+
+    List<Employee> getAllEmployees();
+
+    List<Employee> searchEmployees(String search);
+
+    /**
+     * @return employees within {@code maxDistance} edits of every word of the search, closest first
+     */
+    List<Employee> searchEmployeesFuzzy(String search, int maxDistance);
+
+    Optional<Employee> getEmployeeById(String id);
+
+    int getHighestSalary();
+
+    List<String> getTopTenHighestSalaries();
+}
@@ -0,0 +1,217 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * {@link EmployeeUpstream} backed by the mock server, with every call guarded by a per-endpoint {@link Bulkhead}
+ * and a shared {@link CircuitBreaker}.
+ *
+ * <p>Rejected calls fail fast with {@link UpstreamUnavailableException} instead of queueing on a struggling
+ * upstream. Reads keep working in the meantime because they are served from the api's local store.
+ *
+ * <p>With write batching enabled, creates and deletes are gathered by a {@link WriteCoalescer} and sent as one
+ * batch call, which takes one bulkhead slot and counts as one call for the circuit breaker.
+ *
+ * <p>Each instance guards one mock server; {@link ShardedEmployeeUpstream} combines several of them.
+ */
+public class ResilientEmployeeUpstream implements EmployeeUpstream, AutoCloseable {
+
+    public static final String GET_ALL = "getAll";
+    public static final String CREATE = "create";
+    public static final String DELETE = "delete";
+    public static final String GET_BY_ID = "getById";
+    public static final String SEARCH = "search";
+    public static final String HIGHEST_SALARY = "highestSalary";
+    public static final String TOP_EARNERS = "topEarners";
+    public static final String BATCH = "batch";
+
+    private final MockEmployeeClient client;
+    private final CircuitBreaker circuitBreaker;
+    private final Map<String, Bulkhead> bulkheads = new LinkedHashMap<>();
+    // Null when every write is its own call
+    private final WriteCoalescer writeCoalescer;
+
+    public ResilientEmployeeUpstream(
+            MockEmployeeClient client, CircuitBreaker circuitBreaker, UpstreamProperties.BulkheadSettings bulkhead) {
+        this(client, circuitBreaker, bulkhead, new UpstreamProperties.WriteBatchingSettings());
+    }
+
+    public ResilientEmployeeUpstream(
+            MockEmployeeClient client,
+            CircuitBreaker circuitBreaker,
+            UpstreamProperties.BulkheadSettings bulkhead,
+            UpstreamProperties.WriteBatchingSettings writeBatching) {
+        this.client = client;
+        this.circuitBreaker = circuitBreaker;
+        for (String endpoint :
+                List.of(GET_ALL, CREATE, DELETE, GET_BY_ID, SEARCH, HIGHEST_SALARY, TOP_EARNERS, BATCH)) {
+            bulkheads.put(
+                    endpoint,
+                    new Bulkhead(endpoint, bulkhead.getMaxConcurrentCalls(), bulkhead.getMaxWaitDuration()));
+        }
+        this.writeCoalescer = writeBatching.isEnabled()
+                ? new WriteCoalescer(
+                        this::applyBatch,
+                        writeBatching.getWindow(),
+                        writeBatching.getMaxBatchSize(),
+                        circuitBreaker.getName())
+                : null;
+    }
+
+    public URI getBaseUrl() {
+        return client.getBaseUrl();
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public Collection<Bulkhead> getBulkheads() {
+        return bulkheads.values();
+    }
+
+    /**
+     * @return the coalescer batching this server's writes, or null if write batching is disabled
+     */
+    public WriteCoalescer getWriteCoalescer() {
+        return writeCoalescer;
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public List<Employee> fetchAll() {
+        return call(GET_ALL, client::getAll);
+    }
+
+    List<UpstreamEmployee> fetchAllRecords() {
+        return call(GET_ALL, client::getAllRecords);
+    }
+
+    public Optional<Employee> fetchById(String id) {
+        return call(GET_BY_ID, () -> client.getById(id));
+    }
+
+    public List<Employee> search(String fragment) {
+        return call(SEARCH, () -> client.search(fragment));
+    }
+
+    public List<Employee> searchFuzzy(String search, int maxDistance) {
+        return call(SEARCH, () -> client.searchFuzzy(search, maxDistance));
+    }
+
+    public int fetchHighestSalary() {
+        return call(HIGHEST_SALARY, client::getHighestSalary);
+    }
+
+    public List<Employee> fetchTopEarners(int limit) {
+        return call(TOP_EARNERS, () -> client.getTopEarners(limit));
+    }
+
+    @Override
+    public Employee create(UUID id, EmployeeDTO input) {
+        if (writeCoalescer != null) {
+            return coalesced(UpstreamWrite.create(id, input)).employee();
+        }
+        // The mock server keeps the proposed ID, which is what places the employee on the right shard
+        return call(CREATE, () -> client.create(id, input));
+    }
+
+    @Override
+    public void delete(String id) {
+        deleteIfPresent(id);
+    }
+
+    /**
+     * @return false if the upstream did not know the employee
+     */
+    public boolean deleteIfPresent(String id) {
+        if (writeCoalescer != null) {
+            return coalesced(UpstreamWrite.delete(id)).status() == UpstreamWriteResult.Status.DELETED;
+        }
+        return call(DELETE, () -> client.delete(id));
+    }
+
+    /**
+     * Sends the writes as one call.
+     *
+     * @return one result per write, in the same order
+     */
+    public List<UpstreamWriteResult> applyBatch(List<UpstreamWrite> writes) {
+        return call(BATCH, () -> client.applyBatch(writes));
+    }
+
+    @Override
+    public void close() {
+        if (writeCoalescer != null) {
+            writeCoalescer.close();
+        }
+    }
+
+    /**
+     * Waits for the write's batch and turns its individual failure into the exception a single call would throw.
+     */
+    private UpstreamWriteResult coalesced(UpstreamWrite write) {
+        UpstreamWriteResult result;
+        try {
+            // The write may still be sent with its batch; only this caller stops waiting for it
+            result = Deadline.join(writeCoalescer.submit(write), write.type() + " " + write.id());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        if (result.status() == UpstreamWriteResult.Status.FAILED) {
+            // The server rejected this write alone, as it would have answered a single call with 400
+            throw new UpstreamException(
+                    write.type() + " " + write.id() + " was rejected by the upstream: " + result.error(), 400);
+        }
+        return result;
+    }
+
+    private <T> T call(String endpoint, Supplier<T> upstreamCall) {
+        Bulkhead bulkhead = bulkheads.get(endpoint);
+        if (!bulkhead.tryAcquire()) {
+            throw new UpstreamUnavailableException("Too many concurrent upstream " + endpoint + " calls");
+        }
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                throw new UpstreamUnavailableException("Upstream circuit breaker is " + circuitBreaker.getState());
+            }
+            long start = System.nanoTime();
+            try {
+                T result = upstreamCall.get();
+                circuitBreaker.onSuccess(Duration.ofNanos(System.nanoTime() - start));
+                return result;
+            } catch (UpstreamException e) {
+                if (e.isUpstreamFault()) {
+                    circuitBreaker.onError(Duration.ofNanos(System.nanoTime() - start));
+                } else {
+                    circuitBreaker.onSuccess(Duration.ofNanos(System.nanoTime() - start));
+                }
+                throw e;
+            } catch (RuntimeException e) {
+                circuitBreaker.onIgnored();
+                throw e;
+            }
+        } finally {
+            bulkhead.release();
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.DeadlineExceededException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.common.search.FuzzyNameIndex;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link EmployeeUpstream} that spreads employees over several mock servers by consistent hashing on the employee
+ * ID.
+ *
+ * <p>Creates, deletes and lookups by ID go to the one server that owns the ID. Everything else is scattered to all
+ * servers in parallel and gathered here: the list and search results are concatenated, fuzzy search results are
+ * merged by edit distance, the highest salary is the maximum of the per-server maxima, and the top ten is merged
+ * from every server's own top ten, which is enough because the overall top ten can only contain employees that are
+ * in the top ten of their server.
+ *
+ * <p>Each server is guarded by its own {@link ResilientEmployeeUpstream}, so one failing server trips only its own
+ * circuit breaker. A scattered read needs every server and fails if any of them does.
+ *
+ * <p>{@link #addShard(ResilientEmployeeUpstream)} moves the employees the new server now owns: each one is first
+ * created on its new owner, under the same ID, and only then deleted from its old one. Until the move finishes,
+ * lookups and deletes that miss on the owner fall back to the other servers. Moving an employee and deleting it
+ * hold the same lock, and a move whose source no longer has the employee undoes its create, so a delete that comes
+ * during the move cannot be undone by it.
+ */
+public class ShardedEmployeeUpstream implements EmployeeUpstream, RemoteEmployeeReads, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardedEmployeeUpstream.class);
+
+    private static final int TOP_TEN = 10;
+
+    private static final int ID_LOCK_STRIPES = 64;
+
+    private final int virtualNodes;
+    private final boolean readThrough;
+    private final ExecutorService executor;
+
+    private volatile ConsistentHashRing<ResilientEmployeeUpstream> ring;
+
+    /*
+     * Number of rebalances in progress; while positive, placement by the ring is not yet authoritative.
+     */
+    private final AtomicInteger rebalancing = new AtomicInteger();
+
+    /*
+     * Serializes deleting an employee with moving it, by ID.
+     */
+    private final Object[] idLocks = new Object[ID_LOCK_STRIPES];
+
+    /**
+     * @param shards the servers, at least one
+     * @param virtualNodes points per server on the hash ring
+     * @param readThrough whether reads are answered by the servers rather than the api's local copy
+     */
+    public ShardedEmployeeUpstream(List<ResilientEmployeeUpstream> shards, int virtualNodes, boolean readThrough) {
+        this.virtualNodes = virtualNodes;
+        this.readThrough = readThrough;
+        this.ring = new ConsistentHashRing<>(shards, ShardedEmployeeUpstream::shardName, virtualNodes);
+        for (int i = 0; i < idLocks.length; i++) {
+            idLocks[i] = new Object();
+        }
+        AtomicInteger threads = new AtomicInteger();
+        // Every call is bounded by its shard's bulkhead and timeout, so the pool cannot grow without limit
+        this.executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "shard-gather-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public List<ResilientEmployeeUpstream> getShards() {
+        return ring.getNodes();
+    }
+
+    public boolean hasShard(URI baseUrl) {
+        return ring.getNodes().stream().anyMatch(shard -> shard.getBaseUrl().equals(baseUrl));
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    @Override
+    public boolean isRemote() {
+        return true;
+    }
+
+    @Override
+    public Optional<RemoteEmployeeReads> remoteReads() {
+        return readThrough ? Optional.of(this) : Optional.empty();
+    }
+
+    @Override
+    public List<Employee> fetchAll() {
+        return concat(ResilientEmployeeUpstream::fetchAll);
+    }
+
+    @Override
+    public Employee create(UUID id, EmployeeDTO input) {
+        return ring.nodeFor(id.toString()).create(id, input);
+    }
+
+    @Override
+    public void delete(String id) {
+        synchronized (idLock(id)) {
+            ResilientEmployeeUpstream owner = ring.nodeFor(id);
+            if (owner.deleteIfPresent(id) || rebalancing.get() == 0) {
+                return;
+            }
+            for (ResilientEmployeeUpstream shard : ring.getNodes()) {
+                if (shard != owner && shard.deleteIfPresent(id)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<Employee> getAllEmployees() {
+        return fetchAll();
+    }
+
+    @Override
+    public List<Employee> searchEmployees(String search) {
+        return concat(shard -> shard.search(search));
+    }
+
+    @Override
+    public List<Employee> searchEmployeesFuzzy(String search, int maxDistance) {
+        // Each server orders its own matches; the merged list is ordered again by the same rule
+        return FuzzyNameIndex.rank(
+                search,
+                maxDistance,
+                concat(shard -> shard.searchFuzzy(search, maxDistance)),
+                Employee::getId,
+                Employee::getName);
+    }
+
+    @Override
+    public Optional<Employee> getEmployeeById(String id) {
+        ResilientEmployeeUpstream owner = ring.nodeFor(id);
+        Optional<Employee> employee = owner.fetchById(id);
+        if (employee.isPresent() || rebalancing.get() == 0) {
+            return employee;
+        }
+        return ring.getNodes().stream()
+                .filter(shard -> shard != owner)
+                .map(shard -> shard.fetchById(id))
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    @Override
+    public int getHighestSalary() {
+        return gather(ResilientEmployeeUpstream::fetchHighestSalary).stream()
+                .mapToInt(Integer::intValue)
+                .max()
+                .orElse(0);
+    }
+
+    @Override
+    public List<String> getTopTenHighestSalaries() {
+        return concat(shard -> shard.fetchTopEarners(TOP_TEN)).stream()
+                .sorted(Comparator.comparingInt(Employee::getSalary).reversed())
+                .limit(TOP_TEN)
+                .map(Employee::getName)
+                .toList();
+    }
+
+    /**
+     * Adds a server and moves to it the employees it now owns. The shards on the ring are owned by this upstream and
+     * closed with it. Adding a server that is already part of the ring closes the given upstream, which is not used,
+     * and only repeats the move, which completes one that failed.
+     *
+     * @param shard the new server
+     * @return the number of employees moved
+     */
+    public synchronized int addShard(ResilientEmployeeUpstream shard) {
+        String name = shardName(shard);
+        if (ring.getNodes().stream().anyMatch(existing -> shardName(existing).equals(name))) {
+            shard.close();
+            return rebalance();
+        }
+        rebalancing.incrementAndGet();
+        try {
+            // Route new writes to the new owner before moving the existing employees
+            ring = ring.with(shard);
+            return rebalance();
+        } finally {
+            rebalancing.decrementAndGet();
+        }
+    }
+
+    /**
+     * Moves every employee that is not on the server owning its ID, for example after the shard list changed
+     * between restarts. Safe to repeat after a failure: creating an ID that already exists is a no-op upstream.
+     *
+     * @return the number of employees moved
+     */
+    public synchronized int rebalance() {
+        rebalancing.incrementAndGet();
+        try {
+            int moved = 0;
+            for (ResilientEmployeeUpstream source : ring.getNodes()) {
+                for (UpstreamEmployee employee : source.fetchAllRecords()) {
+                    ResilientEmployeeUpstream owner = ring.nodeFor(employee.id().toString());
+                    if (owner != source && move(employee, source, owner)) {
+                        moved++;
+                    }
+                }
+            }
+            log.info("Rebalanced {} employees across {} shards", moved, ring.getNodes().size());
+            return moved;
+        } finally {
+            rebalancing.decrementAndGet();
+        }
+    }
+
+    /**
+     * Copies the employee to its owner and deletes it from its source. If the employee was deleted since the source
+     * listed it, the copy is deleted again.
+     *
+     * @return false if the employee was deleted before it could be moved
+     */
+    private boolean move(UpstreamEmployee employee, ResilientEmployeeUpstream source, ResilientEmployeeUpstream owner) {
+        String id = employee.id().toString();
+        synchronized (idLock(id)) {
+            owner.create(employee.id(), employee.toEmployeeDTO());
+            if (source.deleteIfPresent(id)) {
+                return true;
+            }
+            owner.deleteIfPresent(id);
+            return false;
+        }
+    }
+
+    private Object idLock(String id) {
+        return idLocks[Math.floorMod(id.hashCode(), idLocks.length)];
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        ring.getNodes().forEach(ResilientEmployeeUpstream::close);
+    }
+
+    private <T> List<T> concat(Function<ResilientEmployeeUpstream, List<T>> call) {
+        List<T> merged = new ArrayList<>();
+        gather(call).forEach(merged::addAll);
+        return merged;
+    }
+
+    /**
+     * Runs the call on every shard in parallel and waits for all of them.
+     * The first failure is rethrown as is, so that callers see the same exceptions as from a single server.
+     * The calls run under the caller's deadline, and the wait ends at it.
+     */
+    private <T> List<T> gather(Function<ResilientEmployeeUpstream, T> call) {
+        List<ResilientEmployeeUpstream> shards = ring.getNodes();
+        if (shards.size() == 1) {
+            return List.of(call.apply(shards.get(0)));
+        }
+        List<CompletableFuture<T>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(Deadline.propagate(() -> call.apply(shard)), executor))
+                .toList();
+        try {
+            return futures.stream()
+                    .map(future -> Deadline.join(future, "gathering from " + shards.size() + " shards"))
+                    .toList();
+        } catch (CompletionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        } catch (DeadlineExceededException e) {
+            futures.forEach(future -> future.cancel(true));
+            throw e;
+        }
+    }
+
+    private static String shardName(ResilientEmployeeUpstream shard) {
+        return shard.getBaseUrl().toString();
+    }
+}
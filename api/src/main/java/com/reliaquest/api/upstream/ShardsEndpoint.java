@@ -0,0 +1,71 @@
+package com.reliaquest.api.upstream;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * Actuator endpoint listing the mock servers employees are sharded over, and adding one at runtime.
+ *
+ * <pre>
+ * GET  /actuator/shards
+ * POST /actuator/shards  {"baseUrl": "http://localhost:8113/api/v1/employee"}
+ * </pre>
+ *
+ * Adding a server moves the employees it now owns before the call returns. If the move fails part way, posting the
+ * same server again completes it.
+ */
+@Endpoint(id = "shards")
+public class ShardsEndpoint {
+
+    private final ShardedEmployeeUpstream upstream;
+    private final UpstreamMetrics metrics;
+    private final Function<URI, ResilientEmployeeUpstream> shardFactory;
+
+    public ShardsEndpoint(
+            ShardedEmployeeUpstream upstream,
+            UpstreamMetrics metrics,
+            Function<URI, ResilientEmployeeUpstream> shardFactory) {
+        this.upstream = upstream;
+        this.metrics = metrics;
+        this.shardFactory = shardFactory;
+    }
+
+    @ReadOperation
+    public Map<String, Object> shards() {
+        List<Map<String, Object>> shards = upstream.getShards().stream()
+                .map(shard -> Map.<String, Object>of(
+                        "baseUrl", shard.getBaseUrl().toString(),
+                        "circuitBreaker", shard.getCircuitBreaker().getState().name()))
+                .toList();
+        return Map.of("virtualNodes", upstream.getVirtualNodes(), "shards", shards);
+    }
+
+    /*
+     * A known server only has its move repeated, so no upstream, with its write batching thread, is made for it. A
+     * concurrent request adding the same server may still win the race, and the upstream made here is then closed
+     * by the sharded upstream instead of being added.
+     */
+    @WriteOperation
+    public Map<String, Object> addShard(String baseUrl) {
+        URI uri = URI.create(baseUrl);
+        if (upstream.hasShard(uri)) {
+            return Map.of("added", baseUrl, "moved", upstream.rebalance());
+        }
+        ResilientEmployeeUpstream shard = shardFactory.apply(uri);
+        int moved;
+        try {
+            moved = upstream.addShard(shard);
+        } finally {
+            // The server joins the ring before its employees move, so it is published even if the move fails
+            if (upstream.getShards().contains(shard)) {
+                metrics.bindShard(shard);
+            }
+        }
+        return Map.of("added", baseUrl, "moved", moved);
+    }
+}
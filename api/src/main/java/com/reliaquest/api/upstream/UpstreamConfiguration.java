@@ -0,0 +1,98 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(UpstreamProperties.class)
+public class UpstreamConfiguration {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamConfiguration.class);
+
+    @Bean
+    @ConditionalOnProperty(
+            prefix = "employee.upstream",
+            name = "enabled",
+            havingValue = "false",
+            matchIfMissing = true)
+    public EmployeeUpstream localEmployeeUpstream() {
+        return EmployeeUpstream.LOCAL;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.upstream", name = "enabled", havingValue = "true")
+    public HttpClient upstreamHttpClient(UpstreamProperties properties) {
+        return HttpClient.newBuilder()
+                .connectTimeout(properties.getConnectTimeout())
+                .build();
+    }
+
+    /*
+     * A single server is a ring of one, so there is one code path whether or not shards are configured.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.upstream", name = "enabled", havingValue = "true")
+    public ShardedEmployeeUpstream shardedEmployeeUpstream(
+            HttpClient upstreamHttpClient, ObjectMapper objectMapper, UpstreamProperties properties) {
+        List<ResilientEmployeeUpstream> shards = properties.effectiveShards().stream()
+                .map(baseUrl -> shard(upstreamHttpClient, objectMapper, properties, baseUrl))
+                .toList();
+        return new ShardedEmployeeUpstream(shards, properties.getVirtualNodes(), properties.isReadThrough());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.upstream", name = "enabled", havingValue = "true")
+    public UpstreamMetrics upstreamMetrics(ShardedEmployeeUpstream upstream) {
+        return new UpstreamMetrics(upstream);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.upstream", name = "enabled", havingValue = "true")
+    public ShardsEndpoint shardsEndpoint(
+            ShardedEmployeeUpstream upstream,
+            UpstreamMetrics upstreamMetrics,
+            HttpClient upstreamHttpClient,
+            ObjectMapper objectMapper,
+            UpstreamProperties properties) {
+        return new ShardsEndpoint(
+                upstream, upstreamMetrics, baseUrl -> shard(upstreamHttpClient, objectMapper, properties, baseUrl));
+    }
+
+    /*
+     * Runs before the application reports ready, so lookups by ID find every employee on its owning shard.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "employee.upstream", name = "enabled", havingValue = "true")
+    public ApplicationRunner shardRebalancer(ShardedEmployeeUpstream upstream, UpstreamProperties properties) {
+        return arguments -> {
+            if (!properties.isRebalanceOnStartup() || upstream.getShards().size() < 2) {
+                return;
+            }
+            try {
+                upstream.rebalance();
+            } catch (UpstreamUnavailableException | UpstreamException e) {
+                log.warn("Startup rebalance failed, retry through /actuator/shards: {}", e.getMessage());
+            }
+        };
+    }
+
+    private static ResilientEmployeeUpstream shard(
+            HttpClient httpClient, ObjectMapper objectMapper, UpstreamProperties properties, URI baseUrl) {
+        return new ResilientEmployeeUpstream(
+                new MockEmployeeClient(httpClient, objectMapper, properties, baseUrl),
+                new CircuitBreaker(baseUrl.getAuthority(), properties.getCircuitBreaker()),
+                properties.getBulkhead(),
+                properties.getWriteBatching());
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.upstream;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.UUID;
+
+/**
+ * Wire representation of an employee on the mock server, whose attributes are prefixed with {@code employee_}.
+ */
+record UpstreamEmployee(
+        UUID id,
+        @JsonProperty("employee_name") String name,
+        @JsonProperty("employee_salary") Integer salary,
+        @JsonProperty("employee_age") Integer age,
+        @JsonProperty("employee_title") String title,
+        @JsonProperty("employee_email") String email) {
+
+    Employee toEmployee() {
+        return new Employee(id, name, salary);
+    }
+
+    EmployeeDTO toEmployeeDTO() {
+        EmployeeDTO input = new EmployeeDTO(name, salary);
+        input.setAge(age);
+        input.setTitle(title);
+        return input;
+    }
+}
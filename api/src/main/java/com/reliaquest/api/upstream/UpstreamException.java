@@ -0,0 +1,34 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * A call to the mock employee server failed or returned an error status.
+ */
+public class UpstreamException extends RuntimeException {
+
+    private final int statusCode;
+
+    public UpstreamException(String message, int statusCode) {
+        super(message);
+        this.statusCode = statusCode;
+    }
+
+    public UpstreamException(String message, Throwable cause) {
+        super(message, cause);
+        this.statusCode = 0;
+    }
+
+    /**
+     * HTTP status returned by the upstream, or 0 when no response was received.
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Whether the failure says the upstream is unhealthy (no response, throttled, or a server error), as
+     * opposed to a rejection of this particular request.
+     */
+    public boolean isUpstreamFault() {
+        return statusCode == 0 || statusCode == 429 || statusCode >= 500;
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.upstream;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Locale;
+
+/**
+ * Publishes circuit breaker state, state transitions and rejections, and bulkhead usage, per shard.
+ * The breaker state gauge reports the ordinal of {@link CircuitBreaker.State}: 0 closed, 1 open, 2 half-open.
+ * Breakers are named after the shard's host and port, which also tags its bulkheads and write batches.
+ */
+public class UpstreamMetrics implements MeterBinder {
+
+    private final ShardedEmployeeUpstream upstream;
+
+    private volatile MeterRegistry registry;
+
+    public UpstreamMetrics(ShardedEmployeeUpstream upstream) {
+        this.upstream = upstream;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        this.registry = registry;
+        upstream.getShards().forEach(shard -> bindShard(registry, shard));
+    }
+
+    /**
+     * Publishes the meters of a shard added after startup.
+     */
+    public void bindShard(ResilientEmployeeUpstream shard) {
+        MeterRegistry current = registry;
+        if (current != null) {
+            bindShard(current, shard);
+        }
+    }
+
+    private static void bindShard(MeterRegistry registry, ResilientEmployeeUpstream shard) {
+        CircuitBreaker circuitBreaker = shard.getCircuitBreaker();
+        Gauge.builder("upstream.circuitbreaker.state", circuitBreaker, breaker -> breaker.getState().ordinal())
+                .tag("name", circuitBreaker.getName())
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open")
+                .register(registry);
+        for (CircuitBreaker.State state : CircuitBreaker.State.values()) {
+            FunctionCounter.builder(
+                            "upstream.circuitbreaker.transitions",
+                            circuitBreaker,
+                            breaker -> breaker.getTransitionCount(state))
+                    .tag("name", circuitBreaker.getName())
+                    .tag("state", state.name().toLowerCase(Locale.ROOT))
+                    .description("Transitions into the tagged state")
+                    .register(registry);
+        }
+        FunctionCounter.builder(
+                        "upstream.circuitbreaker.not.permitted",
+                        circuitBreaker,
+                        CircuitBreaker::getNotPermittedCount)
+                .tag("name", circuitBreaker.getName())
+                .description("Calls rejected while the circuit breaker was open or half-open")
+                .register(registry);
+
+        for (Bulkhead bulkhead : shard.getBulkheads()) {
+            FunctionCounter.builder("upstream.bulkhead.rejected", bulkhead, Bulkhead::getRejectedCount)
+                    .tag("name", circuitBreaker.getName())
+                    .tag("endpoint", bulkhead.getName())
+                    .description("Calls rejected because the endpoint's concurrency limit was reached")
+                    .register(registry);
+            Gauge.builder("upstream.bulkhead.available", bulkhead, Bulkhead::getAvailableConcurrentCalls)
+                    .tag("name", circuitBreaker.getName())
+                    .tag("endpoint", bulkhead.getName())
+                    .description("Free concurrent call slots for the endpoint")
+                    .register(registry);
+        }
+
+        WriteCoalescer writeCoalescer = shard.getWriteCoalescer();
+        if (writeCoalescer != null) {
+            FunctionCounter.builder("upstream.batch.requests", writeCoalescer, WriteCoalescer::getBatchCount)
+                    .tag("name", circuitBreaker.getName())
+                    .description("Batch calls sent, each carrying one or more writes")
+                    .register(registry);
+            FunctionCounter.builder("upstream.batch.writes", writeCoalescer, WriteCoalescer::getWriteCount)
+                    .tag("name", circuitBreaker.getName())
+                    .description("Creates and deletes sent in batch calls")
+                    .register(registry);
+        }
+    }
+}
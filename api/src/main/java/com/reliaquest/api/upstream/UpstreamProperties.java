@@ -0,0 +1,276 @@
+package com.reliaquest.api.upstream;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the mock employee server that backs the api when {@code employee.upstream.enabled} is true.
+ */
+@ConfigurationProperties(prefix = "employee.upstream")
+public class UpstreamProperties {
+
+    private boolean enabled;
+    private URI baseUrl = URI.create("http://localhost:8112/api/v1/employee");
+    private Duration connectTimeout = Duration.ofSeconds(2);
+    private Duration requestTimeout = Duration.ofSeconds(5);
+    private Duration refreshInterval = Duration.ofSeconds(30);
+
+    // Base URLs of several mock servers to spread employees over; when empty, baseUrl is the only server
+    private List<URI> shards = new ArrayList<>();
+    private int virtualNodes = 128;
+    private boolean readThrough;
+    // Mock servers generate their own employees on startup, which are not on the shard that owns their ID
+    private boolean rebalanceOnStartup = true;
+
+    // The mock server requires age and title, which the api's EmployeeDTO does not always carry
+    private int defaultAge = 30;
+    private String defaultTitle = "Employee";
+
+    private final CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+    private final BulkheadSettings bulkhead = new BulkheadSettings();
+    private final WriteBatchingSettings writeBatching = new WriteBatchingSettings();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    public void setBaseUrl(URI baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public void setConnectTimeout(Duration connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public void setRequestTimeout(Duration requestTimeout) {
+        this.requestTimeout = requestTimeout;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    public List<URI> getShards() {
+        return shards;
+    }
+
+    public void setShards(List<URI> shards) {
+        this.shards = shards;
+    }
+
+    /**
+     * The configured shards, or {@link #getBaseUrl()} alone if none are.
+     */
+    public List<URI> effectiveShards() {
+        return shards.isEmpty() ? List.of(baseUrl) : shards;
+    }
+
+    public int getVirtualNodes() {
+        return virtualNodes;
+    }
+
+    public void setVirtualNodes(int virtualNodes) {
+        this.virtualNodes = virtualNodes;
+    }
+
+    public boolean isReadThrough() {
+        return readThrough;
+    }
+
+    public void setReadThrough(boolean readThrough) {
+        this.readThrough = readThrough;
+    }
+
+    public boolean isRebalanceOnStartup() {
+        return rebalanceOnStartup;
+    }
+
+    public void setRebalanceOnStartup(boolean rebalanceOnStartup) {
+        this.rebalanceOnStartup = rebalanceOnStartup;
+    }
+
+    public int getDefaultAge() {
+        return defaultAge;
+    }
+
+    public void setDefaultAge(int defaultAge) {
+        this.defaultAge = defaultAge;
+    }
+
+    public String getDefaultTitle() {
+        return defaultTitle;
+    }
+
+    public void setDefaultTitle(String defaultTitle) {
+        this.defaultTitle = defaultTitle;
+    }
+
+    public CircuitBreakerSettings getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public BulkheadSettings getBulkhead() {
+        return bulkhead;
+    }
+
+    public WriteBatchingSettings getWriteBatching() {
+        return writeBatching;
+    }
+
+    public static class CircuitBreakerSettings {
+
+        /** Number of most recent calls the failure and slow-call rates are computed over. */
+        private int slidingWindowSize = 20;
+
+        /** Calls required in the window before the rates are evaluated. */
+        private int minimumNumberOfCalls = 10;
+
+        private float failureRateThreshold = 50;
+        private float slowCallRateThreshold = 80;
+        private Duration slowCallDurationThreshold = Duration.ofSeconds(2);
+
+        /** Matches the lower end of the mock server's rate limit backoff. */
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+
+        private int permittedCallsInHalfOpenState = 3;
+
+        public int getSlidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        public void setSlidingWindowSize(int slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+        }
+
+        public int getMinimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        public void setMinimumNumberOfCalls(int minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+        }
+
+        public float getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(float failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public float getSlowCallRateThreshold() {
+            return slowCallRateThreshold;
+        }
+
+        public void setSlowCallRateThreshold(float slowCallRateThreshold) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+        }
+
+        public Duration getSlowCallDurationThreshold() {
+            return slowCallDurationThreshold;
+        }
+
+        public void setSlowCallDurationThreshold(Duration slowCallDurationThreshold) {
+            this.slowCallDurationThreshold = slowCallDurationThreshold;
+        }
+
+        public Duration getWaitDurationInOpenState() {
+            return waitDurationInOpenState;
+        }
+
+        public void setWaitDurationInOpenState(Duration waitDurationInOpenState) {
+            this.waitDurationInOpenState = waitDurationInOpenState;
+        }
+
+        public int getPermittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        public void setPermittedCallsInHalfOpenState(int permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+        }
+    }
+
+    public static class BulkheadSettings {
+
+        /** Concurrent upstream calls allowed per endpoint. */
+        private int maxConcurrentCalls = 4;
+
+        /** How long a caller may wait for a free slot before being rejected. */
+        private Duration maxWaitDuration = Duration.ZERO;
+
+        public int getMaxConcurrentCalls() {
+            return maxConcurrentCalls;
+        }
+
+        public void setMaxConcurrentCalls(int maxConcurrentCalls) {
+            this.maxConcurrentCalls = maxConcurrentCalls;
+        }
+
+        public Duration getMaxWaitDuration() {
+            return maxWaitDuration;
+        }
+
+        public void setMaxWaitDuration(Duration maxWaitDuration) {
+            this.maxWaitDuration = maxWaitDuration;
+        }
+    }
+
+    public static class WriteBatchingSettings {
+
+        /** Whether creates and deletes are gathered into batches rather than sent one call each. */
+        private boolean enabled;
+
+        /** How long a batch keeps collecting writes after its first one arrived. */
+        private Duration window = Duration.ofMillis(2);
+
+        private int maxBatchSize = 100;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+    }
+}
@@ -0,0 +1,6 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * Envelope the mock server wraps its payloads in.
+ */
+record UpstreamResponse<T>(T data, String status, String error) {}
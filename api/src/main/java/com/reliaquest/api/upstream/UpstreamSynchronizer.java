@@ -0,0 +1,42 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.warmup.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically refreshes the api's local store from the upstream. When the upstream is unavailable the previous
+ * data is kept and keeps being served. The first load is left to the warm-up, which retries it with backoff.
+ */
+@Component
+@ConditionalOnProperty(prefix = "employee.upstream", name = "enabled", havingValue = "true")
+public class UpstreamSynchronizer {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamSynchronizer.class);
+
+    private final EmployeeService service;
+    private final ObjectProvider<Warmup> warmup;
+
+    public UpstreamSynchronizer(EmployeeService service, ObjectProvider<Warmup> warmup) {
+        this.service = service;
+        this.warmup = warmup;
+    }
+
+    @Scheduled(fixedDelayString = "${employee.upstream.refresh-interval:PT30S}")
+    public void refresh() {
+        Warmup current = warmup.getIfAvailable();
+        if (current != null && !current.isLoaded()) {
+            return;
+        }
+        try {
+            service.refreshFromUpstream();
+        } catch (UpstreamUnavailableException | UpstreamException e) {
+            log.warn("Upstream refresh failed, serving last known good data: {}", e.getMessage());
+        }
+    }
+}
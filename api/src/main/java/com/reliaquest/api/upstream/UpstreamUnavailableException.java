@@ -0,0 +1,11 @@
+package com.reliaquest.api.upstream;
+
+/**
+ * The upstream call was not attempted because the circuit breaker is open or the bulkhead is full.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
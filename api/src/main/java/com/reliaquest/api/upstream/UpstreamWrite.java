@@ -0,0 +1,27 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.util.UUID;
+
+/**
+ * One create or delete sent to the mock server as part of a batch.
+ *
+ * @param type what to do
+ * @param id the ID to create the employee under, or of the employee to delete
+ * @param input the attributes of the employee to create; null for a delete
+ */
+public record UpstreamWrite(Type type, String id, EmployeeDTO input) {
+
+    public enum Type {
+        CREATE,
+        DELETE
+    }
+
+    public static UpstreamWrite create(UUID id, EmployeeDTO input) {
+        return new UpstreamWrite(Type.CREATE, id.toString(), input);
+    }
+
+    public static UpstreamWrite delete(String id) {
+        return new UpstreamWrite(Type.DELETE, id, null);
+    }
+}
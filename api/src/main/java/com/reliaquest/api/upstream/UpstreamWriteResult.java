@@ -0,0 +1,32 @@
+package com.reliaquest.api.upstream;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Outcome of one {@link UpstreamWrite} of a batch; the writes of a batch succeed or fail independently.
+ *
+ * @param status what happened
+ * @param employee the created employee, for a create
+ * @param error why the write failed, for a failure
+ */
+public record UpstreamWriteResult(Status status, Employee employee, String error) {
+
+    public enum Status {
+        CREATED,
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+
+    public static UpstreamWriteResult created(Employee employee) {
+        return new UpstreamWriteResult(Status.CREATED, employee, null);
+    }
+
+    public static UpstreamWriteResult deleted(boolean found) {
+        return new UpstreamWriteResult(found ? Status.DELETED : Status.NOT_FOUND, null, null);
+    }
+
+    public static UpstreamWriteResult failed(String error) {
+        return new UpstreamWriteResult(Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,156 @@
+package com.reliaquest.api.upstream;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Gathers concurrent upstream writes and sends them as one batch, completing each caller's future with its own
+ * result.
+ *
+ * <p>A single thread sends the batches. It waits for a first write, then keeps collecting for the configured window
+ * or until the batch is full, and sends. Writes arriving while a batch is in flight queue up for the next one, so
+ * under load batches grow even with a zero window, and the upstream sees one request per batch instead of one per
+ * write. The price is latency: a write waits for up to the window plus the batch ahead of it.
+ *
+ * <p>If sending a batch fails, every write in it fails with the same exception; writes in later batches are not
+ * affected.
+ */
+public class WriteCoalescer implements AutoCloseable {
+
+    /**
+     * Sends one batch upstream.
+     */
+    @FunctionalInterface
+    public interface BatchSender {
+
+        /**
+         * @return one result per write, in the same order
+         */
+        List<UpstreamWriteResult> send(List<UpstreamWrite> writes);
+    }
+
+    private record Pending(UpstreamWrite write, CompletableFuture<UpstreamWriteResult> result) {}
+
+    private final BatchSender sender;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final BlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final Thread flusher;
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder writes = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * @param sender sends a batch upstream
+     * @param window how long to keep collecting after the first write of a batch arrived
+     * @param maxBatchSize the most writes sent in one batch
+     * @param name identifies the flushing thread
+     */
+    public WriteCoalescer(BatchSender sender, Duration window, int maxBatchSize, String name) {
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Maximum batch size must be positive: " + maxBatchSize);
+        }
+        this.sender = sender;
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.flusher = new Thread(this::flushContinuously, "upstream-writes-" + name);
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Queues the write for the next batch.
+     *
+     * @return completes with the write's result once its batch has been sent, or exceptionally if sending failed
+     */
+    public CompletableFuture<UpstreamWriteResult> submit(UpstreamWrite write) {
+        Pending pending = new Pending(write, new CompletableFuture<>());
+        queue.add(pending);
+        // Checked after queueing so that a write racing close is either flushed or failed, never left pending
+        if (closed) {
+            failQueued();
+        }
+        return pending.result();
+    }
+
+    /**
+     * @return batches sent upstream so far
+     */
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    /**
+     * @return writes sent upstream so far, over all batches
+     */
+    public long getWriteCount() {
+        return writes.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        flusher.interrupt();
+        failQueued();
+    }
+
+    private void flushContinuously() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+                long deadline = System.nanoTime() + windowNanos;
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    // Past the window, still take whatever is already queued
+                    Pending next = remaining > 0 ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                batch.forEach(pending -> pending.result().completeExceptionally(closedException()));
+                return;
+            }
+            send(batch);
+            batch.clear();
+        }
+    }
+
+    private void send(List<Pending> batch) {
+        try {
+            List<UpstreamWriteResult> results = sender.send(batch.stream().map(Pending::write).toList());
+            batches.increment();
+            writes.add(batch.size());
+            if (results.size() != batch.size()) {
+                throw new UpstreamException(
+                        "Batch of " + batch.size() + " writes returned " + results.size() + " results", 0);
+            }
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(results.get(i));
+            }
+        } catch (RuntimeException e) {
+            batch.forEach(pending -> pending.result().completeExceptionally(e));
+        }
+    }
+
+    private void failQueued() {
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result().completeExceptionally(closedException());
+        }
+    }
+
+    private static UpstreamUnavailableException closedException() {
+        return new UpstreamUnavailableException("Upstream writes are shut down");
+    }
+}
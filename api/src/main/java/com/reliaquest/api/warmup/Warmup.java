@@ -0,0 +1,254 @@
+package com.reliaquest.api.warmup;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.upstream.UpstreamException;
+import com.reliaquest.api.upstream.UpstreamUnavailableException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Brings a freshly started api up to speed before it reports ready, so that the first real requests are not the
+ * ones paying for loading data, JIT compilation and cold caches.
+ *
+ * <p>The warm-up first loads every employee from the upstream, building the indexes with them. A failed load is
+ * retried with exponential backoff, so that an upstream that is rate limiting is not asked again until it is likely
+ * to answer. It then sends the read endpoints a mix of requests over the loopback interface, which runs the whole
+ * request path, from the web server to the JSON serialization, often enough for the JIT to compile it. Nothing is
+ * written. The warm-up is skipped for reads that would go to the upstream, which is the case in read-through mode.
+ */
+public class Warmup {
+
+    private static final Logger log = LoggerFactory.getLogger(Warmup.class);
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int SAMPLED_EMPLOYEES = 1_000;
+
+    // Paths relative to the employee base URL, by weight; mostly single lookups, as in real traffic
+    private static final List<String> REQUEST_MIX = List.of(
+            "/{id}",
+            "/{id}",
+            "/{id}",
+            "/{id}",
+            "/{id}",
+            "/{id}",
+            "/search/{name}",
+            "/search/{name}",
+            "/typeahead/{prefix}",
+            "/typeahead/{prefix}",
+            "/search/fuzzy/{name}",
+            "",
+            "/highestSalary",
+            "/topTenHighestEarningEmployeeNames",
+            "/analytics/salary");
+
+    public enum Stage {
+        LOADING,
+        WARMING,
+        READY
+    }
+
+    private final EmployeeService service;
+    private final WarmupProperties properties;
+    private final HttpClient httpClient;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failedRequests = new AtomicLong();
+    private final long createdNanos = System.nanoTime();
+
+    private volatile Stage stage;
+    private volatile boolean loaded;
+    private volatile int loadAttempts;
+    private volatile long readyNanos;
+
+    public Warmup(EmployeeService service, WarmupProperties properties) {
+        this(service, properties, HttpClient.newHttpClient());
+    }
+
+    public Warmup(EmployeeService service, WarmupProperties properties, HttpClient httpClient) {
+        this.service = service;
+        this.properties = properties;
+        this.httpClient = httpClient;
+        this.stage = properties.isEnabled() ? Stage.LOADING : Stage.READY;
+        this.loaded = !properties.isEnabled();
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    public boolean isReady() {
+        return stage == Stage.READY;
+    }
+
+    /**
+     * Whether the warm-up is done loading employees, and the periodic refresh may take over.
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int getLoadAttempts() {
+        return loadAttempts;
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getFailedRequestCount() {
+        return failedRequests.get();
+    }
+
+    /**
+     * @return the time from the start of the api to the end of the warm-up, or up to now while it runs
+     */
+    public Duration getElapsed() {
+        long end = stage == Stage.READY && readyNanos != 0 ? readyNanos : System.nanoTime();
+        return Duration.ofNanos(end - createdNanos);
+    }
+
+    /**
+     * Loads the employees and warms up the read endpoints, returning once the api is ready. Does nothing if the
+     * warm-up is disabled.
+     *
+     * @param baseUrl the api's own employee endpoint, or {@code null} to only load the employees
+     */
+    public void run(URI baseUrl) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            load();
+            loaded = true;
+            if (service.isReadThrough()) {
+                log.info("Skipping the request warm-up, since reads go to the upstream");
+            } else if (baseUrl != null) {
+                stage = Stage.WARMING;
+                warm(baseUrl);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Warm-up interrupted");
+        } finally {
+            loaded = true;
+            readyNanos = System.nanoTime();
+            stage = Stage.READY;
+            log.info(
+                    "Warm-up finished after {} ms with {} employees, {} requests sent and {} failed",
+                    getElapsed().toMillis(),
+                    service.snapshot().size(),
+                    requests.get(),
+                    failedRequests.get());
+        }
+    }
+
+    private void load() throws InterruptedException {
+        long deadline = System.nanoTime() + properties.getLoadTimeout().toNanos();
+        Duration backoff = properties.getLoadRetryBackoff();
+        while (true) {
+            loadAttempts++;
+            try {
+                service.refreshFromUpstream();
+                return;
+            } catch (UpstreamUnavailableException | UpstreamException e) {
+                if (System.nanoTime() + backoff.toNanos() > deadline) {
+                    log.warn(
+                            "Could not load employees within {}, reporting ready and leaving it to the periodic "
+                                    + "refresh: {}",
+                            properties.getLoadTimeout(),
+                            e.getMessage());
+                    return;
+                }
+                log.info("Loading employees failed, retrying in {}: {}", backoff, e.getMessage());
+                Thread.sleep(backoff.toMillis());
+                Duration doubled = backoff.multipliedBy(2);
+                backoff = doubled.compareTo(properties.getMaxLoadRetryBackoff()) > 0
+                        ? properties.getMaxLoadRetryBackoff()
+                        : doubled;
+            }
+        }
+    }
+
+    private void warm(URI baseUrl) throws InterruptedException {
+        // Enough employees to vary the requests, without copying every one
+        List<Employee> employees = service.snapshot().stream().limit(SAMPLED_EMPLOYEES).toList();
+        long deadline = System.nanoTime() + properties.getMaxDuration().toNanos();
+        int concurrency = Math.max(1, properties.getConcurrency());
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "warmup-requests");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int i = 0; i < concurrency; i++) {
+                executor.execute(() -> {
+                    while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                        long sequence = requests.getAndIncrement();
+                        if (sequence >= properties.getRequests()) {
+                            requests.decrementAndGet();
+                            return;
+                        }
+                        send(baseUrl, employees, sequence);
+                    }
+                });
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(properties.getMaxDuration().toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+                log.warn("Warm-up requests still running after {}", properties.getMaxDuration());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void send(URI baseUrl, List<Employee> employees, long sequence) {
+        String path = REQUEST_MIX.get((int) (sequence % REQUEST_MIX.size()));
+        Employee employee = employees.isEmpty()
+                ? null
+                : employees.get(ThreadLocalRandom.current().nextInt(employees.size()));
+        String name = employee == null || employee.getName() == null || employee.getName().isBlank()
+                ? "a"
+                : employee.getName().strip().toLowerCase(Locale.ROOT);
+        String id = employee == null ? UUID.randomUUID().toString() : String.valueOf(employee.getId());
+        path = path.replace("{id}", id)
+                .replace("{name}", encode(name.split("\\s+")[0]))
+                .replace("{prefix}", encode(name.substring(0, Math.min(2, name.length()))));
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            if (response.statusCode() >= 500) {
+                failedRequests.incrementAndGet();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failedRequests.incrementAndGet();
+            log.debug("Warm-up request to {} failed: {}", path, e.toString());
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.warmup;
+
+import com.reliaquest.api.service.EmployeeService;
+import java.net.URI;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(WarmupProperties.class)
+public class WarmupConfiguration {
+
+    /*
+     * Always present, even when disabled, since the readiness group names its health indicator.
+     */
+    @Bean
+    public Warmup warmup(EmployeeService service, WarmupProperties properties) {
+        return new Warmup(service, properties);
+    }
+
+    @Bean
+    public WarmupHealthIndicator warmupHealthIndicator(Warmup warmup) {
+        return new WarmupHealthIndicator(warmup);
+    }
+
+    /*
+     * Runs once the web server is up, since the warm-up sends its requests through it, and in the background so that
+     * the liveness probe and the health endpoint answer meanwhile. Without a web server only the employees are loaded.
+     */
+    @Bean
+    public ApplicationListener<ApplicationReadyEvent> warmupStarter(Warmup warmup, WarmupProperties properties) {
+        return event -> {
+            if (!properties.isEnabled()) {
+                return;
+            }
+            URI baseUrl = event.getApplicationContext() instanceof WebServerApplicationContext context
+                    ? URI.create("http://localhost:%d/api/v1/employee".formatted(context.getWebServer().getPort()))
+                    : null;
+            Thread thread = new Thread(() -> warmup.run(baseUrl), "warmup");
+            thread.setDaemon(true);
+            thread.start();
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.api.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until the warm-up is done. Included in the readiness group, it keeps load balancers
+ * from sending traffic to an api that is still loading or warming up.
+ */
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final Warmup warmup;
+
+    public WarmupHealthIndicator(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = warmup.isReady() ? Health.up() : Health.outOfService();
+        return builder.withDetail("stage", warmup.getStage())
+                .withDetail("loadAttempts", warmup.getLoadAttempts())
+                .withDetail("requests", warmup.getRequestCount())
+                .withDetail("failedRequests", warmup.getFailedRequestCount())
+                .withDetail("elapsedMillis", warmup.getElapsed().toMillis())
+                .build();
+    }
+}
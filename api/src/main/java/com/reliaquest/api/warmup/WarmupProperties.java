@@ -0,0 +1,83 @@
+package com.reliaquest.api.warmup;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the warm-up the api runs after starting and before it reports ready.
+ */
+@ConfigurationProperties(prefix = "employee.warmup")
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    // Requests sent to the read endpoints once the employees are loaded, and how many at a time
+    private int requests = 20_000;
+    private int concurrency = 4;
+
+    // The api reports ready after this long even if not all requests have been sent
+    private Duration maxDuration = Duration.ofSeconds(60);
+
+    // First wait before retrying a failed load, doubled after each failure up to the maximum
+    private Duration loadRetryBackoff = Duration.ofSeconds(1);
+    private Duration maxLoadRetryBackoff = Duration.ofSeconds(30);
+
+    // The api reports ready without the employees after this long, leaving the load to the periodic refresh
+    private Duration loadTimeout = Duration.ofMinutes(2);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getRequests() {
+        return requests;
+    }
+
+    public void setRequests(int requests) {
+        this.requests = requests;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public Duration getMaxDuration() {
+        return maxDuration;
+    }
+
+    public void setMaxDuration(Duration maxDuration) {
+        this.maxDuration = maxDuration;
+    }
+
+    public Duration getLoadRetryBackoff() {
+        return loadRetryBackoff;
+    }
+
+    public void setLoadRetryBackoff(Duration loadRetryBackoff) {
+        this.loadRetryBackoff = loadRetryBackoff;
+    }
+
+    public Duration getMaxLoadRetryBackoff() {
+        return maxLoadRetryBackoff;
+    }
+
+    public void setMaxLoadRetryBackoff(Duration maxLoadRetryBackoff) {
+        this.maxLoadRetryBackoff = maxLoadRetryBackoff;
+    }
+
+    public Duration getLoadTimeout() {
+        return loadTimeout;
+    }
+
+    public void setLoadTimeout(Duration loadTimeout) {
+        this.loadTimeout = loadTimeout;
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.api.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.common.diagnostics.EmployeeOperationEvent;
+import com.reliaquest.common.web.ResponseSerializationEvent;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds pre-serialized JSON bodies for hot read endpoints.
+ * Each entry is keyed by endpoint and tagged with the store version it was built from,
+ * so a mutation in the store invalidates it without any explicit eviction.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, CachedBody> entries = new ConcurrentHashMap<>();
+
+    public ResponseBodyCache(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the encoded body for the endpoint at the given version, building it on a miss.
+     *
+     * @param endpoint the cache key of the endpoint
+     * @param version the current store version
+     * @param body supplies the value to serialize when the cached entry is missing or stale
+     * @return the cached body matching the version
+     */
+    public CachedBody get(String endpoint, long version, Supplier<?> body) {
+        CachedBody cached = entries.get(endpoint);
+        if (cached != null && cached.version() == version) {
+            return cached;
+        }
+        // Concurrent misses may encode the same body twice; the last writer wins, which is harmless
+        CachedBody encoded = encode(version, body.get());
+        entries.merge(
+                endpoint,
+                encoded,
+                (current, candidate) -> current.version() >= candidate.version() ? current : candidate);
+        return encoded;
+    }
+
+    /**
+     * Drops every cached body.
+     */
+    public void clear() {
+        entries.clear();
+    }
+
+    private CachedBody encode(long version, Object value) {
+        try {
+            ResponseSerializationEvent event = new ResponseSerializationEvent();
+            event.begin();
+            byte[] identity = objectMapper.writeValueAsBytes(value);
+            event.end();
+            if (event.shouldCommit()) {
+                event.describe(value, value, identity.length, true);
+                event.commit();
+            }
+            return new CachedBody(version, identity, gzip(identity), EmployeeOperationEvent.sizeOf(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize cached response body", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * An encoded response body together with its precompressed gzip variant.
+     *
+     * @param resultSize the elements of the encoded value, as reported for the read it answers
+     */
+    public record CachedBody(long version, byte[] identity, byte[] gzip, int resultSize) {}
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.store.EmployeeSnapshot;
+import com.reliaquest.common.diagnostics.EmployeeOperationEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.Function;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Serves the hot read endpoints straight from {@link ResponseBodyCache}.
+ * The cached bytes are written directly to the servlet output stream, which skips both the Jackson
+ * message converter and, for gzip-capable clients, any on-the-fly compression.
+ *
+ * <p>Since such requests never reach the service, each is reported to a running flight recording here, as an
+ * {@link EmployeeOperationEvent} with source {@code cache} when the cached bytes were current, or {@code local} when
+ * they had to be encoded again.
+ */
+public class ResponseBodyCacheInterceptor implements HandlerInterceptor {
+
+    private final ResponseBodyCache cache;
+
+    private final EmployeeService service;
+
+    /*
+     * Keyed by handler method name, which is stable because the controller implements IEmployeeController.
+     */
+    private final Map<String, CacheableHandler> cacheableHandlers;
+
+    public ResponseBodyCacheInterceptor(ResponseBodyCache cache, EmployeeService service) {
+        this.cache = cache;
+        this.service = service;
+        this.cacheableHandlers = Map.of(
+                "getAllEmployees", new CacheableHandler("getAll", service::getAllEmployees),
+                "getHighestSalaryOfEmployees", new CacheableHandler("highestSalary", service::getHighestSalary),
+                "getTopTenHighestEarningEmployeeNames",
+                        new CacheableHandler("topTen", service::getTopTenHighestSalaries));
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!HttpMethod.GET.matches(request.getMethod()) || !(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        String endpoint = handlerMethod.getMethod().getName();
+        CacheableHandler cacheable = cacheableHandlers.get(endpoint);
+        if (cacheable == null) {
+            return true;
+        }
+
+        EmployeeOperationEvent event = new EmployeeOperationEvent();
+        event.begin();
+        // Encode from the same snapshot whose version tags the entry
+        EmployeeSnapshot snapshot = service.snapshot();
+        boolean[] encoded = new boolean[1];
+        ResponseBodyCache.CachedBody cached = cache.get(endpoint, snapshot.version(), () -> {
+            encoded[0] = true;
+            return cacheable.body().apply(snapshot);
+        });
+        event.end();
+        if (event.shouldCommit()) {
+            event.describe(cacheable.operation(), encoded[0] ? "local" : "cache", snapshot.size(), cached.resultSize());
+            event.commit();
+        }
+        byte[] bytes = cached.identity();
+        if (AcceptEncoding.acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING))) {
+            bytes = cached.gzip();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(bytes.length);
+        response.getOutputStream().write(bytes);
+        return false;
+    }
+
+    /*
+     * The operation name the service reports the read under, and the read itself.
+     */
+    private record CacheableHandler(String operation, Function<EmployeeSnapshot, ?> body) {}
+}
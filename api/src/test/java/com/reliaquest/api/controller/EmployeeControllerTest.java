@@ -3,6 +3,7 @@ package com.reliaquest.api.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.search.NameTrie;
 import com.reliaquest.api.service.EmployeeService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -58,6 +59,41 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[0].name").value("Alice"));
     }
 
+    @Test
+    void testSearchEmployeesFuzzy() throws Exception {
+        Employee e1 = new Employee(UUID.randomUUID(), "Alice", 5000);
+
+        when(service.searchEmployeesFuzzy("alcie", 2)).thenReturn(List.of(e1));
+
+        mockMvc.perform(get("/api/v1/employee/search/fuzzy/alcie").param("maxDistance", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Alice"));
+    }
+
+    @Test
+    void testGetTypeaheadCompletions() throws Exception {
+        Employee e1 = new Employee(UUID.randomUUID(), "Alice", 5000);
+
+        when(service.getTypeaheadCompletions("ali", 5, NameTrie.Ranking.SALARY)).thenReturn(List.of(e1));
+
+        mockMvc.perform(get("/api/v1/employee/typeahead/ali").param("limit", "5").param("rank", "salary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(1))
+                .andExpect(jsonPath("$[0].name").value("Alice"));
+    }
+
+    @Test
+    void testGetTypeaheadCompletions_NonPositiveLimit() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/typeahead/ali").param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("limit must be positive: 0"));
+        mockMvc.perform(get("/api/v1/employee/typeahead/ali").param("limit", "-3"))
+                .andExpect(status().isBadRequest());
+
+        verify(service, never()).getTypeaheadCompletions(anyString(), anyInt(), any());
+    }
+
     @Test
     void testGetEmployeeById_Found() throws Exception {
         UUID id = UUID.randomUUID();
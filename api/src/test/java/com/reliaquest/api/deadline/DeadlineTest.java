@@ -0,0 +1,125 @@
+package com.reliaquest.api.deadline;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.upstream.Bulkhead;
+import com.reliaquest.api.upstream.MockEmployeeClient;
+import com.reliaquest.api.upstream.UpstreamProperties;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class DeadlineTest {
+
+    @Test
+    void testChecksPassWithoutABoundDeadline() {
+        assertNull(Deadline.current());
+        Deadline.check("anything");
+        assertEquals(Duration.ofSeconds(5), Deadline.cap(Duration.ofSeconds(5), "anything"));
+        assertEquals(3, CompletableFuture.completedFuture(3).join());
+    }
+
+    @Test
+    void testCapShortensWaitsAndFailsOnceExpired() throws InterruptedException {
+        try (Deadline.Scope ignored = Deadline.bind(Deadline.after(Duration.ofMillis(200)))) {
+            Duration capped = Deadline.cap(Duration.ofSeconds(5), "waiting");
+            assertTrue(capped.compareTo(Duration.ofMillis(200)) <= 0, "Capped to " + capped);
+            assertEquals(Duration.ofMillis(1), Deadline.cap(Duration.ofMillis(1), "waiting"));
+
+            Thread.sleep(250);
+            assertThrows(DeadlineExceededException.class, () -> Deadline.cap(Duration.ofSeconds(5), "waiting"));
+            assertThrows(DeadlineExceededException.class, () -> Deadline.check("waiting"));
+        }
+        assertNull(Deadline.current());
+    }
+
+    @Test
+    void testCheckpointStopsLongScans() {
+        try (Deadline.Scope ignored = Deadline.bind(Deadline.after(Duration.ofMillis(50)))) {
+            long start = System.nanoTime();
+            assertThrows(
+                    DeadlineExceededException.class,
+                    () -> IntStream.iterate(0, i -> i + 1)
+                            .boxed()
+                            .filter(Deadline.checkpoint("counting"))
+                            .forEach(i -> {}));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        }
+    }
+
+    @Test
+    void testPropagatesToOtherThreadsAndBoundsWaits() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(100));
+        try (Deadline.Scope ignored = Deadline.bind(deadline)) {
+            assertSame(deadline, CompletableFuture.supplyAsync(Deadline.propagate(Deadline::current))
+                    .join());
+
+            CompletableFuture<String> never = new CompletableFuture<>();
+            long start = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, () -> Deadline.join(never, "waiting"));
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+        }
+    }
+
+    @Test
+    void testBulkheadWaitEndsAtTheDeadline() {
+        Bulkhead bulkhead = new Bulkhead("test", 1, Duration.ofSeconds(10));
+        assertTrue(bulkhead.tryAcquire());
+        try (Deadline.Scope ignored = Deadline.bind(Deadline.after(Duration.ofMillis(100)))) {
+            long start = System.nanoTime();
+            assertThrows(DeadlineExceededException.class, bulkhead::tryAcquire);
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(2));
+            assertEquals(0, bulkhead.getRejectedCount());
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    @Test
+    void testAbortsUpstreamCallsAtTheDeadline() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employee", exchange -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+                byte[] body = "{\"data\":[]}".getBytes();
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        try {
+            URI baseUrl = URI.create("http://localhost:" + server.getAddress().getPort() + "/api/v1/employee");
+            MockEmployeeClient client = new MockEmployeeClient(
+                    HttpClient.newHttpClient(), new ObjectMapper(), new UpstreamProperties(), baseUrl);
+
+            try (Deadline.Scope ignored = Deadline.bind(Deadline.after(Duration.ofMillis(200)))) {
+                long start = System.nanoTime();
+                assertThrows(DeadlineExceededException.class, client::getAll);
+                long elapsed = System.nanoTime() - start;
+                assertTrue(elapsed < TimeUnit.SECONDS.toNanos(2), "Took " + elapsed + " ns");
+
+                // Once expired, nothing more is sent
+                assertThrows(DeadlineExceededException.class, client::getAll);
+            }
+            release.countDown();
+            assertEquals(List.of(), client.getAll());
+        } finally {
+            release.countDown();
+            server.stop(0);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.reliaquest.api.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.deadline.DeadlineExceededException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private ConcurrencyLimitProperties properties;
+    private HandlerMethod handler;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+        // Every sample counts as no slower than usual, so the limit grows under load whatever the timings
+        properties.setRttTolerance(1_000);
+        handler = new HandlerMethod(new Endpoints(), Endpoints.class.getMethod("getAllEmployees"));
+    }
+
+    @Test
+    void testSuccessfulRequestsAdaptTheLimit() {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties);
+        ConcurrencyLimiter expensive = interceptor.getLimiters().get(1);
+
+        for (int round = 0; round < 20; round++) {
+            saturate(interceptor, 200, null);
+        }
+
+        assertTrue(expensive.getLimit() > 10, "Limit " + expensive.getLimit());
+        assertEquals(0, expensive.getInFlight());
+    }
+
+    @Test
+    void testFailedRequestsLeaveTheLimitAlone() {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(properties);
+        ConcurrencyLimiter expensive = interceptor.getLimiters().get(1);
+
+        for (int round = 0; round < 20; round++) {
+            // Past the deadline, turned away by a stale replica or the circuit breaker, or not handled at all
+            saturate(interceptor, 504, null);
+            saturate(interceptor, 503, null);
+            saturate(interceptor, 200, new DeadlineExceededException("Deadline exceeded"));
+        }
+
+        assertEquals(10, expensive.getLimit());
+        assertEquals(0, expensive.getInFlight());
+        assertEquals(600, expensive.getAcceptedCount());
+    }
+
+    /**
+     * Admits as many requests as the limit allows, then completes them all with the given outcome.
+     */
+    private void saturate(ConcurrencyLimitInterceptor interceptor, int status, Exception ex) {
+        List<MockHttpServletRequest> admitted = new ArrayList<>();
+        while (true) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/employee");
+            try {
+                interceptor.preHandle(request, new MockHttpServletResponse(), handler);
+            } catch (ConcurrencyLimitExceededException e) {
+                break;
+            }
+            admitted.add(request);
+        }
+        for (MockHttpServletRequest request : admitted) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            response.setStatus(status);
+            interceptor.afterCompletion(request, response, handler, ex);
+        }
+    }
+
+    /**
+     * Stands in for an expensive controller method.
+     */
+    public static class Endpoints {
+
+        public void getAllEmployees() {}
+    }
+}
@@ -0,0 +1,106 @@
+package com.reliaquest.api.limit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrencyLimiterTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(2);
+
+    private ConcurrencyLimitProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(10);
+        properties.setMinLimit(2);
+        properties.setMaxLimit(100);
+    }
+
+    @Test
+    void testRejectsRequestsOverTheLimit() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", properties);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+        assertFalse(limiter.tryAcquire());
+        assertEquals(1, limiter.getRejectedCount());
+        assertEquals(10, limiter.getInFlight());
+
+        limiter.release(0);
+        assertTrue(limiter.tryAcquire());
+        assertEquals(11, limiter.getAcceptedCount());
+    }
+
+    @Test
+    void testGrowsWhileLatencyHoldsUnderLoad() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", properties);
+        for (int round = 0; round < 20; round++) {
+            saturate(limiter, FAST);
+        }
+        assertTrue(limiter.getLimit() > 20, "Limit " + limiter.getLimit());
+    }
+
+    @Test
+    void testShrinksWhenLatencyRisesUnderLoad() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", properties);
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, FAST);
+        }
+        int before = limiter.getLimit();
+
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, FAST * 10);
+        }
+        assertTrue(limiter.getLimit() < before / 2, "Limit " + limiter.getLimit() + " from " + before);
+
+        for (int round = 0; round < 100; round++) {
+            saturate(limiter, FAST * 10);
+        }
+        assertTrue(limiter.getLimit() >= properties.getMinLimit());
+        assertTrue(limiter.getLimit() <= properties.getMaxLimit());
+    }
+
+    @Test
+    void testRecoversOnceLatencyReturnsToNormal() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", properties);
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, FAST);
+        }
+        for (int round = 0; round < 5; round++) {
+            saturate(limiter, FAST * 10);
+        }
+        int overloaded = limiter.getLimit();
+
+        for (int round = 0; round < 20; round++) {
+            saturate(limiter, FAST);
+        }
+        assertTrue(limiter.getLimit() > overloaded, "Limit " + limiter.getLimit() + " from " + overloaded);
+    }
+
+    @Test
+    void testKeepsTheLimitWhileMostOfItIsUnused() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter("test", properties);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(limiter.tryAcquire());
+            limiter.release(i % 2 == 0 ? FAST : FAST * 100);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    /**
+     * Admits as many requests as the limit allows, then completes them all with the given latency.
+     */
+    private static void saturate(ConcurrencyLimiter limiter, long rttNanos) {
+        int admitted = 0;
+        while (limiter.tryAcquire()) {
+            admitted++;
+        }
+        for (int i = 0; i < admitted; i++) {
+            limiter.release(rttNanos);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.replication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.store.EmployeeMutation;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class MutationLogTest {
+
+    @Test
+    void testReadsChangesAfterVersion() throws InterruptedException {
+        MutationLog log = new MutationLog(8);
+        log.startAfter(10);
+        for (long version = 11; version <= 15; version++) {
+            log.accept(put(version));
+        }
+
+        List<EmployeeMutation> batch = log.readAfter(12, 100, 0).orElseThrow();
+
+        assertEquals(List.of(13L, 14L, 15L), batch.stream().map(EmployeeMutation::version).toList());
+        assertEquals(2, log.readAfter(10, 2, 0).orElseThrow().size());
+        assertEquals(15, log.lastVersion());
+    }
+
+    @Test
+    void testTimesOutWhenCaughtUp() throws InterruptedException {
+        MutationLog log = new MutationLog(8);
+        log.startAfter(3);
+
+        assertEquals(List.of(), log.readAfter(3, 100, 10).orElseThrow());
+    }
+
+    @Test
+    void testReportsOverwrittenPosition() throws InterruptedException {
+        MutationLog log = new MutationLog(4);
+        log.startAfter(0);
+        for (long version = 1; version <= 10; version++) {
+            log.accept(put(version));
+        }
+
+        assertTrue(log.readAfter(5, 100, 0).isEmpty(), "Version 6 has been overwritten");
+        assertFalse(log.covers(5));
+        assertTrue(log.covers(6));
+        assertEquals(List.of(7L, 8L, 9L, 10L), log.readAfter(6, 100, 0).orElseThrow().stream()
+                .map(EmployeeMutation::version)
+                .toList());
+    }
+
+    @Test
+    void testKeepsChangesAcceptedBeforeStart() throws InterruptedException {
+        MutationLog log = new MutationLog(8);
+        // A change can arrive between subscribing to the store and learning the subscription's version
+        log.accept(put(6));
+        log.startAfter(5);
+
+        assertEquals(1, log.readAfter(5, 100, 0).orElseThrow().size());
+        assertFalse(log.covers(4));
+    }
+
+    private static EmployeeMutation put(long version) {
+        UUID id = UUID.randomUUID();
+        return new EmployeeMutation(version, id.toString(), new Employee(id, "Employee " + version, 1000));
+    }
+}
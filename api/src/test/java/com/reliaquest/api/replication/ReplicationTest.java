@@ -0,0 +1,175 @@
+package com.reliaquest.api.replication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.service.EmployeeService;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+
+public class ReplicationTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    @Test
+    void testReplicaLoadsSnapshotThenFollowsChanges() throws Exception {
+        EmployeeService primaryService = new EmployeeService();
+        EmployeeService replicaService = new EmployeeService();
+        // Created before the replica connects, so it receives them in its snapshot
+        primaryService.createEmployee(new EmployeeDTO("Alice", 5000));
+        Employee bob = primaryService.createEmployee(new EmployeeDTO("Bob", 6000));
+
+        try (ReplicationPrimary primary = new ReplicationPrimary(primaryService, properties(0))) {
+            primary.start();
+            try (ReplicationReplica replica = new ReplicationReplica(replicaService, properties(primary.getPort()))) {
+                replica.start();
+                assertTrue(replica.awaitVersion(primaryService.getVersion(), TIMEOUT), "Snapshot not applied");
+                assertEquals(names(primaryService), names(replicaService));
+
+                primaryService.createEmployee(new EmployeeDTO("Carol", 7000));
+                primaryService.deleteEmployeeById(bob.getId().toString());
+
+                assertTrue(replica.awaitVersion(primaryService.getVersion(), TIMEOUT), "Changes not applied");
+                assertEquals(List.of("Alice", "Carol"), names(replicaService));
+                // Derived data is maintained on the replica as well
+                assertEquals(7000, replicaService.getHighestSalary());
+                assertEquals(2, replicaService.getSalaryStatistics().getCount());
+                assertTrue(replica.isConnected());
+            }
+        }
+    }
+
+    @Test
+    void testReplicaReportsLagAndStaleness() throws Exception {
+        EmployeeService primaryService = new EmployeeService();
+        try (ReplicationPrimary primary = new ReplicationPrimary(primaryService, properties(0))) {
+            primary.start();
+            ReplicationReplica replica = new ReplicationReplica(new EmployeeService(), properties(primary.getPort()));
+            assertNull(replica.getStaleness(), "Not caught up before connecting");
+            replica.start();
+            primaryService.createEmployee(new EmployeeDTO("Alice", 5000));
+
+            assertTrue(replica.awaitVersion(primaryService.getVersion(), TIMEOUT));
+            long deadline = System.nanoTime() + TIMEOUT.toNanos();
+            while (replica.getStaleness() == null && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            assertNotNull(replica.getStaleness(), "A heartbeat should have confirmed the replica caught up");
+            assertEquals(0, replica.getLag());
+            assertEquals(1, primary.getConnectedReplicas());
+            // A version the primary has not reached yet cannot be read from the replica
+            assertFalse(replica.awaitVersion(primaryService.getVersion() + 1, Duration.ofMillis(50)));
+            replica.close();
+        }
+    }
+
+    @Test
+    void testReplicaStaysFreshUnderContinuousWrites() throws Exception {
+        EmployeeService primaryService = new EmployeeService();
+        EmployeeService replicaService = new EmployeeService();
+        ReplicationProperties properties = properties(0);
+        try (ReplicationPrimary primary = new ReplicationPrimary(primaryService, properties)) {
+            primary.start();
+            try (ReplicationReplica replica = new ReplicationReplica(replicaService, properties(primary.getPort()))) {
+                replica.start();
+                AtomicBoolean writing = new AtomicBoolean(true);
+                Thread writer = new Thread(() -> {
+                    for (int i = 0; writing.get(); i++) {
+                        primaryService.createEmployee(new EmployeeDTO("Employee " + i, 1000 + i));
+                    }
+                });
+                writer.start();
+                try {
+                    // Reads keep being served while the primary never stops writing
+                    long end = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+                    int fresh = 0;
+                    int reads = 0;
+                    while (System.nanoTime() < end) {
+                        Thread.sleep(10);
+                        replicaService.getAllEmployees();
+                        reads++;
+                        Duration staleness = replica.getStaleness();
+                        if (staleness != null && staleness.compareTo(properties.getMaxStaleness()) <= 0) {
+                            fresh++;
+                        }
+                    }
+                    assertTrue(fresh > reads / 2, fresh + " of " + reads + " reads were fresh enough to serve");
+                    assertTrue(replica.getLag() < primaryService.getVersion(), "The replica is applying changes");
+                } finally {
+                    writing.set(false);
+                    writer.join();
+                }
+                assertTrue(replica.awaitVersion(primaryService.getVersion(), TIMEOUT), "Replica did not catch up");
+                assertEquals(primaryService.getAllEmployees().size(), replicaService.getAllEmployees().size());
+            }
+        }
+    }
+
+    @Test
+    void testHeartbeatsNameTheLastChangeSent() throws Exception {
+        EmployeeService primaryService = new EmployeeService();
+        try (ReplicationPrimary primary = new ReplicationPrimary(primaryService, properties(0))) {
+            primary.start();
+            AtomicBoolean writing = new AtomicBoolean(true);
+            Thread writer = new Thread(() -> {
+                for (int i = 0; writing.get(); i++) {
+                    primaryService.createEmployee(new EmployeeDTO("Employee " + i, 1000 + i));
+                }
+            });
+            try (Socket socket = new Socket("127.0.0.1", primary.getPort())) {
+                DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+                // Following from the start of an unknown epoch, so the primary sends a snapshot first
+                ReplicationWire.writeHello(new DataOutputStream(socket.getOutputStream()), 0, 0);
+                assertEquals(ReplicationWire.SNAPSHOT, in.readByte());
+                in.readLong();
+                long sent = in.readLong();
+                for (int i = in.readInt(); i > 0; i--) {
+                    ReplicationWire.readEmployee(in);
+                }
+                writer.start();
+
+                int heartbeats = 0;
+                long end = System.nanoTime() + Duration.ofSeconds(1).toNanos();
+                while (System.nanoTime() < end) {
+                    byte type = in.readByte();
+                    if (type == ReplicationWire.CHANGE) {
+                        sent = ReplicationWire.readChange(in).version();
+                    } else {
+                        assertEquals(ReplicationWire.HEARTBEAT, type);
+                        // A newer version would leave a replica that applied everything it was sent never caught up
+                        assertEquals(sent, in.readLong());
+                        heartbeats++;
+                    }
+                }
+                assertTrue(heartbeats > 0, "No heartbeat while the primary was writing");
+            } finally {
+                writing.set(false);
+                writer.join();
+            }
+        }
+    }
+
+    private static ReplicationProperties properties(int port) {
+        ReplicationProperties properties = new ReplicationProperties();
+        properties.setHost("127.0.0.1");
+        properties.setPort(port);
+        properties.setHeartbeatInterval(Duration.ofMillis(20));
+        properties.setReconnectDelay(Duration.ofMillis(50));
+        return properties;
+    }
+
+    private static List<String> names(EmployeeService service) {
+        return service.getAllEmployees().stream()
+                .sorted(Comparator.comparing(Employee::getName))
+                .map(Employee::getName)
+                .toList();
+    }
+}
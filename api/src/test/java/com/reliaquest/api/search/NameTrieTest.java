@@ -0,0 +1,145 @@
+package com.reliaquest.api.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class NameTrieTest {
+
+    private static final String[] WORDS = {"ann", "anna", "annabel", "bob", "bobby", "carl", "carla", "smith", "smyth"};
+
+    @Test
+    void testMatchesStartOfAnyWordIgnoringCase() {
+        NameTrie trie = new NameTrie(10);
+        Employee maryJane = employee("Mary-Jane Smith", 5000);
+        Employee john = employee("John SMYTHE", 6000);
+        trie.add(maryJane);
+        trie.add(john);
+
+        assertEquals(List.of(maryJane), trie.complete("jane", 10, NameTrie.Ranking.NAME));
+        assertEquals(List.of(maryJane), trie.complete("JANE s", 10, NameTrie.Ranking.NAME));
+        assertEquals(List.of(maryJane, john), trie.complete("sm", 10, NameTrie.Ranking.NAME));
+        assertEquals(List.of(john, maryJane), trie.complete("sm", 10, NameTrie.Ranking.SALARY));
+        assertEquals(List.of(), trie.complete("ary", 10, NameTrie.Ranking.NAME));
+        assertEquals(List.of(), trie.complete(" ", 10, NameTrie.Ranking.NAME));
+    }
+
+    @Test
+    void testListsAnEmployeeOnceWhenSeveralWordsMatch() {
+        NameTrie trie = new NameTrie(10);
+        Employee ann = employee("Ann Annabel", 5000);
+        trie.add(ann);
+
+        assertEquals(List.of(ann), trie.complete("ann", 10, NameTrie.Ranking.NAME));
+        assertEquals(List.of(ann), trie.complete("ann", 10, NameTrie.Ranking.SALARY));
+
+        trie.remove(ann);
+        assertEquals(List.of(), trie.complete("a", 10, NameTrie.Ranking.SALARY));
+    }
+
+    @Test
+    void testMatchesExhaustiveSearchThroughAddsAndRemoves() {
+        Random random = new Random(7);
+        NameTrie trie = new NameTrie(5);
+        List<Employee> stored = new ArrayList<>();
+        for (int step = 0; step < 5_000; step++) {
+            if (stored.isEmpty() || random.nextInt(3) > 0) {
+                String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+                Employee employee = employee(name, 1_000 + random.nextInt(100_000));
+                trie.add(employee);
+                stored.add(employee);
+            } else {
+                trie.remove(stored.remove(random.nextInt(stored.size())));
+            }
+
+            if (step % 50 == 0) {
+                for (String prefix : List.of("a", "ann", "annab", "b", "bobby", "c", "s", "smi", "bob c")) {
+                    List<Employee> expected = stored.stream()
+                            .filter(employee -> matches(employee, prefix))
+                            .sorted(Comparator.comparingInt(Employee::getSalary)
+                                    .reversed()
+                                    .thenComparing(Employee::getId))
+                            .limit(5)
+                            .toList();
+                    assertEquals(expected, trie.complete(prefix, 5, NameTrie.Ranking.SALARY), prefix);
+                    List<Employee> byName = trie.complete(prefix, 5, NameTrie.Ranking.NAME);
+                    assertEquals(expected.size(), byName.size(), prefix);
+                    assertTrue(byName.stream().allMatch(employee -> matches(employee, prefix)), prefix);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testPrefixesEndingInsideCompressedLabels() {
+        NameTrie trie = new NameTrie(10);
+        Employee christopher = employee("Christopher", 3000);
+        Employee christina = employee("Christina", 2000);
+        trie.add(christopher);
+        trie.add(christina);
+
+        assertEquals(List.of(christopher, christina), trie.complete("chri", 10, NameTrie.Ranking.SALARY));
+        assertEquals(List.of(christopher), trie.complete("christo", 10, NameTrie.Ranking.SALARY));
+        assertEquals(List.of(), trie.complete("christy", 10, NameTrie.Ranking.SALARY));
+        assertEquals(List.of(), trie.complete("christopherson", 10, NameTrie.Ranking.SALARY));
+
+        // Ends a key where a label used to run on, then folds the labels back together
+        Employee chris = employee("Chris", 1000);
+        trie.add(chris);
+        trie.remove(christina);
+        assertEquals(List.of(christopher, chris), trie.complete("chris", 10, NameTrie.Ranking.SALARY));
+        trie.remove(chris);
+        assertEquals(List.of(christopher), trie.complete("chr", 10, NameTrie.Ranking.SALARY));
+        assertEquals(List.of(christopher), trie.complete("christoph", 10, NameTrie.Ranking.NAME));
+        assertEquals(List.of(), trie.complete("christi", 10, NameTrie.Ranking.SALARY));
+    }
+
+    @Test
+    void testRankOrdersLikeTheTrie() {
+        Random random = new Random(11);
+        NameTrie trie = new NameTrie(10);
+        List<Employee> stored = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String name = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)];
+            Employee employee = employee(name, 1_000 + random.nextInt(100_000));
+            trie.add(employee);
+            stored.add(employee);
+        }
+
+        for (String prefix : List.of("a", "ann", "B", "bob c", "s", "zz", " ")) {
+            for (NameTrie.Ranking ranking : NameTrie.Ranking.values()) {
+                assertEquals(
+                        trie.complete(prefix, 10, ranking),
+                        NameTrie.rank(prefix, 10, ranking, stored),
+                        prefix + " " + ranking);
+            }
+        }
+    }
+
+    @Test
+    void testRejectsLimitAboveMaximum() {
+        NameTrie trie = new NameTrie(5);
+
+        assertThrows(IllegalArgumentException.class, () -> trie.complete("a", 6, NameTrie.Ranking.NAME));
+    }
+
+    @Test
+    void testNormalizesSeparatorsAndCase() {
+        assertEquals("mary jane o brien", NameTrie.normalize("  Mary-Jane  O'Brien "));
+        assertEquals(List.of("mary jane", "jane"), NameTrie.keys("Mary Jane"));
+    }
+
+    private static boolean matches(Employee employee, String prefix) {
+        return NameTrie.keys(employee.getName()).stream().anyMatch(key -> key.startsWith(prefix));
+    }
+
+    private static Employee employee(String name, int salary) {
+        return new Employee(UUID.randomUUID(), name, salary);
+    }
+}
@@ -0,0 +1,45 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class EmployeeServiceRecordingTest {
+
+    @Test
+    void testRecordsEmployeeOperations(@TempDir Path directory) throws Exception {
+        EmployeeService service = new EmployeeService();
+        service.createEmployee(new EmployeeDTO("John Smith", 5000));
+        service.createEmployee(new EmployeeDTO("Jane Smith", 6000));
+        service.createEmployee(new EmployeeDTO("Joan Doe", 7000));
+
+        Path dump = directory.resolve("api.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reliaquest.EmployeeOperation");
+            recording.start();
+            assertEquals(2, service.searchEmployees("smith").size());
+            assertEquals(3, service.getAllEmployees().size());
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("com.reliaquest.EmployeeOperation"))
+                .toList();
+        RecordedEvent search = events.stream()
+                .filter(event -> event.getString("operation").equals("search"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("local", search.getString("source"));
+        assertEquals(3, search.getInt("datasetSize"));
+        assertEquals(2, search.getInt("resultSize"));
+        assertTrue(events.stream().anyMatch(event -> event.getString("operation").equals("getAll")));
+    }
+}
@@ -3,6 +3,11 @@ package com.reliaquest.api.service;
 import com.reliaquest.api.controller.EmployeeNotFoundException;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.model.SalaryStatistics;
+import com.reliaquest.api.search.NameTrie;
+import com.reliaquest.api.upstream.EmployeeUpstream;
+import com.reliaquest.api.upstream.RemoteEmployeeReads;
+import com.reliaquest.api.upstream.UpstreamUnavailableException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -124,4 +129,126 @@ public class EmployeeServiceTest {
                 "Should throw exception if employee does not exist");
     }
 
+    @Test
+    void testGetSalaryStatistics() {
+        employeeService.createEmployee(new EmployeeDTO("Alice", 5000));
+        employeeService.createEmployee(new EmployeeDTO("Bob", 7000));
+        Employee charlie = employeeService.createEmployee(new EmployeeDTO("Charlie", 6000));
+        employeeService.deleteEmployeeById(charlie.getId().toString());
+
+        SalaryStatistics statistics = employeeService.getSalaryStatistics();
+
+        assertEquals(2, statistics.getCount());
+        assertEquals(12000, statistics.getSum());
+        assertEquals(6000, statistics.getMean());
+        // Quantiles use the lower rank, so with two salaries every percentile below 100 is the smaller one
+        assertEquals(5000, statistics.getPercentiles().get("p50"), 5000 * statistics.getRelativeAccuracy());
+        assertEquals(5000, statistics.getPercentiles().get("p99"), 5000 * statistics.getRelativeAccuracy());
+    }
+
+    @Test
+    void testReadThroughFallsBackToLocalStoreWhileUpstreamUnavailable() {
+        ReadThroughUpstream upstream = new ReadThroughUpstream();
+        EmployeeService service = new EmployeeService(upstream);
+        Employee alice = service.createEmployee(new EmployeeDTO("Alice", 5000));
+
+        assertTrue(service.isReadThrough());
+        assertEquals(List.of("Remote"), service.getTopTenHighestSalaries());
+        assertEquals(9000, service.getHighestSalary());
+
+        upstream.available = false;
+
+        assertEquals(List.of("Alice"), service.getTopTenHighestSalaries());
+        assertEquals(5000, service.getHighestSalary());
+        assertEquals(Optional.of(alice), service.getEmployeeId(alice.getId().toString()));
+    }
+
+    @Test
+    void testReadThroughTypeaheadCompletesFromTheUpstream() {
+        ReadThroughUpstream upstream = new ReadThroughUpstream();
+        EmployeeService service = new EmployeeService(upstream);
+        Employee alice = service.createEmployee(new EmployeeDTO("Alice", 5000));
+
+        assertEquals(
+                List.of("Remote"),
+                service.getTypeaheadCompletions("REM", 10, NameTrie.Ranking.NAME).stream()
+                        .map(Employee::getName)
+                        .toList());
+        assertEquals(List.of(), service.getTypeaheadCompletions("al", 10, NameTrie.Ranking.NAME));
+        assertEquals(List.of(), service.getTypeaheadCompletions(" - ", 10, NameTrie.Ranking.NAME));
+
+        upstream.available = false;
+
+        assertEquals(List.of(alice), service.getTypeaheadCompletions("al", 10, NameTrie.Ranking.SALARY));
+    }
+
+    /**
+     * Upstream that answers every read with a fixed remote employee until it becomes unavailable.
+     */
+    private static class ReadThroughUpstream implements EmployeeUpstream, RemoteEmployeeReads {
+
+        private final Employee remote = new Employee(UUID.randomUUID(), "Remote", 9000);
+
+        private boolean available = true;
+
+        @Override
+        public boolean isRemote() {
+            return true;
+        }
+
+        @Override
+        public Optional<RemoteEmployeeReads> remoteReads() {
+            return Optional.of(this);
+        }
+
+        @Override
+        public List<Employee> fetchAll() {
+            return answer(List.of(remote));
+        }
+
+        @Override
+        public Employee create(UUID id, EmployeeDTO input) {
+            return new Employee(id, input.getName(), input.getSalary());
+        }
+
+        @Override
+        public void delete(String id) {}
+
+        @Override
+        public List<Employee> getAllEmployees() {
+            return answer(List.of(remote));
+        }
+
+        @Override
+        public List<Employee> searchEmployees(String search) {
+            return answer(List.of(remote));
+        }
+
+        @Override
+        public List<Employee> searchEmployeesFuzzy(String search, int maxDistance) {
+            return answer(List.of(remote));
+        }
+
+        @Override
+        public Optional<Employee> getEmployeeById(String id) {
+            return answer(Optional.of(remote));
+        }
+
+        @Override
+        public int getHighestSalary() {
+            return answer(remote.getSalary());
+        }
+
+        @Override
+        public List<String> getTopTenHighestSalaries() {
+            return answer(List.of(remote.getName()));
+        }
+
+        private <T> T answer(T value) {
+            if (!available) {
+                throw new UpstreamUnavailableException("Upstream circuit breaker is OPEN");
+            }
+            return value;
+        }
+    }
 }
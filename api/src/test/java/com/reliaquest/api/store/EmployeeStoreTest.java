@@ -0,0 +1,64 @@
+package com.reliaquest.api.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeStoreTest {
+
+    @Test
+    void testSnapshotIsIsolatedFromLaterWrites() {
+        EmployeeStore store = new EmployeeStore();
+        Employee alice = new Employee(UUID.randomUUID(), "Alice", 5000);
+        store.put(alice);
+
+        EmployeeSnapshot snapshot = store.snapshot();
+        store.put(new Employee(UUID.randomUUID(), "Bob", 6000));
+        store.remove(alice.getId().toString());
+
+        assertEquals(1, snapshot.size());
+        assertEquals("Alice", snapshot.values().get(0).getName());
+        assertTrue(snapshot.get(alice.getId().toString()).isPresent());
+        assertEquals(1, store.snapshot().size());
+        assertEquals(snapshot.version() + 2, store.snapshot().version());
+    }
+
+    @Test
+    void testValuesAreSharedWithinAVersion() {
+        EmployeeStore store = new EmployeeStore();
+        store.put(new Employee(UUID.randomUUID(), "Alice", 5000));
+
+        EmployeeSnapshot snapshot = store.snapshot();
+
+        assertSame(snapshot.values(), snapshot.values());
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.values().clear());
+    }
+
+    @Test
+    void testStreamsTheSnapshotsEmployees() {
+        EmployeeStore store = new EmployeeStore();
+        for (int i = 0; i < 100; i++) {
+            store.put(new Employee(UUID.randomUUID(), "Employee " + i, 1000 + i));
+        }
+
+        EmployeeSnapshot snapshot = store.snapshot();
+        store.put(new Employee(UUID.randomUUID(), "Later", 9000));
+
+        assertEquals(Set.copyOf(snapshot.values()), snapshot.stream().collect(Collectors.toSet()));
+        assertEquals(100, snapshot.stream().count());
+    }
+
+    @Test
+    void testRemovingUnknownIdKeepsVersion() {
+        EmployeeStore store = new EmployeeStore();
+        long version = store.snapshot().version();
+
+        store.remove(UUID.randomUUID().toString());
+
+        assertEquals(version, store.snapshot().version());
+    }
+}
@@ -0,0 +1,71 @@
+package com.reliaquest.api.store;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class PersistentHashMapTest {
+
+    /*
+     * Key with a caller-chosen hash code, used to force full hash collisions.
+     */
+    private record Key(int hash, int id) {
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    @Test
+    void testPutDoesNotAffectPreviousVersion() {
+        PersistentHashMap<String, Integer> v1 = PersistentHashMap.<String, Integer>empty().put("a", 1);
+        PersistentHashMap<String, Integer> v2 = v1.put("b", 2).put("a", 10);
+
+        assertEquals(1, v1.size());
+        assertEquals(1, v1.get("a"));
+        assertNull(v1.get("b"));
+        assertEquals(2, v2.size());
+        assertEquals(10, v2.get("a"));
+    }
+
+    @Test
+    void testRemoveAbsentKeyReturnsSameMap() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().put("a", 1);
+
+        assertSame(map, map.remove("missing"));
+        assertTrue(map.remove("a").isEmpty());
+    }
+
+    @Test
+    void testMatchesHashMapUnderRandomUpdates() {
+        Random random = new Random(42);
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        Map<Key, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 20_000; i++) {
+            // Few distinct hashes so that collision nodes are exercised as well
+            Key key = new Key(random.nextInt(64), random.nextInt(500));
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(key, i);
+                expected.put(key, i);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        Map<Key, Integer> actual = new HashMap<>();
+        map.forEachEntry(actual::put);
+        assertEquals(expected, actual);
+
+        List<Integer> values = new ArrayList<>();
+        map.iterator().forEachRemaining(values::add);
+        assertEquals(expected.size(), values.size());
+    }
+}
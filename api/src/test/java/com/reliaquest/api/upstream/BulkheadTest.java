@@ -0,0 +1,74 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.deadline.Deadline;
+import com.reliaquest.api.deadline.DeadlineExceededException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class BulkheadTest {
+
+    @Test
+    void testRejectsWhenFull() {
+        Bulkhead bulkhead = new Bulkhead("getAll", 2, Duration.ZERO);
+
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+        assertEquals(0, bulkhead.getAvailableConcurrentCalls());
+        assertEquals(1, bulkhead.getRejectedCount());
+
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+        assertEquals(1, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void testWaitsUpToTheMaxWaitDurationBeforeRejecting() {
+        Bulkhead bulkhead = new Bulkhead("getAll", 1, Duration.ofMillis(200));
+        assertTrue(bulkhead.tryAcquire());
+
+        long start = System.nanoTime();
+        assertFalse(bulkhead.tryAcquire());
+
+        assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(200));
+        assertEquals(1, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void testWaitingCallerGetsAReleasedSlot() throws Exception {
+        Bulkhead bulkhead = new Bulkhead("getAll", 1, Duration.ofSeconds(10));
+        assertTrue(bulkhead.tryAcquire());
+        CountDownLatch waiting = new CountDownLatch(1);
+
+        CompletableFuture<Boolean> waiter = CompletableFuture.supplyAsync(() -> {
+            waiting.countDown();
+            return bulkhead.tryAcquire();
+        });
+        waiting.await();
+        Thread.sleep(50);
+        bulkhead.release();
+
+        assertTrue(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(0, bulkhead.getRejectedCount());
+    }
+
+    @Test
+    void testWaitStopsAtTheCallersDeadline() {
+        Bulkhead bulkhead = new Bulkhead("getAll", 1, Duration.ofSeconds(10));
+        assertTrue(bulkhead.tryAcquire());
+
+        long start = System.nanoTime();
+        try (Deadline.Scope ignored = Deadline.bind(Deadline.after(Duration.ofMillis(100)))) {
+            assertThrows(DeadlineExceededException.class, bulkhead::tryAcquire);
+        }
+
+        assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+        // Running out of time is not the bulkhead being full
+        assertEquals(0, bulkhead.getRejectedCount());
+    }
+}
@@ -0,0 +1,125 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class CircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+
+    private MutableClock clock;
+    private CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        UpstreamProperties.CircuitBreakerSettings settings = new UpstreamProperties.CircuitBreakerSettings();
+        settings.setSlidingWindowSize(10);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setFailureRateThreshold(50);
+        settings.setSlowCallRateThreshold(100);
+        settings.setSlowCallDurationThreshold(Duration.ofSeconds(1));
+        settings.setWaitDurationInOpenState(Duration.ofSeconds(30));
+        settings.setPermittedCallsInHalfOpenState(2);
+        clock = new MutableClock();
+        circuitBreaker = new CircuitBreaker("test", settings, clock);
+    }
+
+    @Test
+    void testOpensWhenFailureRateReachesThreshold() {
+        record(true, true, false, false);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+        assertEquals(1, circuitBreaker.getNotPermittedCount());
+        assertEquals(1, circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN));
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumNumberOfCalls() {
+        record(true, true, true);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testOpensOnSlowCalls() {
+        for (int i = 0; i < 4; i++) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            circuitBreaker.onSuccess(Duration.ofSeconds(2));
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpenClosesAfterSuccessfulTrialCalls() {
+        record(true, true, true, true);
+        clock.advance(Duration.ofSeconds(30));
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertFalse(circuitBreaker.tryAcquirePermission(), "Only the permitted trial calls may pass");
+
+        circuitBreaker.onSuccess(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void testHalfOpenReopensOnFailedTrialCalls() {
+        record(true, true, true, true);
+        clock.advance(Duration.ofSeconds(30));
+
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        circuitBreaker.onError(FAST);
+        circuitBreaker.onSuccess(FAST);
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertEquals(2, circuitBreaker.getTransitionCount(CircuitBreaker.State.OPEN));
+    }
+
+    private void record(boolean... failures) {
+        for (boolean failure : failures) {
+            assertTrue(circuitBreaker.tryAcquirePermission());
+            if (failure) {
+                circuitBreaker.onError(FAST);
+            } else {
+                circuitBreaker.onSuccess(FAST);
+            }
+        }
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class ConsistentHashRingTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    void testKeysAreSpreadEvenly() {
+        ConsistentHashRing<String> ring =
+                new ConsistentHashRing<>(List.of("a", "b", "c", "d"), Function.identity(), 128);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (String key : keys()) {
+            counts.merge(ring.nodeFor(key), 1, Integer::sum);
+        }
+
+        assertEquals(4, counts.size());
+        for (int count : counts.values()) {
+            assertTrue(Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2, "Share too uneven: " + counts);
+        }
+    }
+
+    @Test
+    void testAddingANodeOnlyMovesKeysToIt() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of("a", "b", "c"), Function.identity(), 128);
+        ConsistentHashRing<String> extended = ring.with("d");
+
+        int moved = 0;
+        for (String key : keys()) {
+            String before = ring.nodeFor(key);
+            String after = extended.nodeFor(key);
+            if (!before.equals(after)) {
+                assertEquals("d", after, "A key moved between existing nodes");
+                moved++;
+            }
+        }
+
+        // Roughly a quarter of the keys belong to the fourth node
+        assertTrue(moved > KEYS * 0.2 && moved < KEYS * 0.3, "Moved " + moved);
+        assertEquals(List.of("a", "b", "c", "d"), extended.getNodes());
+        assertEquals(List.of("a", "b", "c"), ring.getNodes());
+    }
+
+    @Test
+    void testPlacementIsStable() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of("a", "b"), Function.identity(), 16);
+        ConsistentHashRing<String> reordered = new ConsistentHashRing<>(List.of("b", "a"), Function.identity(), 16);
+
+        for (String key : keys().subList(0, 1_000)) {
+            assertEquals(ring.nodeFor(key), ring.nodeFor(key));
+            assertEquals(ring.nodeFor(key), reordered.nodeFor(key));
+        }
+    }
+
+    @Test
+    void testRejectsEmptyRing() {
+        assertThrows(IllegalArgumentException.class, () -> new ConsistentHashRing<>(List.of(), Object::toString, 8));
+    }
+
+    private static List<String> keys() {
+        Random random = new Random(3);
+        return Stream.generate(() -> new UUID(random.nextLong(), random.nextLong()).toString())
+                .limit(KEYS)
+                .toList();
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeClientTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicReference<String> requestBody = new AtomicReference<>();
+    private final AtomicReference<String> responseBody = new AtomicReference<>();
+    private HttpServer server;
+    private MockEmployeeClient client;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employee/batch", exchange -> {
+            try (exchange) {
+                requestBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+                byte[] body = responseBody.get().getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+        });
+        server.start();
+        URI baseUrl = URI.create("http://localhost:" + server.getAddress().getPort() + "/api/v1/employee");
+        client = new MockEmployeeClient(HttpClient.newHttpClient(), objectMapper, new UpstreamProperties(), baseUrl);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void testSendsTheWritesAndReturnsOneResultEach() throws Exception {
+        UUID created = UUID.randomUUID();
+        String deleted = UUID.randomUUID().toString();
+        responseBody.set("{\"data\":["
+                + "{\"status\":\"CREATED\",\"employee\":{\"id\":\"" + created
+                + "\",\"employee_name\":\"Alice Walker\",\"employee_salary\":5000}},"
+                + "{\"status\":\"FAILED\",\"error\":\"create.salary must be greater than 0\"},"
+                + "{\"status\":\"DELETED\"}],"
+                + "\"status\":\"Successfully processed request.\"}");
+
+        List<UpstreamWriteResult> results = client.applyBatch(List.of(
+                UpstreamWrite.create(created, new EmployeeDTO("Alice Walker", 5000)),
+                UpstreamWrite.create(UUID.randomUUID(), new EmployeeDTO("Bob Stone", -1)),
+                UpstreamWrite.delete(deleted)));
+
+        JsonNode sent = objectMapper.readTree(requestBody.get());
+        assertEquals(3, sent.size());
+        assertEquals("CREATE", sent.get(0).get("type").asText());
+        assertEquals(created.toString(), sent.get(0).get("create").get("id").asText());
+        assertEquals("Alice Walker", sent.get(0).get("create").get("name").asText());
+        assertEquals("DELETE", sent.get(2).get("type").asText());
+        assertEquals(deleted, sent.get(2).get("id").asText());
+
+        assertEquals(3, results.size());
+        assertEquals(UpstreamWriteResult.Status.CREATED, results.get(0).status());
+        assertEquals(created, results.get(0).employee().getId());
+        assertEquals(UpstreamWriteResult.Status.FAILED, results.get(1).status());
+        assertEquals("create.salary must be greater than 0", results.get(1).error());
+        assertEquals(UpstreamWriteResult.Status.DELETED, results.get(2).status());
+        assertNull(results.get(2).employee());
+    }
+
+    @Test
+    void testRejectsABatchAnsweredWithTheWrongNumberOfResults() {
+        responseBody.set("{\"data\":[{\"status\":\"DELETED\"}],\"status\":\"Successfully processed request.\"}");
+        List<UpstreamWrite> writes = List.of(
+                UpstreamWrite.delete(UUID.randomUUID().toString()),
+                UpstreamWrite.delete(UUID.randomUUID().toString()));
+
+        UpstreamException mismatch = assertThrows(UpstreamException.class, () -> client.applyBatch(writes));
+
+        assertTrue(mismatch.getMessage().endsWith("returned 1 results"), mismatch.getMessage());
+        // Which writes were applied is unknown, so the batch counts as an upstream fault
+        assertTrue(mismatch.isUpstreamFault());
+
+        responseBody.set("{\"status\":\"Successfully processed request.\"}");
+        assertThrows(UpstreamException.class, () -> client.applyBatch(writes));
+    }
+}
@@ -0,0 +1,163 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.EmployeeService;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+
+public class ResilientEmployeeUpstreamTest {
+
+    private static final UpstreamEmployee ALICE =
+            new UpstreamEmployee(UUID.randomUUID(), "Alice Walker", 5000, 30, "Engineer", null);
+
+    @Test
+    void testReleasesTheBulkheadWhenTheCallThrows() {
+        FakeClient client = new FakeClient();
+        ResilientEmployeeUpstream upstream = upstream(client, 2);
+
+        client.getAll = () -> {
+            throw new UpstreamException("Upstream failed", 500);
+        };
+        assertThrows(UpstreamException.class, upstream::fetchAll);
+        client.getAll = () -> {
+            throw new IllegalStateException("Unreadable response");
+        };
+        assertThrows(IllegalStateException.class, upstream::fetchAll);
+        client.getAll = () -> List.of(ALICE);
+        for (int i = 0; i < 5; i++) {
+            assertEquals(List.of("Alice Walker"), names(upstream.fetchAll()));
+        }
+
+        for (Bulkhead bulkhead : upstream.getBulkheads()) {
+            assertEquals(2, bulkhead.getAvailableConcurrentCalls(), bulkhead.getName());
+            assertEquals(0, bulkhead.getRejectedCount(), bulkhead.getName());
+        }
+    }
+
+    @Test
+    void testRejectsCallsBeyondTheBulkhead() throws Exception {
+        FakeClient client = new FakeClient();
+        ResilientEmployeeUpstream upstream = upstream(client, 1);
+        CountDownLatch called = new CountDownLatch(1);
+        CountDownLatch answer = new CountDownLatch(1);
+        client.getAll = () -> {
+            called.countDown();
+            await(answer);
+            return List.of(ALICE);
+        };
+
+        CompletableFuture<List<Employee>> blocked = CompletableFuture.supplyAsync(upstream::fetchAll);
+        called.await();
+        UpstreamUnavailableException rejected = assertThrows(UpstreamUnavailableException.class, upstream::fetchAll);
+        answer.countDown();
+
+        assertEquals("Too many concurrent upstream getAll calls", rejected.getMessage());
+        assertEquals(List.of("Alice Walker"), names(blocked.get(5, TimeUnit.SECONDS)));
+        assertEquals(1, client.calls.get(), "The rejected call must not reach the upstream");
+        assertEquals(CircuitBreaker.State.CLOSED, upstream.getCircuitBreaker().getState());
+    }
+
+    @Test
+    void testClientErrorsDoNotOpenTheCircuitBreaker() {
+        FakeClient client = new FakeClient();
+        ResilientEmployeeUpstream upstream = upstream(client, 2);
+
+        for (int status : new int[] {400, 404, 400, 404, 400, 404}) {
+            client.getAll = () -> {
+                throw new UpstreamException("Rejected", status);
+            };
+            assertThrows(UpstreamException.class, upstream::fetchAll);
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, upstream.getCircuitBreaker().getState());
+
+        for (int status : new int[] {500, 503, 429, 0}) {
+            client.getAll = () -> {
+                throw new UpstreamException("Failed", status);
+            };
+            assertThrows(UpstreamException.class, upstream::fetchAll);
+        }
+        assertEquals(CircuitBreaker.State.OPEN, upstream.getCircuitBreaker().getState());
+
+        int calls = client.calls.get();
+        assertThrows(UpstreamUnavailableException.class, upstream::fetchAll);
+        assertEquals(calls, client.calls.get(), "An open circuit breaker must not call the upstream");
+    }
+
+    @Test
+    void testReadsFallBackToTheLocalStoreWhenTheUpstreamFails() {
+        FakeClient client = new FakeClient();
+        client.getAll = () -> List.of(ALICE);
+        try (ShardedEmployeeUpstream sharded = new ShardedEmployeeUpstream(List.of(upstream(client, 2)), 16, true)) {
+            EmployeeService service = new EmployeeService(sharded);
+            service.refreshFromUpstream();
+            UpstreamEmployee bob = new UpstreamEmployee(UUID.randomUUID(), "Bob Stone", 6000, 40, "Manager", null);
+            client.getAll = () -> List.of(ALICE, bob);
+            assertEquals(2, service.getAllEmployees().size(), "Read through while the upstream answers");
+
+            client.getAll = () -> {
+                throw new UpstreamException("Upstream failed", 503);
+            };
+            // The failures open the circuit breaker, after which the reads are rejected without a call
+            for (int i = 0; i < 6; i++) {
+                assertEquals(List.of("Alice Walker"), names(service.getAllEmployees()));
+            }
+            assertEquals(
+                    CircuitBreaker.State.OPEN,
+                    sharded.getShards().get(0).getCircuitBreaker().getState());
+        }
+    }
+
+    private static ResilientEmployeeUpstream upstream(FakeClient client, int maxConcurrentCalls) {
+        UpstreamProperties.CircuitBreakerSettings circuitBreaker = new UpstreamProperties.CircuitBreakerSettings();
+        circuitBreaker.setSlidingWindowSize(10);
+        circuitBreaker.setMinimumNumberOfCalls(4);
+        circuitBreaker.setFailureRateThreshold(40);
+        circuitBreaker.setWaitDurationInOpenState(Duration.ofMinutes(1));
+        UpstreamProperties.BulkheadSettings bulkhead = new UpstreamProperties.BulkheadSettings();
+        bulkhead.setMaxConcurrentCalls(maxConcurrentCalls);
+        return new ResilientEmployeeUpstream(
+                client, new CircuitBreaker(client.getBaseUrl().toString(), circuitBreaker), bulkhead);
+    }
+
+    private static List<String> names(List<Employee> employees) {
+        return employees.stream().map(Employee::getName).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A mock server whose list endpoint does whatever the test tells it to.
+     */
+    private static final class FakeClient extends MockEmployeeClient {
+
+        private final AtomicInteger calls = new AtomicInteger();
+        private volatile Supplier<List<UpstreamEmployee>> getAll = List::of;
+
+        private FakeClient() {
+            super(null, new ObjectMapper(), new UpstreamProperties(), URI.create("http://fake/api/v1/employee"));
+        }
+
+        @Override
+        List<UpstreamEmployee> getAllRecords() {
+            calls.incrementAndGet();
+            return getAll.get();
+        }
+    }
+}
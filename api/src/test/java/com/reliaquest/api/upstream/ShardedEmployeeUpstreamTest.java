@@ -0,0 +1,142 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class ShardedEmployeeUpstreamTest {
+
+    @Test
+    void testAddShardMovesTheEmployeesItOwns() {
+        InMemoryClient first = new InMemoryClient("first");
+        InMemoryClient second = new InMemoryClient("second");
+        try (ShardedEmployeeUpstream sharded = new ShardedEmployeeUpstream(List.of(shard(first)), 16, false)) {
+            List<UUID> ids = createEmployees(sharded, 50);
+
+            int moved = sharded.addShard(shard(second));
+
+            assertTrue(moved > 0);
+            assertEquals(moved, second.employees.size());
+            assertEquals(50, first.employees.size() + second.employees.size());
+            for (UUID id : ids) {
+                assertTrue(sharded.getEmployeeById(id.toString()).isPresent());
+            }
+        }
+    }
+
+    @Test
+    void testDeleteDuringAMoveIsNotUndone() {
+        InMemoryClient first = new InMemoryClient("first");
+        InMemoryClient second = new InMemoryClient("second");
+        try (ShardedEmployeeUpstream sharded = new ShardedEmployeeUpstream(List.of(shard(first)), 16, false)) {
+            createEmployees(sharded, 50);
+            List<String> deleted = new ArrayList<>();
+            // Once the rebalance has listed the first server, every employee it is about to move is deleted
+            first.afterList = () -> first.employees.keySet().stream()
+                    .map(UUID::toString)
+                    .toList()
+                    .forEach(id -> {
+                        sharded.delete(id);
+                        deleted.add(id);
+                    });
+
+            assertEquals(0, sharded.addShard(shard(second)));
+
+            assertEquals(50, deleted.size());
+            assertTrue(first.employees.isEmpty());
+            assertTrue(second.employees.isEmpty(), "Moved back: " + second.employees.keySet());
+            for (String id : deleted) {
+                assertEquals(Optional.empty(), sharded.getEmployeeById(id));
+            }
+        }
+    }
+
+    @Test
+    void testDeleteAfterAMoveRemovesTheMovedEmployee() {
+        InMemoryClient first = new InMemoryClient("first");
+        InMemoryClient second = new InMemoryClient("second");
+        try (ShardedEmployeeUpstream sharded = new ShardedEmployeeUpstream(List.of(shard(first)), 16, false)) {
+            List<UUID> ids = createEmployees(sharded, 50);
+            sharded.addShard(shard(second));
+
+            ids.forEach(id -> sharded.delete(id.toString()));
+
+            assertTrue(first.employees.isEmpty());
+            assertTrue(second.employees.isEmpty());
+        }
+    }
+
+    private static List<UUID> createEmployees(ShardedEmployeeUpstream sharded, int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> {
+                    UUID id = UUID.randomUUID();
+                    sharded.create(id, new EmployeeDTO("Employee " + i, 1000 + i));
+                    return id;
+                })
+                .toList();
+    }
+
+    private static ResilientEmployeeUpstream shard(InMemoryClient client) {
+        return new ResilientEmployeeUpstream(
+                client,
+                new CircuitBreaker(client.getBaseUrl().toString(), new UpstreamProperties.CircuitBreakerSettings()),
+                new UpstreamProperties.BulkheadSettings());
+    }
+
+    /**
+     * A mock server that keeps its employees in memory.
+     */
+    private static final class InMemoryClient extends MockEmployeeClient {
+
+        private final Map<UUID, UpstreamEmployee> employees = new ConcurrentHashMap<>();
+        private Runnable afterList = () -> {};
+
+        private InMemoryClient(String host) {
+            super(
+                    null,
+                    new ObjectMapper(),
+                    new UpstreamProperties(),
+                    URI.create("http://" + host + "/api/v1/employee"));
+        }
+
+        @Override
+        List<UpstreamEmployee> getAllRecords() {
+            List<UpstreamEmployee> records = List.copyOf(employees.values());
+            Runnable hook = afterList;
+            afterList = () -> {};
+            hook.run();
+            return records;
+        }
+
+        @Override
+        public Optional<Employee> getById(String id) {
+            return Optional.ofNullable(employees.get(UUID.fromString(id))).map(UpstreamEmployee::toEmployee);
+        }
+
+        @Override
+        public Employee create(UUID id, EmployeeDTO input) {
+            return employees
+                    .computeIfAbsent(
+                            id,
+                            ignored -> new UpstreamEmployee(
+                                    id, input.getName(), input.getSalary(), input.getAge(), input.getTitle(), null))
+                    .toEmployee();
+        }
+
+        @Override
+        public boolean delete(String id) {
+            return employees.remove(UUID.fromString(id)) != null;
+        }
+    }
+}
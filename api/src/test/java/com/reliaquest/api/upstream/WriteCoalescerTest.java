@@ -0,0 +1,140 @@
+package com.reliaquest.api.upstream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class WriteCoalescerTest {
+
+    @Test
+    void testConcurrentWritesShareBatches() throws Exception {
+        FakeSender sender = new FakeSender(Duration.ofMillis(5));
+        int writers = 64;
+        List<UUID> ids = new ArrayList<>();
+        List<CompletableFuture<UpstreamWriteResult>> results = new CopyOnWriteArrayList<>();
+        try (WriteCoalescer coalescer = new WriteCoalescer(sender, Duration.ofMillis(20), 100, "test")) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                UUID id = UUID.randomUUID();
+                ids.add(id);
+                Thread thread = new Thread(() -> {
+                    awaitQuietly(start);
+                    results.add(coalescer.submit(UpstreamWrite.create(id, new EmployeeDTO("Employee", 1000))));
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            start.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Every caller gets the result of its own write
+            List<UUID> created = new ArrayList<>();
+            for (CompletableFuture<UpstreamWriteResult> result : results) {
+                UpstreamWriteResult written = result.get(5, TimeUnit.SECONDS);
+                assertEquals(UpstreamWriteResult.Status.CREATED, written.status());
+                created.add(written.employee().getId());
+            }
+            assertTrue(created.containsAll(ids));
+            assertEquals(writers, coalescer.getWriteCount());
+            assertTrue(coalescer.getBatchCount() < writers / 4, "Sent " + coalescer.getBatchCount() + " batches");
+            assertEquals(coalescer.getBatchCount(), sender.batchSizes.size());
+        }
+    }
+
+    @Test
+    void testFullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        FakeSender sender = new FakeSender(Duration.ZERO);
+        try (WriteCoalescer coalescer = new WriteCoalescer(sender, Duration.ofSeconds(30), 4, "test")) {
+            List<CompletableFuture<UpstreamWriteResult>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(coalescer.submit(UpstreamWrite.delete(UUID.randomUUID().toString())));
+            }
+
+            for (CompletableFuture<UpstreamWriteResult> result : results) {
+                assertEquals(UpstreamWriteResult.Status.DELETED, result.get(5, TimeUnit.SECONDS).status());
+            }
+            assertEquals(List.of(4, 4), sender.batchSizes);
+        }
+    }
+
+    @Test
+    void testFailedBatchFailsOnlyItsOwnWrites() throws Exception {
+        FakeSender sender = new FakeSender(Duration.ZERO);
+        sender.failNext = true;
+        try (WriteCoalescer coalescer = new WriteCoalescer(sender, Duration.ZERO, 100, "test")) {
+            CompletableFuture<UpstreamWriteResult> failed = coalescer.submit(UpstreamWrite.delete("a"));
+
+            CompletionException e = assertThrows(CompletionException.class, failed::join);
+            assertInstanceOf(UpstreamException.class, e.getCause());
+            assertEquals(
+                    UpstreamWriteResult.Status.DELETED,
+                    coalescer.submit(UpstreamWrite.delete("b")).get(5, TimeUnit.SECONDS).status());
+        }
+    }
+
+    @Test
+    void testRejectsWritesAfterClose() {
+        WriteCoalescer coalescer = new WriteCoalescer(new FakeSender(Duration.ZERO), Duration.ZERO, 100, "test");
+        coalescer.close();
+
+        CompletionException e = assertThrows(
+                CompletionException.class, () -> coalescer.submit(UpstreamWrite.delete("a")).join());
+        assertInstanceOf(UpstreamUnavailableException.class, e.getCause());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Answers every write successfully after a fixed delay, like a mock server applying a batch.
+     */
+    private static class FakeSender implements WriteCoalescer.BatchSender {
+
+        private final Duration latency;
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private volatile boolean failNext;
+
+        FakeSender(Duration latency) {
+            this.latency = latency;
+        }
+
+        @Override
+        public List<UpstreamWriteResult> send(List<UpstreamWrite> writes) {
+            if (failNext) {
+                failNext = false;
+                throw new UpstreamException("Upstream returned 503", 503);
+            }
+            batchSizes.add(writes.size());
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return writes.stream()
+                    .map(write -> write.type() == UpstreamWrite.Type.CREATE
+                            ? UpstreamWriteResult.created(new Employee(
+                                    UUID.fromString(write.id()), write.input().getName(), write.input().getSalary()))
+                            : UpstreamWriteResult.deleted(true))
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.reliaquest.api.warmup;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.upstream.EmployeeUpstream;
+import com.reliaquest.api.upstream.UpstreamException;
+import com.sun.net.httpserver.HttpServer;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+public class WarmupTest {
+
+    @Test
+    void testRetriesTheLoadWithBackoffThenWarmsUp() throws Exception {
+        AtomicInteger received = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/api/v1/employee", exchange -> {
+            received.incrementAndGet();
+            byte[] body = "[]".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        try {
+            EmployeeService service = new EmployeeService(new FailingUpstream(2));
+            WarmupProperties properties = properties();
+            properties.setRequests(50);
+            properties.setConcurrency(2);
+            Warmup warmup = new Warmup(service, properties);
+            assertEquals(Warmup.Stage.LOADING, warmup.getStage());
+            assertFalse(warmup.isLoaded());
+
+            long start = System.nanoTime();
+            warmup.run(URI.create("http://localhost:" + server.getAddress().getPort() + "/api/v1/employee"));
+
+            // Waited 10 and 20 ms between the three attempts
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(30));
+            assertEquals(3, warmup.getLoadAttempts());
+            assertEquals(3, service.snapshot().size());
+            assertEquals(50, warmup.getRequestCount());
+            assertEquals(50, received.get());
+            assertEquals(0, warmup.getFailedRequestCount());
+            assertTrue(warmup.isReady());
+            assertTrue(warmup.isLoaded());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void testReportsReadyWhenTheUpstreamStaysDown() {
+        EmployeeService service = new EmployeeService(new FailingUpstream(Integer.MAX_VALUE));
+        WarmupProperties properties = properties();
+        properties.setLoadTimeout(Duration.ofMillis(100));
+        Warmup warmup = new Warmup(service, properties);
+
+        warmup.run(null);
+
+        assertTrue(warmup.isReady());
+        assertTrue(warmup.isLoaded());
+        assertTrue(warmup.getLoadAttempts() > 1 && warmup.getLoadAttempts() < 10, "" + warmup.getLoadAttempts());
+        assertEquals(0, service.snapshot().size());
+        assertEquals(0, warmup.getRequestCount());
+    }
+
+    @Test
+    void testDisabledIsReadyAtOnce() {
+        FailingUpstream upstream = new FailingUpstream(0);
+        WarmupProperties properties = properties();
+        properties.setEnabled(false);
+        Warmup warmup = new Warmup(new EmployeeService(upstream), properties);
+
+        assertTrue(warmup.isReady());
+        assertTrue(warmup.isLoaded());
+        warmup.run(null);
+        assertEquals(0, upstream.calls.get());
+    }
+
+    private static WarmupProperties properties() {
+        WarmupProperties properties = new WarmupProperties();
+        properties.setLoadRetryBackoff(Duration.ofMillis(10));
+        properties.setMaxLoadRetryBackoff(Duration.ofMillis(40));
+        properties.setMaxDuration(Duration.ofSeconds(10));
+        return properties;
+    }
+
+    /**
+     * Upstream that refuses the first loads as rate limited.
+     */
+    private static class FailingUpstream implements EmployeeUpstream {
+
+        private final int failures;
+        private final AtomicInteger calls = new AtomicInteger();
+
+        FailingUpstream(int failures) {
+            this.failures = failures;
+        }
+
+        @Override
+        public boolean isRemote() {
+            return true;
+        }
+
+        @Override
+        public List<Employee> fetchAll() {
+            if (calls.incrementAndGet() <= failures) {
+                throw new UpstreamException("Too many requests", 429);
+            }
+            return List.of(
+                    new Employee(UUID.randomUUID(), "Ada Lovelace", 100),
+                    new Employee(UUID.randomUUID(), "Grace Hopper", 200),
+                    new Employee(UUID.randomUUID(), "Alan Turing", 300));
+        }
+
+        @Override
+        public Employee create(UUID id, EmployeeDTO input) {
+            return new Employee(id, input.getName(), input.getSalary());
+        }
+
+        @Override
+        public void delete(String id) {}
+    }
+}
@@ -0,0 +1,30 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.Test;
+
+public class AcceptEncodingTest {
+
+    @Test
+    void testAcceptsListedGzip() {
+        assertTrue(AcceptEncoding.acceptsGzip("gzip"));
+        assertTrue(AcceptEncoding.acceptsGzip("deflate, GZIP;q=0.5, br"));
+        assertTrue(AcceptEncoding.acceptsGzip("*"));
+    }
+
+    @Test
+    void testRefusesGzipWithZeroQuality() {
+        assertFalse(AcceptEncoding.acceptsGzip(null));
+        assertFalse(AcceptEncoding.acceptsGzip("identity"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip;q=0"));
+        assertFalse(AcceptEncoding.acceptsGzip("gzip; q=0.000, deflate"));
+        assertFalse(AcceptEncoding.acceptsGzip("*;q=0"));
+    }
+
+    @Test
+    void testGzipEntryDecidesOverWildcard() {
+        assertFalse(AcceptEncoding.acceptsGzip("*, gzip;q=0"));
+        assertTrue(AcceptEncoding.acceptsGzip("*;q=0, gzip"));
+    }
+}
@@ -0,0 +1,266 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.ApiConfiguration;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.deadline.DeadlineInterceptor;
+import com.reliaquest.api.limit.ConcurrencyLimitInterceptor;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.replication.ReplicaReadInterceptor;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.upstream.EmployeeUpstream;
+import com.reliaquest.api.upstream.RemoteEmployeeReads;
+import java.io.ByteArrayInputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+
+public class ResponseBodyCacheInterceptorTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private ResponseBodyCache cache;
+    private EmployeeService service;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(objectMapper);
+        service = new EmployeeService();
+        service.createEmployee(new EmployeeDTO("Alice Walker", 5000));
+        service.createEmployee(new EmployeeDTO("Bob Stone", 6000));
+        mockMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(service))
+                .addInterceptors(new ResponseBodyCacheInterceptor(cache, service))
+                .build();
+    }
+
+    @Test
+    void testSecondReadIsServedFromTheCachedBytes() throws Exception {
+        byte[] first = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size()").value(2))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        ResponseBodyCache.CachedBody cached = cache.get("getAllEmployees", service.getVersion(), () -> {
+            throw new AssertionError("The first read should have cached the body");
+        });
+        assertArrayEquals(cached.identity(), first);
+        mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(content().bytes(cached.identity()));
+    }
+
+    @Test
+    void testWriteInvalidatesTheCachedBodyThroughTheVersion() throws Exception {
+        mockMvc.perform(get("/api/v1/employee")).andExpect(jsonPath("$.size()").value(2));
+        mockMvc.perform(get("/api/v1/employee/highestSalary")).andExpect(content().string("6000"));
+
+        String created = mockMvc.perform(post("/api/v1/employee")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeeDTO("Carol Reed", 9000))))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        mockMvc.perform(get("/api/v1/employee")).andExpect(jsonPath("$.size()").value(3));
+        mockMvc.perform(get("/api/v1/employee/highestSalary")).andExpect(content().string("9000"));
+        mockMvc.perform(get("/api/v1/employee/topTenHighestEarningEmployeeNames"))
+                .andExpect(jsonPath("$[0]").value("Carol Reed"));
+
+        String id = objectMapper.readTree(created).get("id").asText();
+        mockMvc.perform(delete("/api/v1/employee/" + id)).andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/employee/highestSalary")).andExpect(content().string("6000"));
+    }
+
+    @Test
+    void testServesGzipOnlyToClientsThatAcceptIt() throws Exception {
+        byte[] identity = mockMvc.perform(get("/api/v1/employee"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        MockHttpServletResponse gzipped = mockMvc.perform(
+                        get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn()
+                .getResponse();
+
+        assertEquals(gzipped.getContentAsByteArray().length, gzipped.getContentLength());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzipped.getContentAsByteArray()))) {
+            assertArrayEquals(identity, in.readAllBytes());
+        }
+        mockMvc.perform(get("/api/v1/employee").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(content().bytes(identity));
+    }
+
+    @Test
+    void testIsNotRegisteredWhenReadsGoToTheUpstream() throws Exception {
+        ReadThroughUpstream upstream = new ReadThroughUpstream();
+        upstream.employees.add(new Employee(UUID.randomUUID(), "Alice Walker", 5000));
+        EmployeeService readThrough = new EmployeeService(upstream);
+
+        assertEquals(List.of(ResponseBodyCacheInterceptor.class), registeredInterceptors(service));
+        assertEquals(List.of(), registeredInterceptors(readThrough));
+
+        MockMvc readThroughMvc = MockMvcBuilders.standaloneSetup(new EmployeeController(readThrough))
+                .build();
+        readThroughMvc.perform(get("/api/v1/employee")).andExpect(jsonPath("$.size()").value(1));
+        upstream.employees.add(new Employee(UUID.randomUUID(), "Bob Stone", 6000));
+        readThroughMvc.perform(get("/api/v1/employee")).andExpect(jsonPath("$.size()").value(2));
+        assertEquals(2, upstream.reads.get());
+    }
+
+    @Test
+    void testRecordsCacheHits(@TempDir Path directory) throws Exception {
+        Path dump = directory.resolve("cache.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reliaquest.EmployeeOperation");
+            recording.start();
+            mockMvc.perform(get("/api/v1/employee")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/v1/employee")).andExpect(status().isOk());
+            mockMvc.perform(get("/api/v1/employee/highestSalary")).andExpect(status().isOk());
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("com.reliaquest.EmployeeOperation"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+        assertEquals(3, events.size());
+        assertEvent(events.get(0), "getAll", "local", 2);
+        assertEvent(events.get(1), "getAll", "cache", 2);
+        assertEvent(events.get(2), "highestSalary", "local", 1);
+    }
+
+    /*
+     * The interceptors the api's configuration registers with nothing but the response cache and the service.
+     */
+    private List<Class<?>> registeredInterceptors(EmployeeService employeeService) {
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("responseBodyCache", cache);
+        beans.registerSingleton("employeeService", employeeService);
+        List<Class<?>> registered = new ArrayList<>();
+        new ApiConfiguration(
+                        beans.getBeanProvider(ResponseBodyCache.class),
+                        beans.getBeanProvider(EmployeeService.class),
+                        beans.getBeanProvider(ReplicaReadInterceptor.class),
+                        beans.getBeanProvider(DeadlineInterceptor.class),
+                        beans.getBeanProvider(ConcurrencyLimitInterceptor.class))
+                .addInterceptors(new InterceptorRegistry() {
+                    @Override
+                    public InterceptorRegistration addInterceptor(HandlerInterceptor interceptor) {
+                        registered.add(interceptor.getClass());
+                        return super.addInterceptor(interceptor);
+                    }
+                });
+        return registered;
+    }
+
+    private static void assertEvent(RecordedEvent event, String operation, String source, int resultSize) {
+        assertEquals(operation, event.getString("operation"));
+        assertEquals(source, event.getString("source"));
+        assertEquals(2, event.getInt("datasetSize"));
+        assertEquals(resultSize, event.getInt("resultSize"));
+    }
+
+    /**
+     * An upstream that answers the reads itself, as the mock servers do in read-through mode.
+     */
+    private static final class ReadThroughUpstream implements EmployeeUpstream, RemoteEmployeeReads {
+
+        private final List<Employee> employees = new CopyOnWriteArrayList<>();
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public boolean isRemote() {
+            return true;
+        }
+
+        @Override
+        public Optional<RemoteEmployeeReads> remoteReads() {
+            return Optional.of(this);
+        }
+
+        @Override
+        public List<Employee> fetchAll() {
+            return List.copyOf(employees);
+        }
+
+        @Override
+        public Employee create(UUID id, EmployeeDTO input) {
+            Employee employee = new Employee(id, input.getName(), input.getSalary());
+            employees.add(employee);
+            return employee;
+        }
+
+        @Override
+        public void delete(String id) {
+            employees.removeIf(employee -> employee.getId().toString().equals(id));
+        }
+
+        @Override
+        public List<Employee> getAllEmployees() {
+            reads.incrementAndGet();
+            return List.copyOf(employees);
+        }
+
+        @Override
+        public List<Employee> searchEmployees(String search) {
+            return List.of();
+        }
+
+        @Override
+        public List<Employee> searchEmployeesFuzzy(String search, int maxDistance) {
+            return List.of();
+        }
+
+        @Override
+        public Optional<Employee> getEmployeeById(String id) {
+            return Optional.empty();
+        }
+
+        @Override
+        public int getHighestSalary() {
+            return 0;
+        }
+
+        @Override
+        public List<String> getTopTenHighestSalaries() {
+            return List.of();
+        }
+    }
+}
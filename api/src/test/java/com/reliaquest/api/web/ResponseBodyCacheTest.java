@@ -0,0 +1,58 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ResponseBodyCacheTest {
+    private ResponseBodyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ResponseBodyCache(new ObjectMapper());
+    }
+
+    @Test
+    void testSameVersionIsServedFromCache() {
+        AtomicInteger calls = new AtomicInteger();
+
+        ResponseBodyCache.CachedBody first = cache.get("names", 1, () -> {
+            calls.incrementAndGet();
+            return List.of("Alice");
+        });
+        ResponseBodyCache.CachedBody second = cache.get("names", 1, () -> {
+            calls.incrementAndGet();
+            return List.of("Bob");
+        });
+
+        assertEquals(1, calls.get(), "Body should only be serialized once per version");
+        assertSame(first, second);
+        assertEquals("[\"Alice\"]", new String(second.identity()));
+    }
+
+    @Test
+    void testNewVersionInvalidatesEntry() {
+        cache.get("names", 1, () -> List.of("Alice"));
+
+        ResponseBodyCache.CachedBody updated = cache.get("names", 2, () -> List.of("Alice", "Bob"));
+
+        assertEquals(2, updated.version());
+        assertEquals("[\"Alice\",\"Bob\"]", new String(updated.identity()));
+    }
+
+    @Test
+    void testGzipVariantMatchesIdentity() throws IOException {
+        ResponseBodyCache.CachedBody cached = cache.get("salary", 1, () -> 7000);
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(cached.gzip()))) {
+            assertArrayEquals(cached.identity(), in.readAllBytes());
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.reliaquest.common.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch over positive salaries using logarithmically sized buckets.
+ *
+ * <p>A value {@code x} is counted in bucket {@code i = ceil(log(x) / log(gamma))} with
+ * {@code gamma = (1 + alpha) / (1 - alpha)}, and a quantile is answered with the bucket's midpoint
+ * {@code 2 * gamma^i / (gamma + 1)}. Every quantile estimate is therefore within a relative error of
+ * {@code alpha} of the exact value at that rank, independent of the number or distribution of values.
+ * Buckets only hold counts, so removals are exact and two sketches with the same accuracy merge by adding
+ * counts. Memory grows with the logarithm of the value range: salaries between 30,000 and 500,000 at one percent
+ * accuracy ({@code gamma} of about 1.0202) span {@code ln(500,000 / 30,000) / ln(gamma)}, about 140 buckets.
+ */
+public class SalarySketch {
+
+    public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final double gamma;
+
+    private long[] counts = new long[0];
+    private int offset;
+    private long nonPositiveCount;
+    private long count;
+    private long sum;
+
+    public SalarySketch() {
+        this(DEFAULT_RELATIVE_ACCURACY);
+    }
+
+    public SalarySketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    public void add(int salary) {
+        update(salary, 1);
+    }
+
+    /**
+     * Removes a value previously added; removing a value that was never added corrupts the sketch.
+     */
+    public void remove(int salary) {
+        update(salary, -1);
+    }
+
+    public void merge(SalarySketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        for (int i = 0; i < other.counts.length; i++) {
+            if (other.counts[i] != 0) {
+                ensureCapacity(other.offset + i);
+                counts[other.offset + i - offset] += other.counts[i];
+            }
+        }
+        nonPositiveCount += other.nonPositiveCount;
+        count += other.count;
+        sum += other.sum;
+    }
+
+    /**
+     * Returns the estimated value at quantile {@code q}, or 0 when the sketch is empty.
+     *
+     * @param q quantile between 0 and 1
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.floor(q * (count - 1));
+        long seen = nonPositiveCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return 2 * Math.pow(gamma, offset + i) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, offset + counts.length - 1) / (gamma + 1);
+    }
+
+    public SalarySketch copy() {
+        SalarySketch copy = new SalarySketch(relativeAccuracy);
+        copy.merge(this);
+        return copy;
+    }
+
+    private void update(int salary, int delta) {
+        count += delta;
+        sum += (long) delta * salary;
+        if (salary <= 0) {
+            nonPositiveCount += delta;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(salary) / logGamma);
+        ensureCapacity(index);
+        counts[index - offset] += delta;
+    }
+
+    private void ensureCapacity(int index) {
+        if (counts.length == 0) {
+            counts = new long[1];
+            offset = index;
+        } else if (index < offset) {
+            long[] grown = new long[counts.length + (offset - index)];
+            System.arraycopy(counts, 0, grown, offset - index, counts.length);
+            counts = grown;
+            offset = index;
+        } else if (index >= offset + counts.length) {
+            counts = Arrays.copyOf(counts, index - offset + 1);
+        }
+    }
+}
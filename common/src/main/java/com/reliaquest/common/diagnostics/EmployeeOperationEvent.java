@@ -0,0 +1,60 @@
+package com.reliaquest.common.diagnostics;
+
+import java.util.Collection;
+import java.util.Optional;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a read served by the employee service of the api or of the mock server, timed from the
+ * call to its result. Costs next to nothing unless a recording is running.
+ */
+@Name("com.reliaquest.EmployeeOperation")
+@Label("Employee Operation")
+@Category({"Employee API", "Service"})
+@Description("A read served by the employee service")
+@StackTrace(false)
+public class EmployeeOperationEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Source")
+    @Description("local when served from the service's own data, cache when the api answered from its response "
+            + "cache, upstream when the api asked the mock servers")
+    String source;
+
+    @Label("Dataset Size")
+    @Description("Employees held by the service")
+    int datasetSize;
+
+    @Label("Result Size")
+    @Description("Employees, names or values returned")
+    int resultSize;
+
+    /**
+     * Fills in the event once the read is done, before it is committed.
+     */
+    public void describe(String operation, String source, int datasetSize, int resultSize) {
+        this.operation = operation;
+        this.source = source;
+        this.datasetSize = datasetSize;
+        this.resultSize = resultSize;
+    }
+
+    /**
+     * @return the elements of a collection, 1 or 0 for an optional, and 1 for any other result but null
+     */
+    public static int sizeOf(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return result == null ? 0 : 1;
+    }
+}
@@ -0,0 +1,148 @@
+package com.reliaquest.common.diagnostics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Runs at most one JDK Flight Recorder recording at a time, bounded in length, size and age so that one left
+ * running cannot fill the disk. The application's own events are recorded along with the JDK's, including garbage
+ * collections. A stopped recording can still be dumped until the next one starts.
+ */
+public class FlightRecordings implements AutoCloseable {
+
+    private final String name;
+    private final Duration maxDuration;
+    private final long maxSize;
+    private final Duration maxAge;
+
+    // Guarded by this
+    private Recording recording;
+    private String settings;
+
+    /**
+     * @param name the recording's name, which also prefixes its dump files
+     * @param maxDuration a recording stops by itself after this long
+     * @param maxSize bytes a recording holds before it drops its oldest events
+     * @param maxAge age beyond which a recording drops events
+     */
+    public FlightRecordings(String name, Duration maxDuration, long maxSize, Duration maxAge) {
+        this.name = name;
+        this.maxDuration = maxDuration;
+        this.maxSize = maxSize;
+        this.maxAge = maxAge;
+    }
+
+    /**
+     * @return the name to offer a downloaded dump under
+     */
+    public String dumpFileName() {
+        return name + ".jfr";
+    }
+
+    /**
+     * Starts a recording, discarding the previous one.
+     *
+     * @param settings {@code default} for the low-overhead JDK settings, or {@code profile} to also sample stacks
+     * @param duration how long to record, at most the configured maximum; null for the maximum
+     * @return the new recording's status
+     */
+    public synchronized Map<String, Object> start(String settings, Duration duration) {
+        String configurationName = settings == null || settings.isBlank() ? "default" : settings;
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(configurationName);
+        } catch (ParseException | IOException e) {
+            throw new IllegalArgumentException("Unknown recording settings: " + configurationName);
+        }
+        if (duration != null && (duration.isNegative() || duration.isZero())) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        closeRecording();
+
+        Recording started = new Recording(configuration);
+        started.setName(name);
+        started.setToDisk(true);
+        started.setMaxSize(maxSize);
+        started.setMaxAge(maxAge);
+        started.setDuration(duration == null || duration.compareTo(maxDuration) > 0 ? maxDuration : duration);
+        started.start();
+        recording = started;
+        this.settings = configurationName;
+        return status();
+    }
+
+    /**
+     * Stops the current recording, keeping its data for {@link #dump()}.
+     *
+     * @return the recording's status
+     */
+    public synchronized Map<String, Object> stop() {
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+        return status();
+    }
+
+    /**
+     * Writes what the current or last recording holds to a new file and opens it. Every dump has a file of its own,
+     * deleted once its stream is closed or, on Unix, as soon as it is opened, so a download still being sent is
+     * unaffected by later dumps.
+     *
+     * @return the dump, for the caller to close; null if nothing has been recorded
+     */
+    public InputStream dump() throws IOException {
+        Path dump = Files.createTempFile(name + "-", ".jfr");
+        try {
+            synchronized (this) {
+                if (recording == null || recording.getState() == RecordingState.NEW) {
+                    Files.delete(dump);
+                    return null;
+                }
+                recording.dump(dump);
+            }
+            return Files.newInputStream(dump, StandardOpenOption.DELETE_ON_CLOSE);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(dump);
+            throw e;
+        }
+    }
+
+    public synchronized Map<String, Object> status() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NONE");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("settings", settings);
+        status.put("startTime", recording.getStartTime());
+        status.put("stopTime", recording.getStopTime());
+        status.put("duration", recording.getDuration());
+        status.put("size", recording.getSize());
+        status.put("maxSize", recording.getMaxSize());
+        status.put("maxAge", recording.getMaxAge());
+        return status;
+    }
+
+    @Override
+    public synchronized void close() {
+        closeRecording();
+    }
+
+    private void closeRecording() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
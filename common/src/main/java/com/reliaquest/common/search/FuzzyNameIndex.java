@@ -0,0 +1,333 @@
+package com.reliaquest.common.search;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Typo-tolerant name search: finds employees whose name has, for every word of the query, a word within a small
+ * Levenshtein distance of it. Shared by the api and the mock server, which index their own employee types by ID and
+ * name.
+ *
+ * <p>Names and queries are lower-cased and split into words at every character other than a letter or digit. The
+ * distinct words of all names form a BK-tree: each word's children are keyed by their distance to it, so by the
+ * triangle inequality a search for words within {@code k} of the query only descends into children keyed
+ * {@code d - k} to {@code d + k}, where {@code d} is the query's distance to the word. Only a fraction of the
+ * vocabulary is compared, and the vocabulary is much smaller than the number of employees.
+ *
+ * <p>An employee's distance is the sum, over the query's words, of the distance to its closest name word. Results
+ * are ordered by that distance, then by name, then by ID.
+ *
+ * <p>A BK-tree cannot unlink a word without re-inserting its subtree, so a word whose last employee is removed stays
+ * as an empty node. The tree is rebuilt from the live words once they are fewer than half of the nodes.
+ *
+ * <p>Safe for concurrent use; searches run concurrently with each other.
+ *
+ * @param <T> the employee type
+ */
+public class FuzzyNameIndex<T> {
+
+    /**
+     * The largest supported edit distance per word. Beyond two, short names match almost anything.
+     */
+    public static final int MAX_DISTANCE = 2;
+
+    private static final int MIN_NODES_TO_REBUILD = 64;
+
+    private final Function<T, UUID> id;
+    private final Function<T, String> name;
+    private final Comparator<Match<T>> byDistance;
+
+    private final Map<String, Node<T>> nodes = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Node<T> root;
+    private int liveWords;
+
+    /**
+     * @param id the employee's ID, unique among the indexed employees
+     * @param name the employee's name, possibly null
+     */
+    public FuzzyNameIndex(Function<T, UUID> id, Function<T, String> name) {
+        this.id = id;
+        this.name = name;
+        this.byDistance = byDistance(id, name);
+    }
+
+    public void add(T employee) {
+        lock.writeLock().lock();
+        try {
+            for (String word : words(name.apply(employee))) {
+                Node<T> node = nodes.get(word);
+                if (node == null) {
+                    node = new Node<>(word);
+                    insert(node);
+                    nodes.put(word, node);
+                }
+                if (node.employees.isEmpty()) {
+                    liveWords++;
+                }
+                node.employees.put(id.apply(employee), employee);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(T employee) {
+        lock.writeLock().lock();
+        try {
+            for (String word : words(name.apply(employee))) {
+                Node<T> node = nodes.get(word);
+                if (node != null && node.employees.remove(id.apply(employee)) != null && node.employees.isEmpty()) {
+                    liveWords--;
+                }
+            }
+            if (nodes.size() >= MIN_NODES_TO_REBUILD && liveWords * 2 < nodes.size()) {
+                rebuild();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the employees matching every word of the query within the given distance.
+     *
+     * @param query the typed name; split into words like the names
+     * @param maxDistance the most edits allowed per word, between 1 and {@link #MAX_DISTANCE}
+     * @return matching employees, closest first
+     */
+    public List<T> search(String query, int maxDistance) {
+        checkDistance(maxDistance);
+        Set<String> queryWords = words(query);
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<UUID, Match<T>> candidates = null;
+            for (String queryWord : queryWords) {
+                Map<UUID, Match<T>> previous = candidates;
+                Map<UUID, Match<T>> matched = new HashMap<>();
+                forEachWithin(queryWord, maxDistance, (node, distance) -> {
+                    for (Map.Entry<UUID, T> employee : node.employees.entrySet()) {
+                        // After the first word only employees that matched every earlier word remain candidates
+                        int soFar = 0;
+                        if (previous != null) {
+                            Match<T> match = previous.get(employee.getKey());
+                            if (match == null) {
+                                continue;
+                            }
+                            soFar = match.distance();
+                        }
+                        matched.merge(
+                                employee.getKey(),
+                                new Match<>(employee.getValue(), soFar + distance),
+                                (left, right) -> left.distance() <= right.distance() ? left : right);
+                    }
+                });
+                if (matched.isEmpty()) {
+                    return List.of();
+                }
+                candidates = matched;
+            }
+            return candidates.values().stream().sorted(byDistance).map(Match::employee).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Orders employees the way {@link #search(String, int)} would, without an index. Used to merge the results of
+     * several searches.
+     *
+     * @param query the typed name
+     * @param maxDistance the most edits allowed per word
+     * @param employees the employees to rank; later duplicates of an ID are dropped
+     * @param id the employee's ID
+     * @param name the employee's name, possibly null
+     * @return the matching employees, closest first
+     */
+    public static <T> List<T> rank(
+            String query, int maxDistance, Collection<T> employees, Function<T, UUID> id, Function<T, String> name) {
+        checkDistance(maxDistance);
+        Set<String> queryWords = words(query);
+        if (queryWords.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Match<T>> matches = new LinkedHashMap<>();
+        for (T employee : employees) {
+            Set<String> nameWords = words(name.apply(employee));
+            int total = 0;
+            for (String queryWord : queryWords) {
+                int closest = Integer.MAX_VALUE;
+                for (String nameWord : nameWords) {
+                    closest = Math.min(closest, distance(queryWord, nameWord));
+                }
+                if (closest > maxDistance) {
+                    total = -1;
+                    break;
+                }
+                total += closest;
+            }
+            if (total >= 0) {
+                matches.putIfAbsent(id.apply(employee), new Match<>(employee, total));
+            }
+        }
+        return matches.values().stream()
+                .sorted(byDistance(id, name))
+                .map(Match::employee)
+                .toList();
+    }
+
+    /**
+     * Levenshtein distance: the fewest single-character insertions, deletions and substitutions turning one word
+     * into the other.
+     */
+    static int distance(String left, String right) {
+        int[] previous = new int[right.length() + 1];
+        int[] current = new int[right.length() + 1];
+        for (int j = 0; j <= right.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= left.length(); i++) {
+            current[0] = i;
+            char c = left.charAt(i - 1);
+            for (int j = 1; j <= right.length(); j++) {
+                int substitution = previous[j - 1] + (c == right.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[right.length()];
+    }
+
+    static Set<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                word.append(Character.toLowerCase(c));
+            } else if (!word.isEmpty()) {
+                words.add(word.toString());
+                word.setLength(0);
+            }
+        }
+        return words;
+    }
+
+    private static void checkDistance(int maxDistance) {
+        if (maxDistance < 1 || maxDistance > MAX_DISTANCE) {
+            throw new IllegalArgumentException(
+                    "Maximum edit distance must be between 1 and " + MAX_DISTANCE + ": " + maxDistance);
+        }
+    }
+
+    private static <T> Comparator<Match<T>> byDistance(Function<T, UUID> id, Function<T, String> name) {
+        return Comparator.<Match<T>>comparingInt(Match::distance)
+                .thenComparing(match -> name.apply(match.employee()), Comparator.nullsFirst(Comparator.naturalOrder()))
+                .thenComparing(match -> id.apply(match.employee()));
+    }
+
+    private void forEachWithin(String word, int maxDistance, NodeVisitor<T> visitor) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node<T>> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node<T> node = pending.pop();
+            int distance = distance(word, node.word);
+            if (distance <= maxDistance && !node.employees.isEmpty()) {
+                visitor.visit(node, distance);
+            }
+            int last = Math.min(distance + maxDistance, node.children.length - 1);
+            for (int edge = Math.max(1, distance - maxDistance); edge <= last; edge++) {
+                if (node.children[edge] != null) {
+                    pending.push(node.children[edge]);
+                }
+            }
+        }
+    }
+
+    private void insert(Node<T> node) {
+        if (root == null) {
+            root = node;
+            return;
+        }
+        Node<T> parent = root;
+        while (true) {
+            int edge = distance(node.word, parent.word);
+            if (edge >= parent.children.length) {
+                parent.children = Arrays.copyOf(parent.children, edge + 1);
+            }
+            if (parent.children[edge] == null) {
+                parent.children[edge] = node;
+                return;
+            }
+            parent = parent.children[edge];
+        }
+    }
+
+    private void rebuild() {
+        List<Node<T>> live = new ArrayList<>(liveWords);
+        for (Node<T> node : nodes.values()) {
+            if (!node.employees.isEmpty()) {
+                live.add(new Node<>(node.word, node.employees));
+            }
+        }
+        nodes.clear();
+        root = null;
+        for (Node<T> node : live) {
+            insert(node);
+            nodes.put(node.word, node);
+        }
+    }
+
+    private record Match<T>(T employee, int distance) {}
+
+    @FunctionalInterface
+    private interface NodeVisitor<T> {
+        void visit(Node<T> node, int distance);
+    }
+
+    private static final class Node<T> {
+
+        private final String word;
+
+        // Employees with this word in their name, by ID
+        private final Map<UUID, T> employees;
+
+        // Indexed by the child's distance to this word; never has a child at 0, since words are distinct
+        @SuppressWarnings("unchecked")
+        private Node<T>[] children = new Node[0];
+
+        Node(String word) {
+            this(word, new HashMap<>());
+        }
+
+        Node(String word, Map<UUID, T> employees) {
+            this.word = word;
+            this.employees = employees;
+        }
+    }
+}
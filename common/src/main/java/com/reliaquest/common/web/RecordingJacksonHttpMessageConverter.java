@@ -0,0 +1,91 @@
+package com.reliaquest.common.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.function.UnaryOperator;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * The JSON converter Spring Boot would configure, reporting every body it writes to a running flight recording as
+ * a {@link ResponseSerializationEvent}. Without a recording, bodies are written exactly as before.
+ */
+public class RecordingJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final UnaryOperator<Object> dataOf;
+
+    public RecordingJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        this(objectMapper, UnaryOperator.identity());
+    }
+
+    /**
+     * @param dataOf the data a body wraps, such as the list in a response envelope, or the body itself if it wraps
+     *     nothing; events describe the data rather than the envelope
+     */
+    public RecordingJacksonHttpMessageConverter(ObjectMapper objectMapper, UnaryOperator<Object> dataOf) {
+        super(objectMapper);
+        this.dataOf = dataOf;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        ResponseSerializationEvent event = new ResponseSerializationEvent();
+        if (!event.isEnabled()) {
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+        CountingOutputMessage counting = new CountingOutputMessage(outputMessage);
+        event.begin();
+        super.writeInternal(object, type, counting);
+        event.end();
+        if (event.shouldCommit()) {
+            event.describe(object, dataOf.apply(object), counting.count, false);
+            event.commit();
+        }
+    }
+
+    /**
+     * Counts the bytes written to the body, before any compression by the server.
+     */
+    private static final class CountingOutputMessage implements HttpOutputMessage {
+
+        private final HttpOutputMessage delegate;
+        private OutputStream body;
+        private long count;
+
+        private CountingOutputMessage(HttpOutputMessage delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() throws IOException {
+            if (body == null) {
+                body = new FilterOutputStream(delegate.getBody()) {
+                    @Override
+                    public void write(int b) throws IOException {
+                        out.write(b);
+                        count++;
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) throws IOException {
+                        out.write(b, off, len);
+                        count += len;
+                    }
+                };
+            }
+            return body;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.reliaquest.common.web;
+
+import java.util.Collection;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the JSON encoding of a response body, whether written to a response or to the api's
+ * response cache. Costs next to nothing unless a recording is running.
+ */
+@Name("com.reliaquest.ResponseSerialization")
+@Label("Response Serialization")
+@Category({"Employee API", "Web"})
+@Description("JSON encoding of a response body")
+@StackTrace(false)
+public class ResponseSerializationEvent extends jdk.jfr.Event {
+
+    @Label("Type")
+    @Description("Class of the body, with the class of the data it wraps and of list elements")
+    String type;
+
+    @Label("Result Size")
+    @Description("Elements of a list body or of the list it wraps, 1 otherwise")
+    int resultSize;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    @Label("Cached")
+    @Description("Whether the body was encoded for the api's response cache")
+    boolean cached;
+
+    /**
+     * Fills in the event once the body is encoded, before it is committed.
+     *
+     * @param body the encoded body
+     * @param data what the body wraps, or the body itself if it wraps nothing
+     * @param bytes the length of the encoding
+     * @param cached whether the body was encoded for the response cache
+     */
+    public void describe(Object body, Object data, long bytes, boolean cached) {
+        this.type = data == body ? typeOf(body) : body.getClass().getSimpleName() + "<" + typeOf(data) + ">";
+        this.resultSize = data instanceof Collection<?> collection ? collection.size() : 1;
+        this.bytes = bytes;
+        this.cached = cached;
+    }
+
+    private static String typeOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.isEmpty()
+                    ? "List"
+                    : "List<" + collection.iterator().next().getClass().getSimpleName() + ">";
+        }
+        return value.getClass().getSimpleName();
+    }
+}
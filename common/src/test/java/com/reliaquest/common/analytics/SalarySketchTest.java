@@ -0,0 +1,90 @@
+package com.reliaquest.common.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class SalarySketchTest {
+
+    private static final double[] QUANTILES = {0.0, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99, 1.0};
+
+    @Test
+    void testQuantilesStayWithinRelativeAccuracy() {
+        Random random = new Random(7);
+        SalarySketch sketch = new SalarySketch();
+        int[] salaries = new int[50_000];
+        for (int i = 0; i < salaries.length; i++) {
+            // Skewed distribution spanning the faker range and beyond
+            salaries[i] = (int) Math.min(Integer.MAX_VALUE, 30_000 * Math.exp(random.nextGaussian()));
+            sketch.add(salaries[i]);
+        }
+
+        assertWithinAccuracy(sketch, salaries);
+    }
+
+    @Test
+    void testRemovalsAreExact() {
+        Random random = new Random(11);
+        SalarySketch sketch = new SalarySketch();
+        List<Integer> kept = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int salary = random.nextInt(30_000, 500_000);
+            sketch.add(salary);
+            if (i % 3 == 0) {
+                sketch.remove(salary);
+            } else {
+                kept.add(salary);
+            }
+        }
+
+        int[] expected = kept.stream().mapToInt(Integer::intValue).toArray();
+        assertEquals(expected.length, sketch.getCount());
+        assertEquals(Arrays.stream(expected).asLongStream().sum(), sketch.getSum());
+        assertWithinAccuracy(sketch, expected);
+    }
+
+    @Test
+    void testMergeMatchesSingleSketch() {
+        Random random = new Random(13);
+        SalarySketch left = new SalarySketch();
+        SalarySketch right = new SalarySketch();
+        SalarySketch combined = new SalarySketch();
+        for (int i = 0; i < 5_000; i++) {
+            int salary = random.nextInt(1, 1_000_000);
+            (i % 2 == 0 ? left : right).add(salary);
+            combined.add(salary);
+        }
+
+        left.merge(right);
+
+        assertEquals(combined.getCount(), left.getCount());
+        for (double q : QUANTILES) {
+            assertEquals(combined.quantile(q), left.quantile(q), 1e-9);
+        }
+    }
+
+    @Test
+    void testEmptySketch() {
+        SalarySketch sketch = new SalarySketch();
+
+        assertEquals(0, sketch.quantile(0.5));
+        assertEquals(0, sketch.getMean());
+    }
+
+    private static void assertWithinAccuracy(SalarySketch sketch, int[] values) {
+        int[] sorted = values.clone();
+        Arrays.sort(sorted);
+        for (double q : QUANTILES) {
+            int exact = sorted[(int) Math.floor(q * (sorted.length - 1))];
+            double estimate = sketch.quantile(q);
+            double relativeError = Math.abs(estimate - exact) / exact;
+            assertTrue(
+                    relativeError <= sketch.getRelativeAccuracy() + 1e-9,
+                    "q=" + q + " exact=" + exact + " estimate=" + estimate);
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.reliaquest.common.diagnostics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class FlightRecordingsTest {
+
+    private static final String NAME = "flight-recordings-test";
+
+    @Test
+    void testRecordsEmployeeOperations(@TempDir Path directory) throws Exception {
+        try (FlightRecordings recordings = recordings(Duration.ofMinutes(30))) {
+            assertEquals("RUNNING", recordings.start(null, null).get("state"));
+            EmployeeOperationEvent event = new EmployeeOperationEvent();
+            event.begin();
+            event.end();
+            event.describe("search", "local", 3, EmployeeOperationEvent.sizeOf(List.of("a", "b")));
+            event.commit();
+            assertEquals("STOPPED", recordings.stop().get("state"));
+
+            RecordedEvent recorded = read(recordings.dump(), directory.resolve("dump.jfr")).stream()
+                    .filter(candidate -> candidate.getEventType().getName().equals("com.reliaquest.EmployeeOperation"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("search", recorded.getString("operation"));
+            assertEquals("local", recorded.getString("source"));
+            assertEquals(3, recorded.getInt("datasetSize"));
+            assertEquals(2, recorded.getInt("resultSize"));
+        }
+    }
+
+    @Test
+    void testBoundsTheRecording() {
+        try (FlightRecordings bounded = recordings(Duration.ofMinutes(1))) {
+            Map<String, Object> status = bounded.start("default", Duration.ofHours(1));
+            assertEquals(Duration.ofMinutes(1), status.get("duration"));
+            assertEquals(1_000_000L, status.get("maxSize"));
+
+            assertEquals(Duration.ofSeconds(5), bounded.start("profile", Duration.ofSeconds(5)).get("duration"));
+            assertThrows(IllegalArgumentException.class, () -> bounded.start("no-such-settings", null));
+            assertThrows(IllegalArgumentException.class, () -> bounded.start(null, Duration.ZERO));
+        }
+    }
+
+    @Test
+    void testDumpsNothingBeforeARecording() throws Exception {
+        try (FlightRecordings recordings = recordings(Duration.ofMinutes(30))) {
+            assertEquals("NONE", recordings.status().get("state"));
+            assertNull(recordings.dump());
+            assertEquals(0, dumpFiles());
+        }
+    }
+
+    @Test
+    void testEachDumpIsItsOwnFileDeletedOnClose(@TempDir Path directory) throws Exception {
+        try (FlightRecordings recordings = recordings(Duration.ofMinutes(30))) {
+            recordings.start(null, null);
+            long before = dumpFiles();
+
+            InputStream first = recordings.dump();
+            InputStream second = recordings.dump();
+
+            // A later dump leaves an earlier one, still to be read, intact
+            assertFalse(read(second, directory.resolve("second.jfr")).isEmpty());
+            assertFalse(read(first, directory.resolve("first.jfr")).isEmpty());
+            assertEquals(before, dumpFiles());
+        }
+    }
+
+    private static FlightRecordings recordings(Duration maxDuration) {
+        return new FlightRecordings(NAME, maxDuration, 1_000_000, Duration.ofMinutes(10));
+    }
+
+    private static List<RecordedEvent> read(InputStream dump, Path copy) throws IOException {
+        try (dump) {
+            Files.copy(dump, copy);
+        }
+        return RecordingFile.readAllEvents(copy);
+    }
+
+    private static long dumpFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(file -> file.getFileName().toString().startsWith(NAME + "-"))
+                    .count();
+        }
+    }
+}
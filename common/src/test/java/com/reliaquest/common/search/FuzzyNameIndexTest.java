@@ -0,0 +1,125 @@
+package com.reliaquest.common.search;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class FuzzyNameIndexTest {
+
+    private static final String[] WORDS = {
+        "ann", "anna", "annie", "jon", "john", "joan", "smith", "smyth", "smithe", "carl", "karl", "carla"
+    };
+
+    @Test
+    void testFindsMisspelledNamesClosestFirst() {
+        FuzzyNameIndex<Person> index = index();
+        Person johnSmith = person("John Smith");
+        Person joanSmyth = person("Joan Smyth");
+        Person carl = person("Carl Jones");
+        index.add(johnSmith);
+        index.add(joanSmyth);
+        index.add(carl);
+
+        assertEquals(List.of(johnSmith), index.search("Johm", 1));
+        assertEquals(List.of(johnSmith, joanSmyth), index.search("smith", 1));
+        assertEquals(List.of(johnSmith, joanSmyth), index.search("jon smith", 2));
+        assertEquals(List.of(joanSmyth, johnSmith), index.search("joan smth", 1));
+        assertEquals(List.of(), index.search("joan carl", 1));
+        assertEquals(List.of(), index.search("-", 1));
+    }
+
+    @Test
+    void testDistanceBoundsTheMatches() {
+        FuzzyNameIndex<Person> index = index();
+        Person alice = person("Alice");
+        index.add(alice);
+        index.add(person(null));
+
+        assertEquals(List.of(), index.search("alcie", 1));
+        assertEquals(List.of(alice), index.search("alcie", 2));
+        assertEquals(List.of(), index.search("axxxe", 2));
+    }
+
+    @Test
+    void testRemovedEmployeesAreNotFound() {
+        FuzzyNameIndex<Person> index = index();
+        Person first = person("Anna Smith");
+        Person second = person("Anna Jones");
+        index.add(first);
+        index.add(second);
+
+        index.remove(first);
+
+        assertEquals(List.of(second), index.search("anna", 1));
+        assertEquals(List.of(), index.search("smith", 1));
+    }
+
+    @Test
+    void testRejectsUnsupportedDistances() {
+        FuzzyNameIndex<Person> index = index();
+
+        assertThrows(IllegalArgumentException.class, () -> index.search("ann", 0));
+        assertThrows(IllegalArgumentException.class, () -> index.search("ann", FuzzyNameIndex.MAX_DISTANCE + 1));
+    }
+
+    @Test
+    void testDistance() {
+        assertEquals(0, FuzzyNameIndex.distance("anna", "anna"));
+        assertEquals(1, FuzzyNameIndex.distance("anna", "ann"));
+        assertEquals(1, FuzzyNameIndex.distance("smith", "smyth"));
+        assertEquals(2, FuzzyNameIndex.distance("alice", "alcie"));
+        assertEquals(3, FuzzyNameIndex.distance("", "jon"));
+    }
+
+    @Test
+    void testWords() {
+        assertEquals(List.of("mary", "jane", "o", "neil"), List.copyOf(FuzzyNameIndex.words("Mary-Jane  O'Neil")));
+        assertEquals(Set.of("ann"), FuzzyNameIndex.words("ann ANN"));
+        assertEquals(Set.of(), FuzzyNameIndex.words(null));
+    }
+
+    @Test
+    void testMatchesExhaustiveRankingThroughAddsAndRemoves() {
+        Random random = new Random(11);
+        FuzzyNameIndex<Person> index = index();
+        List<Person> stored = new ArrayList<>();
+        for (int step = 0; step < 5_000; step++) {
+            if (stored.isEmpty() || random.nextInt(3) > 0) {
+                // Numbered words grow the vocabulary past the rebuild threshold
+                String name = word(random) + " " + word(random) + random.nextInt(50);
+                Person person = person(name);
+                index.add(person);
+                stored.add(person);
+            } else {
+                index.remove(stored.remove(random.nextInt(stored.size())));
+            }
+            if (step % 50 == 0) {
+                String query = random.nextBoolean() ? word(random) : word(random) + " " + word(random);
+                int maxDistance = 1 + random.nextInt(FuzzyNameIndex.MAX_DISTANCE);
+                assertEquals(
+                        FuzzyNameIndex.rank(query, maxDistance, stored, Person::id, Person::name),
+                        index.search(query, maxDistance),
+                        "Query " + query + " within " + maxDistance);
+            }
+        }
+    }
+
+    private static FuzzyNameIndex<Person> index() {
+        return new FuzzyNameIndex<>(Person::id, Person::name);
+    }
+
+    private static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static Person person(String name) {
+        return new Person(UUID.randomUUID(), name);
+    }
+
+    private record Person(UUID id, String name) {}
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.common.web;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+public class RecordingJacksonHttpMessageConverterTest {
+
+    @Test
+    void testDescribesTheDataOfEachBody(@TempDir Path directory) throws Exception {
+        RecordingJacksonHttpMessageConverter converter = new RecordingJacksonHttpMessageConverter(
+                new ObjectMapper(), body -> body instanceof Envelope envelope ? envelope.data() : body);
+        List<Item> items = List.of(new Item("a"), new Item("b"), new Item("c"));
+
+        Path dump = directory.resolve("converter.jfr");
+        MockHttpOutputMessage plain = new MockHttpOutputMessage();
+        MockHttpOutputMessage wrapped = new MockHttpOutputMessage();
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reliaquest.ResponseSerialization");
+            recording.start();
+            converter.write(items, MediaType.APPLICATION_JSON, plain);
+            converter.write(new Envelope(items), MediaType.APPLICATION_JSON, wrapped);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump).stream()
+                .filter(event -> event.getEventType().getName().equals("com.reliaquest.ResponseSerialization"))
+                .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                .toList();
+        assertEquals(2, events.size());
+        assertEvent(events.get(0), "List<Item>", plain.getBodyAsBytes().length);
+        assertEvent(events.get(1), "Envelope<List<Item>>", wrapped.getBodyAsBytes().length);
+    }
+
+    @Test
+    void testWritesTheSameBodyWithoutARecording() throws Exception {
+        MockHttpOutputMessage recorded = new MockHttpOutputMessage();
+        MockHttpOutputMessage plain = new MockHttpOutputMessage();
+
+        new RecordingJacksonHttpMessageConverter(new ObjectMapper())
+                .write(new Item("a"), MediaType.APPLICATION_JSON, recorded);
+        new MappingJackson2HttpMessageConverter(new ObjectMapper())
+                .write(new Item("a"), MediaType.APPLICATION_JSON, plain);
+
+        assertEquals(plain.getBodyAsString(), recorded.getBodyAsString());
+    }
+
+    private static void assertEvent(RecordedEvent event, String type, long bytes) {
+        assertEquals(type, event.getString("type"));
+        assertEquals(3, event.getInt("resultSize"));
+        assertEquals(bytes, event.getLong("bytes"));
+        assertFalse(event.getBoolean("cached"));
+    }
+
+    public record Item(String name) {}
+
+    public record Envelope(List<Item> data) {}
+}
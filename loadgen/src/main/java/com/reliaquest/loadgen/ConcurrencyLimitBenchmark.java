@@ -0,0 +1,115 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shows how latency holds up under overload with and without the api's adaptive concurrency limit.
+ *
+ * <p>For every rate in {@code --rates} it boots a mock server and the api in front of it twice, once with
+ * {@code employee.concurrency-limit.enabled} off and once on, and drives the api with the same schedule. Pick the
+ * rates around the api's capacity, for example one, two and three times the throughput it reaches without errors.
+ * Requests the limit sheds are answered with {@code 503} and counted under {@code statusCodes}. The latency figures
+ * are those of the successful responses, since the shed requests are answered at once.
+ *
+ * <p>Run from the repository root:
+ * <pre>
+ * ./gradlew loadgen:concurrencyLimit --args="--rates=1000,2000,3000 --employees=10000 --duration=PT30S"
+ * </pre>
+ * Every other option is passed to the {@link LoadGenerator}; {@code --boot} and {@code --target} are set here.
+ */
+@Slf4j
+public class ConcurrencyLimitBenchmark {
+
+    private static final int API_PORT = 8111;
+    private static final int SERVER_PORT = 8112;
+
+    public static void main(String[] args) throws Exception {
+        List<Double> rates = List.of(1_000d, 2_000d, 3_000d);
+        int employees = 10_000;
+        Path reportPath = null;
+        List<String> forwarded = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--rates=")) {
+                rates = Arrays.stream(arg.substring("--rates=".length()).split(","))
+                        .map(rate -> Double.parseDouble(rate.trim()))
+                        .toList();
+            } else if (arg.startsWith("--employees=")) {
+                employees = Integer.parseInt(arg.substring("--employees=".length()));
+            } else if (arg.startsWith("--report=")) {
+                reportPath = Path.of(arg.substring("--report=".length()));
+            } else if (arg.startsWith("--boot=") || arg.startsWith("--target=") || arg.startsWith("--rate=")) {
+                throw new IllegalArgumentException(arg + " is chosen by the benchmark");
+            } else {
+                forwarded.add(arg);
+            }
+        }
+        forwarded.add("--target=http://localhost:%d/api/v1/employee".formatted(API_PORT));
+        String mix = OperationMix.parse(LoadOptions.parse(forwarded.toArray(String[]::new)).mix())
+                .toString();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (double rate : rates) {
+            List<String> runArgs = new ArrayList<>(forwarded);
+            runArgs.add("--rate=" + rate);
+            LoadOptions options = LoadOptions.parse(runArgs.toArray(String[]::new));
+            for (boolean limited : List.of(false, true)) {
+                Map<String, Object> result = measure(options, employees, limited);
+                results.add(result);
+                log.info("Rate {} with the limit {}: {}", rate, limited ? "on" : "off", result);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("employees", employees);
+        summary.put("mix", mix);
+        summary.put("results", results);
+        String json = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(summary);
+        if (reportPath != null) {
+            Files.writeString(reportPath, json);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private static Map<String, Object> measure(LoadOptions options, int employees, boolean limited)
+            throws Exception {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("employee.concurrency-limit.enabled", limited);
+
+        try (EmbeddedApplications applications = new EmbeddedApplications()) {
+            String serverUrl = "http://localhost:%d/api/v1/employee".formatted(SERVER_PORT);
+            applications.startServer(SERVER_PORT, employees);
+            applications.startApi(API_PORT, List.of(serverUrl), false, overrides);
+            LoadReport report = LoadGenerator.run(options, new ObjectMapper());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("offeredRate", options.rate());
+            result.put("limit", limited ? "on" : "off");
+            result.put("throughput", report.throughput());
+            result.put("p50", report.successLatency().p50());
+            result.put("p99", report.successLatency().p99());
+            result.put("p999", report.successLatency().p999());
+            for (Operation operation : List.of(Operation.GET_BY_ID, Operation.GET_ALL, Operation.SEARCH)) {
+                LoadReport.OperationReport operationReport = report.operations().get(operation.key());
+                if (operationReport != null) {
+                    result.put(operation.key() + "P99", operationReport.successLatency().p99());
+                    result.put(operation.key() + "Shed", operationReport.statusCodes().getOrDefault("503", 0L));
+                }
+            }
+            result.put("failed", report.failed());
+            result.put("dropped", report.dropped());
+            result.put("statusCodes", report.statusCodes());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.reliaquest.loadgen;
+
+import com.reliaquest.api.ApiApplication;
+import com.reliaquest.server.ServerApplication;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Boots the mock server and the api inside the generator's JVM for a self-contained run.
+ *
+ * <p>Both modules put an {@code application.yml} at the root of the classpath, and only one of them would be found.
+ * The applications are therefore started with a config name that matches neither file, and every property they need
+ * is passed explicitly.
+ */
+@Slf4j
+public class EmbeddedApplications implements AutoCloseable {
+
+    private static final String CONFIG_NAME = "loadgen-embedded";
+
+    private final List<ConfigurableApplicationContext> contexts = new ArrayList<>();
+
+    /**
+     * Starts the mock server.
+     *
+     * @param port the HTTP port
+     * @param employees the number of generated employees
+     */
+    public void startServer(int port, int employees) {
+        Map<String, Object> properties = common("mock-employee-api", port);
+        properties.put("server.compression.enabled", true);
+        properties.put("mock.employees.max", employees);
+        // The random throttling would otherwise turn most of the run into 429s
+        properties.put("mock.request-limit.enabled", false);
+        start(ServerApplication.class, properties);
+    }
+
+    /**
+     * Starts the api.
+     *
+     * @param port the HTTP port
+     * @param upstreamBaseUrl the mock server to write through to, or {@code null} to keep all data in the api
+     */
+    public void startApi(int port, String upstreamBaseUrl) {
+        startApi(port, upstreamBaseUrl == null ? List.of() : List.of(upstreamBaseUrl), false);
+    }
+
+    /**
+     * Starts the api in front of one or more mock servers.
+     *
+     * @param port the HTTP port
+     * @param shardBaseUrls the mock servers to spread employees over; empty to keep all data in the api
+     * @param readThrough whether reads are answered by the servers instead of the api's local copy
+     */
+    public void startApi(int port, List<String> shardBaseUrls, boolean readThrough) {
+        startApi(port, shardBaseUrls, readThrough, Map.of());
+    }
+
+    /**
+     * Starts the api in front of one or more mock servers, with further settings.
+     *
+     * @param port the HTTP port
+     * @param shardBaseUrls the mock servers to spread employees over; empty to keep all data in the api
+     * @param readThrough whether reads are answered by the servers instead of the api's local copy
+     * @param overrides additional api properties, applied last
+     */
+    public void startApi(int port, List<String> shardBaseUrls, boolean readThrough, Map<String, Object> overrides) {
+        Map<String, Object> properties = common("employee-api", port);
+        properties.put("employee.upstream.enabled", !shardBaseUrls.isEmpty());
+        if (!shardBaseUrls.isEmpty()) {
+            properties.put("employee.upstream.base-url", shardBaseUrls.get(0));
+        }
+        if (shardBaseUrls.size() > 1) {
+            for (int i = 0; i < shardBaseUrls.size(); i++) {
+                properties.put("employee.upstream.shards[" + i + "]", shardBaseUrls.get(i));
+            }
+        }
+        if (readThrough) {
+            properties.put("employee.upstream.read-through", true);
+            // Every read is now an upstream call; the default of four per endpoint is sized for writes only
+            properties.put("employee.upstream.bulkhead.max-concurrent-calls", 256);
+        }
+        properties.put("management.endpoints.web.exposure.include", "health,metrics,shards");
+        // Runs measure the api from its first request; the warmup task turns the warm-up back on
+        properties.put("employee.warmup.enabled", false);
+        properties.putAll(overrides);
+        start(ApiApplication.class, properties);
+    }
+
+    private static Map<String, Object> common(String name, int port) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("spring.config.name", CONFIG_NAME);
+        properties.put("spring.application.name", name);
+        properties.put("spring.main.banner-mode", "off");
+        properties.put("server.port", port);
+        properties.put("logging.level.com.reliaquest", "INFO");
+        return properties;
+    }
+
+    private void start(Class<?> application, Map<String, Object> properties) {
+        log.info("Starting {} with {}", application.getSimpleName(), properties);
+        contexts.add(new SpringApplicationBuilder(application)
+                .properties(properties)
+                // Keep the contexts independent; each one gets its own web server
+                .registerShutdownHook(false)
+                .run());
+    }
+
+    @Override
+    public void close() {
+        // Stop in reverse order so that the api never outlives the server it writes to
+        for (int i = contexts.size() - 1; i >= 0; i--) {
+            contexts.get(i).close();
+        }
+        contexts.clear();
+    }
+}
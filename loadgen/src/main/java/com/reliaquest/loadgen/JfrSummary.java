@@ -0,0 +1,145 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Summarizes a flight recording dumped by the api or the mock server, to tell where the time of slow requests went.
+ *
+ * <p>The employee events are grouped by operation, serialized type or path, with their count, total time, latency
+ * percentiles in milliseconds, and mean dataset size, result size and bytes. Groups are ordered by total time, so the
+ * biggest cost comes first. Garbage collection pauses are summed from the JDK's own events.
+ *
+ * <p>Dump a recording and summarize it, from the repository root:
+ * <pre>
+ * curl -X POST localhost:8111/actuator/flightrecording -H 'Content-Type: application/json' -d '{"duration":"PT2M"}'
+ * curl -o api.jfr localhost:8111/actuator/flightrecording/dump
+ * ./gradlew loadgen:jfrSummary --args="api.jfr"
+ * </pre>
+ * The mock server offers the same under {@code /admin/flightrecording}.
+ */
+public class JfrSummary {
+
+    private static final String EVENT_PREFIX = "com.reliaquest.";
+    private static final List<String> GROUPING_FIELDS = List.of("operation", "type", "path");
+    private static final List<String> SIZE_FIELDS = List.of("datasetSize", "resultSize", "bytes");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: JfrSummary <recording.jfr>");
+        }
+        Path recording = Path.of(args[0]);
+        if (!Files.isRegularFile(recording)) {
+            throw new IllegalArgumentException("No recording at " + recording.toAbsolutePath());
+        }
+        System.out.println(new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValueAsString(summarize(recording)));
+    }
+
+    /**
+     * @return the summary, keyed by event name without the {@code com.reliaquest.} prefix, plus
+     *     {@code garbageCollection}
+     */
+    public static Map<String, Object> summarize(Path recording) throws IOException {
+        Map<String, Map<String, Group>> groups = new TreeMap<>();
+        long collections = 0;
+        Duration totalPause = Duration.ZERO;
+        Duration longestPause = Duration.ZERO;
+        Instant first = null;
+        Instant last = null;
+
+        try (RecordingFile file = new RecordingFile(recording)) {
+            while (file.hasMoreEvents()) {
+                RecordedEvent event = file.readEvent();
+                String name = event.getEventType().getName();
+                if (name.equals("jdk.GarbageCollection")) {
+                    collections++;
+                    totalPause = totalPause.plus(event.getDuration("sumOfPauses"));
+                    Duration pause = event.getDuration("longestPause");
+                    longestPause = pause.compareTo(longestPause) > 0 ? pause : longestPause;
+                } else if (name.startsWith(EVENT_PREFIX)) {
+                    groups.computeIfAbsent(name.substring(EVENT_PREFIX.length()), ignored -> new TreeMap<>())
+                            .computeIfAbsent(groupOf(event), ignored -> new Group())
+                            .add(event);
+                }
+                first = first == null || event.getStartTime().isBefore(first) ? event.getStartTime() : first;
+                last = last == null || event.getEndTime().isAfter(last) ? event.getEndTime() : last;
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("recording", recording.toString());
+        summary.put("seconds", first == null ? 0 : Duration.between(first, last).toMillis() / 1_000d);
+        groups.forEach((name, byGroup) -> {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            byGroup.entrySet().stream()
+                    .sorted(Comparator.comparingLong(
+                            (Map.Entry<String, Group> entry) -> entry.getValue().totalNanos)
+                            .reversed())
+                    .forEach(entry -> rows.add(entry.getValue().summary(entry.getKey())));
+            summary.put(name, rows);
+        });
+        Map<String, Object> gc = new LinkedHashMap<>();
+        gc.put("count", collections);
+        gc.put("totalPauseMillis", totalPause.toNanos() / 1e6);
+        gc.put("longestPauseMillis", longestPause.toNanos() / 1e6);
+        summary.put("garbageCollection", gc);
+        return summary;
+    }
+
+    private static String groupOf(RecordedEvent event) {
+        for (String field : GROUPING_FIELDS) {
+            if (event.hasField(field)) {
+                String value = event.getString(field);
+                return value == null ? "" : value;
+            }
+        }
+        return "";
+    }
+
+    private static final class Group {
+        private final Histogram latency = new Histogram(1, HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<String, Long> sizes = new LinkedHashMap<>();
+        private long totalNanos;
+
+        void add(RecordedEvent event) {
+            long nanos = event.getDuration().toNanos();
+            totalNanos += nanos;
+            latency.recordValue(Math.min(Math.max(nanos / 1_000, 1), HIGHEST_TRACKABLE_MICROS));
+            for (String field : SIZE_FIELDS) {
+                if (event.hasField(field)) {
+                    sizes.merge(field, event.getLong(field), Long::sum);
+                }
+            }
+        }
+
+        Map<String, Object> summary(String group) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("group", group);
+            row.put("count", latency.getTotalCount());
+            row.put("totalMillis", Math.round(totalNanos / 1e3) / 1e3);
+            row.put("latency", LoadReport.LatencySummary.of(latency));
+            sizes.forEach((field, sum) -> row.put(
+                    "mean" + Character.toUpperCase(field.charAt(0)) + field.substring(1),
+                    Math.round((double) sum / latency.getTotalCount() * 10) / 10d));
+            return row;
+        }
+    }
+}
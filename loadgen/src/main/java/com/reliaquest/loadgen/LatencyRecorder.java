@@ -0,0 +1,133 @@
+package com.reliaquest.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Collects the outcome of every measured request, per operation.
+ *
+ * <p>Two latencies are kept. {@code latency} runs from the request's intended start time and is what a client
+ * arriving on schedule would have experienced, including any time spent queued behind a stalled dispatcher or a full
+ * connection pool. {@code serviceTime} runs from the moment the request was actually sent. A large gap between the two
+ * means the generator, not the target, fell behind. {@code successLatency} is {@code latency} of the 2xx responses, so
+ * that errors returned at once, such as requests shed under overload, do not flatter the percentiles.
+ */
+public class LatencyRecorder {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+
+    public LatencyRecorder() {
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    public void recordResponse(Operation operation, int status, long latencyNanos, long serviceNanos) {
+        OperationStats operationStats = stats.get(operation);
+        operationStats.latency.recordValue(toMicros(latencyNanos));
+        if (status >= 200 && status < 300) {
+            operationStats.successLatency.recordValue(toMicros(latencyNanos));
+        }
+        operationStats.serviceTime.recordValue(toMicros(serviceNanos));
+        operationStats.statusCodes
+                .computeIfAbsent(status, ignored -> new LongAdder())
+                .increment();
+    }
+
+    /**
+     * Records a request that failed without a response, such as a refused connection or a timeout.
+     * Its latency still counts, since a client would have waited that long.
+     */
+    public void recordFailure(Operation operation, long latencyNanos) {
+        OperationStats operationStats = stats.get(operation);
+        operationStats.latency.recordValue(toMicros(latencyNanos));
+        operationStats.failed.increment();
+    }
+
+    /**
+     * Records a request that was not sent because too many requests were already in flight.
+     */
+    public void recordDropped(Operation operation) {
+        stats.get(operation).dropped.increment();
+    }
+
+    public LoadReport.OperationReport operationReport(Operation operation) {
+        OperationStats operationStats = stats.get(operation);
+        return new LoadReport.OperationReport(
+                operationStats.latency.getTotalCount(),
+                statusCodes(operationStats),
+                operationStats.failed.sum(),
+                operationStats.dropped.sum(),
+                LoadReport.LatencySummary.of(operationStats.latency),
+                LoadReport.LatencySummary.of(operationStats.successLatency),
+                LoadReport.LatencySummary.of(operationStats.serviceTime));
+    }
+
+    public Map<String, Long> statusCodes() {
+        Map<String, Long> merged = new TreeMap<>();
+        for (OperationStats operationStats : stats.values()) {
+            statusCodes(operationStats).forEach((code, count) -> merged.merge(code, count, Long::sum));
+        }
+        return merged;
+    }
+
+    public Histogram totalLatency() {
+        return merge(stats -> stats.latency);
+    }
+
+    public Histogram totalSuccessLatency() {
+        return merge(stats -> stats.successLatency);
+    }
+
+    public Histogram totalServiceTime() {
+        return merge(stats -> stats.serviceTime);
+    }
+
+    public long failed() {
+        return stats.values().stream().mapToLong(s -> s.failed.sum()).sum();
+    }
+
+    public long dropped() {
+        return stats.values().stream().mapToLong(s -> s.dropped.sum()).sum();
+    }
+
+    private Histogram merge(Function<OperationStats, Histogram> histogram) {
+        Histogram total = newHistogram();
+        stats.values().forEach(s -> total.add(histogram.apply(s)));
+        return total;
+    }
+
+    private static Map<String, Long> statusCodes(OperationStats operationStats) {
+        Map<String, Long> codes = new TreeMap<>();
+        operationStats.statusCodes.forEach((status, count) -> codes.put(String.valueOf(status), count.sum()));
+        return codes;
+    }
+
+    private static long toMicros(long nanos) {
+        // Clamp instead of throwing so that one pathological request cannot abort the run
+        return Math.min(Math.max(nanos / 1_000, 1), HIGHEST_TRACKABLE_MICROS);
+    }
+
+    private static ConcurrentHistogram newHistogram() {
+        return new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static final class OperationStats {
+        private final Histogram latency = newHistogram();
+        private final Histogram successLatency = newHistogram();
+        private final Histogram serviceTime = newHistogram();
+        private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+    }
+}
@@ -0,0 +1,128 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Drives the employee endpoints of the api or the mock server with an open-loop request schedule and reports
+ * latency percentiles and throughput as JSON.
+ *
+ * <p>Examples, run from the repository root:
+ * <pre>
+ * ./gradlew loadgen:bootRun --args="--boot=both --rate=500 --duration=PT60S"
+ * ./gradlew loadgen:bootRun --args="--target=http://localhost:8112/api/v1/employee --mix=balanced --record=run.jsonl"
+ * ./gradlew loadgen:bootRun --args="--boot=api --replay=run.jsonl --replay-speed=2 --report=report.json"
+ * </pre>
+ * See {@link LoadOptions} for every option.
+ */
+@Slf4j
+public class LoadGenerator {
+
+    private static final int PRELOAD_BATCH = 32;
+
+    public static void main(String[] args) throws Exception {
+        LoadOptions options = LoadOptions.parse(args);
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (EmbeddedApplications applications = new EmbeddedApplications()) {
+            String serverUrl = "http://localhost:%d/api/v1/employee".formatted(options.serverPort());
+            if (options.bootServer()) {
+                applications.startServer(options.serverPort(), options.employees());
+            }
+            if (options.bootApi()) {
+                applications.startApi(options.apiPort(), options.bootServer() ? serverUrl : null);
+            }
+
+            LoadReport report = run(options, objectMapper);
+            String json = objectMapper
+                    .copy()
+                    .enable(SerializationFeature.INDENT_OUTPUT)
+                    .writeValueAsString(report);
+            if (options.report() != null) {
+                Files.writeString(options.report(), json);
+                log.info("Report written to {}", options.report().toAbsolutePath());
+            } else {
+                System.out.println(json);
+            }
+        }
+    }
+
+    static LoadReport run(LoadOptions options, ObjectMapper objectMapper) throws IOException, InterruptedException {
+        URI baseUrl = URI.create(options.target());
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        SplittableRandom random = new SplittableRandom(options.randomSeed());
+        TargetState target = new TargetState(objectMapper, random.split());
+
+        discover(client, baseUrl, target, options.timeout());
+        preload(client, baseUrl, target, options);
+        log.info("Target {} has {} known employees", baseUrl, target.knownEmployees());
+
+        RequestSchedule schedule;
+        String mix;
+        if (options.replay() != null) {
+            schedule = RequestSchedule.replay(options.replay(), objectMapper, options.replaySpeed());
+            mix = "replay";
+        } else {
+            OperationMix operationMix = OperationMix.parse(options.mix());
+            schedule = RequestSchedule.generated(
+                    operationMix, options.rate(), options.duration(), options.arrival(), random.split());
+            mix = operationMix.toString();
+        }
+
+        OpenLoopRunner runner = new OpenLoopRunner(
+                client, baseUrl, target, options.timeout(), options.sendTimeout(), options.maxInFlight());
+        try (schedule;
+                RequestLogWriter requestLog =
+                        options.record() == null ? null : new RequestLogWriter(options.record(), objectMapper)) {
+            return runner.run(schedule, options.warmup(), requestLog, mix);
+        }
+    }
+
+    private static void discover(HttpClient client, URI baseUrl, TargetState target, Duration timeout)
+            throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(
+                Operation.GET_ALL.request(baseUrl, null).timeout(timeout).build(),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException(
+                    "Listing employees at %s returned %d".formatted(baseUrl, response.statusCode()));
+        }
+        target.learn(response.body());
+    }
+
+    private static void preload(HttpClient client, URI baseUrl, TargetState target, LoadOptions options) {
+        int missing = options.preload() - target.knownEmployees();
+        while (missing > 0) {
+            List<CompletableFuture<Void>> batch = new ArrayList<>();
+            for (int i = 0; i < Math.min(missing, PRELOAD_BATCH); i++) {
+                HttpRequest request = Operation.CREATE
+                        .request(baseUrl, target.argumentFor(Operation.CREATE))
+                        .timeout(options.timeout())
+                        .build();
+                batch.add(client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                        .thenAccept(response -> target.learn(response.body())));
+            }
+            CompletableFuture.allOf(batch.toArray(CompletableFuture[]::new)).join();
+            int remaining = options.preload() - target.knownEmployees();
+            if (remaining >= missing) {
+                throw new IllegalStateException("Preloading made no progress against " + baseUrl);
+            }
+            missing = remaining;
+        }
+    }
+}
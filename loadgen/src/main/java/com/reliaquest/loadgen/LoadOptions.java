@@ -0,0 +1,134 @@
+package com.reliaquest.loadgen;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Command line options of the generator, given as {@code --name=value}.
+ *
+ * @param boot which applications to start in-process: {@code none}, {@code server}, {@code api} or {@code both}
+ * @param target base URL of the employee endpoints; defaults to the api, or to the server if only it is booted
+ * @param apiPort port of an in-process api
+ * @param serverPort port of an in-process server
+ * @param employees employees generated by an in-process server
+ * @param preload employees to create through the target before the run if it knows fewer
+ * @param mix operation weights or a preset name, see {@link OperationMix}
+ * @param rate offered requests per second
+ * @param duration length of the generated schedule, warm-up included
+ * @param warmup leading part of the run that is not measured
+ * @param arrival spacing of generated requests
+ * @param maxInFlight outstanding requests beyond which new ones are dropped
+ * @param timeout per-request timeout
+ * @param sendTimeout whether to send the timeout to the target as its request deadline
+ * @param randomSeed seed for the schedule and the arguments
+ * @param record where to write the issued requests
+ * @param replay a request log to replay instead of generating a schedule
+ * @param replaySpeed replay speed-up factor
+ * @param report where to write the JSON report; standard output if absent
+ */
+public record LoadOptions(
+        String boot,
+        String target,
+        int apiPort,
+        int serverPort,
+        int employees,
+        int preload,
+        String mix,
+        double rate,
+        Duration duration,
+        Duration warmup,
+        RequestSchedule.Arrival arrival,
+        int maxInFlight,
+        Duration timeout,
+        boolean sendTimeout,
+        long randomSeed,
+        Path record,
+        Path replay,
+        double replaySpeed,
+        Path report) {
+
+    private static final Set<String> NAMES = Set.of(
+            "boot",
+            "target",
+            "api-port",
+            "server-port",
+            "employees",
+            "preload",
+            "mix",
+            "rate",
+            "duration",
+            "warmup",
+            "arrival",
+            "max-in-flight",
+            "timeout",
+            "send-timeout",
+            "random-seed",
+            "record",
+            "replay",
+            "replay-speed",
+            "report");
+
+    public static LoadOptions parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got '%s'".formatted(arg));
+            }
+            String name = arg.substring(2, arg.indexOf('='));
+            if (!NAMES.contains(name)) {
+                throw new IllegalArgumentException("Unknown option --%s, expected one of %s".formatted(name, NAMES));
+            }
+            values.put(name, arg.substring(arg.indexOf('=') + 1));
+        }
+
+        String boot = values.getOrDefault("boot", "none").toLowerCase(Locale.ROOT);
+        if (!Set.of("none", "server", "api", "both").contains(boot)) {
+            throw new IllegalArgumentException("--boot must be one of none, server, api or both");
+        }
+        int apiPort = Integer.parseInt(values.getOrDefault("api-port", "8111"));
+        int serverPort = Integer.parseInt(values.getOrDefault("server-port", "8112"));
+        String defaultTarget = boot.equals("server")
+                ? "http://localhost:%d/api/v1/employee".formatted(serverPort)
+                : "http://localhost:%d/api/v1/employee".formatted(apiPort);
+        // A standalone api starts empty, so give it something to read
+        String defaultPreload = boot.equals("api") ? "1000" : "0";
+
+        return new LoadOptions(
+                boot,
+                values.getOrDefault("target", defaultTarget),
+                apiPort,
+                serverPort,
+                Integer.parseInt(values.getOrDefault("employees", "1000")),
+                Integer.parseInt(values.getOrDefault("preload", defaultPreload)),
+                values.getOrDefault("mix", "read-heavy"),
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                Duration.parse(values.getOrDefault("duration", "PT30S")),
+                Duration.parse(values.getOrDefault("warmup", "PT5S")),
+                RequestSchedule.Arrival.valueOf(
+                        values.getOrDefault("arrival", "poisson").toUpperCase(Locale.ROOT)),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "1024")),
+                Duration.parse(values.getOrDefault("timeout", "PT10S")),
+                Boolean.parseBoolean(values.getOrDefault("send-timeout", "false")),
+                Long.parseLong(values.getOrDefault("random-seed", "42")),
+                path(values.get("record")),
+                path(values.get("replay")),
+                Double.parseDouble(values.getOrDefault("replay-speed", "1")),
+                path(values.get("report")));
+    }
+
+    public boolean bootServer() {
+        return boot.equals("server") || boot.equals("both");
+    }
+
+    public boolean bootApi() {
+        return boot.equals("api") || boot.equals("both");
+    }
+
+    private static Path path(String value) {
+        return value == null || value.isBlank() ? null : Path.of(value);
+    }
+}
@@ -0,0 +1,73 @@
+package com.reliaquest.loadgen;
+
+import java.util.Map;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Result of a run, written as JSON.
+ *
+ * @param target the base URL that was driven
+ * @param mix the operation weights, or {@code replay} for a replayed log
+ * @param offeredRate requests per second the schedule asked for
+ * @param measuredSeconds length of the measured part of the run, from the end of the warm-up to the last response
+ * @param scheduled measured requests in the schedule
+ * @param completed measured requests that received a response
+ * @param failed measured requests that ended without a response
+ * @param dropped measured requests that were never sent because the in-flight limit was reached
+ * @param throughput responses per second over the measured part of the run
+ * @param statusCodes responses per HTTP status
+ * @param latency time from intended start to response, free of coordinated omission
+ * @param successLatency the same for successful responses only, leaving out requests the target turned away quickly
+ * @param serviceTime time from actual send to response
+ * @param operations the same figures per operation
+ */
+public record LoadReport(
+        String target,
+        String mix,
+        double offeredRate,
+        double measuredSeconds,
+        long scheduled,
+        long completed,
+        long failed,
+        long dropped,
+        double throughput,
+        Map<String, Long> statusCodes,
+        LatencySummary latency,
+        LatencySummary successLatency,
+        LatencySummary serviceTime,
+        Map<String, OperationReport> operations) {
+
+    public record OperationReport(
+            long count,
+            Map<String, Long> statusCodes,
+            long failed,
+            long dropped,
+            LatencySummary latency,
+            LatencySummary successLatency,
+            LatencySummary serviceTime) {}
+
+    /**
+     * Latency percentiles in milliseconds.
+     */
+    public record LatencySummary(
+            long count, double mean, double p50, double p90, double p99, double p999, double max) {
+
+        static LatencySummary of(Histogram histogram) {
+            if (histogram.getTotalCount() == 0) {
+                return new LatencySummary(0, 0, 0, 0, 0, 0, 0);
+            }
+            return new LatencySummary(
+                    histogram.getTotalCount(),
+                    millis(histogram.getMean()),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()));
+        }
+
+        private static double millis(double micros) {
+            return Math.round(micros) / 1_000d;
+        }
+    }
+}
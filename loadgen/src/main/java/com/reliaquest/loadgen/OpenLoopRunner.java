@@ -0,0 +1,175 @@
+package com.reliaquest.loadgen;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Issues the requests of a {@link RequestSchedule} at their intended start times and records the outcomes.
+ *
+ * <p>A single thread dispatches and never waits for responses, which complete asynchronously. Latency is measured
+ * from the intended start time rather than the send time, so a stall anywhere (target, network or the generator
+ * itself) is charged to every request that should have been sent during it. This avoids the coordinated omission of
+ * closed-loop benchmarks, which stop sending while they wait and so never observe the requests a stall delays.
+ */
+@Slf4j
+public class OpenLoopRunner {
+
+    private static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private final HttpClient client;
+    private final URI baseUrl;
+    private final TargetState target;
+    private final Duration requestTimeout;
+    private final boolean sendTimeout;
+    private final int maxInFlight;
+
+    /**
+     * @param sendTimeout whether every request tells the target its timeout, so that the target can stop working on
+     *     it when the generator stops waiting
+     * @param maxInFlight upper bound on outstanding requests; beyond it requests are dropped and counted rather than
+     *     queued, which would hide the overload
+     */
+    public OpenLoopRunner(
+            HttpClient client,
+            URI baseUrl,
+            TargetState target,
+            Duration requestTimeout,
+            boolean sendTimeout,
+            int maxInFlight) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.target = target;
+        this.requestTimeout = requestTimeout;
+        this.sendTimeout = sendTimeout;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Runs the schedule to completion.
+     *
+     * @param schedule the requests to issue
+     * @param warmup leading part of the schedule whose requests are sent but not measured
+     * @param requestLog where to record the issued requests, or {@code null}
+     * @param mix a label for the report
+     */
+    public LoadReport run(RequestSchedule schedule, Duration warmup, RequestLogWriter requestLog, String mix)
+            throws InterruptedException {
+        LatencyRecorder recorder = new LatencyRecorder();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long warmupNanos = warmup.toNanos();
+        long start = System.nanoTime();
+        AtomicLong lastCompletion = new AtomicLong(start + warmupNanos);
+        long scheduled = 0;
+        long lastOffset = warmupNanos;
+
+        while (schedule.hasNext()) {
+            ScheduledRequest request = schedule.next();
+            long intendedStart = start + request.offsetNanos();
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Operation operation = request.operation();
+            String argument = request.argument() != null ? request.argument() : target.argumentFor(operation);
+            if (requestLog != null) {
+                requestLog.write(new ScheduledRequest(
+                        request.offsetNanos(), operation, recordableArgument(request, argument)));
+            }
+            boolean measured = request.offsetNanos() >= warmupNanos;
+            if (measured) {
+                scheduled++;
+                lastOffset = request.offsetNanos();
+            }
+            if (!inFlight.tryAcquire()) {
+                if (measured) {
+                    recorder.recordDropped(operation);
+                }
+                continue;
+            }
+
+            HttpRequest.Builder builder = operation.request(baseUrl, argument).timeout(requestTimeout);
+            if (sendTimeout) {
+                builder.header(TIMEOUT_HEADER, Long.toString(requestTimeout.toMillis()));
+            }
+            HttpRequest httpRequest = builder.build();
+            long sent = System.nanoTime();
+            client.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofString())
+                    .whenComplete((response, error) -> {
+                        long now = System.nanoTime();
+                        inFlight.release();
+                        if (response != null && operation == Operation.CREATE && response.statusCode() < 300) {
+                            target.learn(response.body());
+                        }
+                        if (!measured) {
+                            return;
+                        }
+                        if (error != null) {
+                            recorder.recordFailure(operation, now - intendedStart);
+                        } else {
+                            recorder.recordResponse(
+                                    operation, response.statusCode(), now - intendedStart, now - sent);
+                        }
+                        lastCompletion.accumulateAndGet(now, Math::max);
+                    });
+        }
+
+        // Wait for the stragglers; every request has a timeout, so this terminates
+        if (!inFlight.tryAcquire(maxInFlight, requestTimeout.toMillis() + 1_000, TimeUnit.MILLISECONDS)) {
+            log.warn(
+                    "{} requests were still outstanding at the end of the run",
+                    maxInFlight - inFlight.availablePermits());
+        }
+
+        double measuredSeconds = Math.max(lastCompletion.get() - start - warmupNanos, 1) / 1e9;
+        double scheduleSeconds = Math.max(lastOffset - warmupNanos, 1) / 1e9;
+        Map<String, LoadReport.OperationReport> operations = new LinkedHashMap<>();
+        long completed = 0;
+        for (Operation operation : Operation.values()) {
+            LoadReport.OperationReport report = recorder.operationReport(operation);
+            long responses = report.count() - report.failed();
+            if (report.count() > 0 || report.dropped() > 0) {
+                operations.put(operation.key(), report);
+            }
+            completed += responses;
+        }
+        return new LoadReport(
+                baseUrl.toString(),
+                mix,
+                round(scheduled / scheduleSeconds),
+                round(measuredSeconds),
+                scheduled,
+                completed,
+                recorder.failed(),
+                recorder.dropped(),
+                round(completed / measuredSeconds),
+                recorder.statusCodes(),
+                LoadReport.LatencySummary.of(recorder.totalLatency()),
+                LoadReport.LatencySummary.of(recorder.totalSuccessLatency()),
+                LoadReport.LatencySummary.of(recorder.totalServiceTime()),
+                operations);
+    }
+
+    /**
+     * Ids that were chosen against this target's data are left out of the log, so that a replay chooses its own.
+     */
+    private static String recordableArgument(ScheduledRequest request, String argument) {
+        boolean chosenId = request.argument() == null
+                && (request.operation() == Operation.GET_BY_ID || request.operation() == Operation.DELETE);
+        return chosenId ? null : argument;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100d;
+    }
+}
@@ -0,0 +1,75 @@
+package com.reliaquest.loadgen;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * The seven operations of {@code IEmployeeController}, which the mock server exposes under the same paths.
+ *
+ * <p>Each operation turns an argument into a request. Arguments are what a request log records: the search fragment,
+ * the employee id, or the JSON body of a create.
+ */
+public enum Operation {
+    GET_ALL("getAll", false),
+    SEARCH("search", true),
+    GET_BY_ID("getById", true),
+    HIGHEST_SALARY("highestSalary", false),
+    TOP_TEN("topTen", false),
+    CREATE("create", true),
+    DELETE("delete", true);
+
+    private final String key;
+    private final boolean needsArgument;
+
+    Operation(String key, boolean needsArgument) {
+        this.key = key;
+        this.needsArgument = needsArgument;
+    }
+
+    /**
+     * @return the short name used in mixes, request logs and reports
+     */
+    public String key() {
+        return key;
+    }
+
+    public boolean needsArgument() {
+        return needsArgument;
+    }
+
+    public HttpRequest.Builder request(URI baseUrl, String argument) {
+        String base = baseUrl.toString();
+        return switch (this) {
+            case GET_ALL -> HttpRequest.newBuilder(URI.create(base)).GET();
+            case SEARCH -> HttpRequest.newBuilder(URI.create(base + "/search/" + encode(argument)))
+                    .GET();
+            case GET_BY_ID -> HttpRequest.newBuilder(URI.create(base + "/" + encode(argument)))
+                    .GET();
+            case HIGHEST_SALARY -> HttpRequest.newBuilder(URI.create(base + "/highestSalary"))
+                    .GET();
+            case TOP_TEN -> HttpRequest.newBuilder(URI.create(base + "/topTenHighestEarningEmployeeNames"))
+                    .GET();
+            case CREATE -> HttpRequest.newBuilder(URI.create(base))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(argument));
+            case DELETE -> HttpRequest.newBuilder(URI.create(base + "/" + encode(argument)))
+                    .DELETE();
+        };
+    }
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key) || operation.name().equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation '%s'".formatted(key.toLowerCase(Locale.ROOT)));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+}
@@ -0,0 +1,84 @@
+package com.reliaquest.loadgen;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.random.RandomGenerator;
+
+/**
+ * Relative weights of the operations in a run.
+ *
+ * <p>A mix is written as {@code getAll=10,search=20,getById=40,...} or named by one of the presets
+ * {@code read-heavy}, {@code balanced} and {@code write-heavy}. Operations that are left out are never issued.
+ */
+public final class OperationMix {
+
+    private static final Map<String, String> PRESETS = Map.of(
+            "read-heavy", "getAll=5,search=20,getById=55,highestSalary=8,topTen=8,create=2,delete=2",
+            "balanced", "getAll=10,search=15,getById=35,highestSalary=10,topTen=10,create=10,delete=10",
+            "write-heavy", "getAll=5,search=5,getById=20,highestSalary=5,topTen=5,create=30,delete=30");
+
+    private final Map<Operation, Integer> weights;
+    private final Operation[] operations;
+    private final int[] cumulative;
+    private final int total;
+
+    private OperationMix(Map<Operation, Integer> weights) {
+        this.weights = weights;
+        this.operations = weights.keySet().toArray(Operation[]::new);
+        this.cumulative = new int[operations.length];
+        int sum = 0;
+        for (int i = 0; i < operations.length; i++) {
+            sum += weights.get(operations[i]);
+            cumulative[i] = sum;
+        }
+        this.total = sum;
+    }
+
+    public static OperationMix parse(String spec) {
+        String resolved = PRESETS.getOrDefault(spec, spec);
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : resolved.split(",")) {
+            String[] pair = part.trim().split("=");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("Expected <operation>=<weight> but got '%s'".formatted(part));
+            }
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of %s must not be negative".formatted(pair[0]));
+            }
+            if (weight > 0) {
+                weights.merge(Operation.fromKey(pair[0].trim()), weight, Integer::sum);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix '%s' does not contain any operation".formatted(spec));
+        }
+        return new OperationMix(weights);
+    }
+
+    public Operation next(RandomGenerator random) {
+        int ticket = random.nextInt(total);
+        for (int i = 0; i < cumulative.length; i++) {
+            if (ticket < cumulative[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    public Map<Operation, Integer> weights() {
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        weights.forEach((operation, weight) -> {
+            if (!builder.isEmpty()) {
+                builder.append(',');
+            }
+            builder.append(operation.key()).append('=').append(weight);
+        });
+        return builder.toString();
+    }
+}
@@ -0,0 +1,18 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One line of a request log: when a request was issued relative to the start of the run, what it was, and its
+ * argument.
+ *
+ * <p>A {@code null} argument means "pick one against the target at send time". Recorded runs leave the ids of
+ * {@code getById} and {@code delete} unset this way, because ids are generated per dataset and would not exist when
+ * the log is replayed against a freshly booted target. Logs captured elsewhere may carry concrete ids.
+ *
+ * @param offsetMicros intended start time, in microseconds after the start of the run
+ * @param operation the {@link Operation#key()} of the request
+ * @param argument the search fragment, employee id or create body, if any
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record RequestLogEntry(long offsetMicros, String operation, String argument) {}
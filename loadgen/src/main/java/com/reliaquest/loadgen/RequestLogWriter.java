@@ -0,0 +1,51 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Records the requests of a run as JSON lines that {@link RequestSchedule#replay} can read back.
+ *
+ * <p>Only the dispatching thread writes, so no synchronization is needed.
+ */
+public class RequestLogWriter implements AutoCloseable {
+
+    private final BufferedWriter writer;
+    private final ObjectMapper objectMapper;
+
+    public RequestLogWriter(Path path, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            this.writer = Files.newBufferedWriter(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create request log " + path, e);
+        }
+    }
+
+    public void write(ScheduledRequest request) {
+        try {
+            writer.write(objectMapper.writeValueAsString(new RequestLogEntry(
+                    request.offsetNanos() / 1_000, request.operation().key(), request.argument())));
+            writer.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
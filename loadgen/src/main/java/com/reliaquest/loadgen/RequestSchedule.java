@@ -0,0 +1,137 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.random.RandomGenerator;
+
+/**
+ * The requests of a run in order of their intended start times.
+ *
+ * <p>Start times are fixed before the run and never depend on how fast the target answers. That is what makes the
+ * load open-loop: a slow response does not delay the requests behind it, so stalls show up in the latencies instead
+ * of silently lowering the offered rate.
+ */
+public interface RequestSchedule extends Iterator<ScheduledRequest>, AutoCloseable {
+
+    /**
+     * Distribution of the gaps between consecutive requests.
+     */
+    enum Arrival {
+        /** Requests are spaced exactly {@code 1 / rate} apart. */
+        UNIFORM,
+        /** Gaps are exponentially distributed with mean {@code 1 / rate}, like independent clients. */
+        POISSON
+    }
+
+    @Override
+    default void close() {}
+
+    /**
+     * Generates requests from a mix at a target rate.
+     *
+     * @param mix the operations to draw from
+     * @param ratePerSecond the offered rate
+     * @param duration how long to generate requests for
+     * @param arrival the spacing of the requests
+     * @param random the source of randomness, seeded for reproducible runs
+     */
+    static RequestSchedule generated(
+            OperationMix mix, double ratePerSecond, Duration duration, Arrival arrival, RandomGenerator random) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive");
+        }
+        double meanGapNanos = 1_000_000_000d / ratePerSecond;
+        long endNanos = duration.toNanos();
+        return new RequestSchedule() {
+            private double nextOffset = 0;
+
+            @Override
+            public boolean hasNext() {
+                return nextOffset < endNanos;
+            }
+
+            @Override
+            public ScheduledRequest next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ScheduledRequest request = new ScheduledRequest((long) nextOffset, mix.next(random), null);
+                nextOffset += arrival == Arrival.UNIFORM
+                        ? meanGapNanos
+                        : -Math.log(1 - random.nextDouble()) * meanGapNanos;
+                return request;
+            }
+        };
+    }
+
+    /**
+     * Reads a request log written by {@link RequestLogWriter}, one JSON object per line.
+     *
+     * @param path the log to replay
+     * @param speed how much faster than recorded to replay; 2 halves every offset
+     */
+    static RequestSchedule replay(Path path, ObjectMapper objectMapper, double speed) {
+        if (speed <= 0) {
+            throw new IllegalArgumentException("Replay speed must be positive");
+        }
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open request log " + path, e);
+        }
+        return new RequestSchedule() {
+            private ScheduledRequest next = read();
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public ScheduledRequest next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                ScheduledRequest current = next;
+                next = read();
+                return current;
+            }
+
+            @Override
+            public void close() {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private ScheduledRequest read() {
+                try {
+                    String line;
+                    do {
+                        line = reader.readLine();
+                    } while (line != null && line.isBlank());
+                    if (line == null) {
+                        return null;
+                    }
+                    RequestLogEntry entry = objectMapper.readValue(line, RequestLogEntry.class);
+                    return new ScheduledRequest(
+                            (long) (entry.offsetMicros() * 1_000 / speed),
+                            Operation.fromKey(entry.operation()),
+                            entry.argument());
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read request log " + path, e);
+                }
+            }
+        };
+    }
+}
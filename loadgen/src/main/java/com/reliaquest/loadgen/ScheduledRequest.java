@@ -0,0 +1,10 @@
+package com.reliaquest.loadgen;
+
+/**
+ * A request of the schedule.
+ *
+ * @param offsetNanos intended start time relative to the start of the run
+ * @param operation the operation to issue
+ * @param argument a fixed argument, or {@code null} to choose one when the request is sent
+ */
+public record ScheduledRequest(long offsetNanos, Operation operation, String argument) {}
@@ -0,0 +1,106 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures how the api's throughput changes with the number of mock servers it shards employees over.
+ *
+ * <p>For every shard count from one to {@code --max-shards} it boots that many servers, splitting
+ * {@code --employees} evenly between them, boots the api in front of them with reads answered by scatter-gather,
+ * and drives it with the same schedule. Offer more load than one server can take, for example
+ * {@code --rate=3000}, so that the achieved throughput rather than the offered rate is what gets compared.
+ *
+ * <p>Run from the repository root:
+ * <pre>
+ * ./gradlew loadgen:shardScaling --args="--max-shards=4 --employees=20000 --rate=3000 --duration=PT30S"
+ * </pre>
+ * Every other option is passed to the {@link LoadGenerator}; {@code --boot} and {@code --target} are set here.
+ * Scaling needs cores: on a machine with fewer cores than shards the servers only compete for them.
+ */
+@Slf4j
+public class ShardScalingBenchmark {
+
+    private static final int API_PORT = 8111;
+    private static final int FIRST_SERVER_PORT = 8112;
+
+    public static void main(String[] args) throws Exception {
+        int maxShards = 4;
+        int employees = 20_000;
+        Path reportPath = null;
+        List<String> forwarded = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--max-shards=")) {
+                maxShards = Integer.parseInt(arg.substring("--max-shards=".length()));
+            } else if (arg.startsWith("--employees=")) {
+                employees = Integer.parseInt(arg.substring("--employees=".length()));
+            } else if (arg.startsWith("--report=")) {
+                reportPath = Path.of(arg.substring("--report=".length()));
+            } else if (arg.startsWith("--boot=") || arg.startsWith("--target=")) {
+                throw new IllegalArgumentException(arg + " is chosen by the benchmark");
+            } else {
+                forwarded.add(arg);
+            }
+        }
+        forwarded.add("--target=http://localhost:%d/api/v1/employee".formatted(API_PORT));
+        LoadOptions options = LoadOptions.parse(forwarded.toArray(String[]::new));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        double baseline = 0;
+        for (int shards = 1; shards <= maxShards; shards++) {
+            LoadReport report = measure(options, objectMapper, shards, employees / shards);
+            if (shards == 1) {
+                baseline = report.throughput();
+            }
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("shards", shards);
+            result.put("throughput", report.throughput());
+            result.put("speedUp", baseline > 0 ? Math.round(report.throughput() / baseline * 100) / 100d : 0);
+            result.put("p50", report.latency().p50());
+            result.put("p99", report.latency().p99());
+            result.put("p999", report.latency().p999());
+            result.put("failed", report.failed());
+            result.put("dropped", report.dropped());
+            result.put("statusCodes", report.statusCodes());
+            results.add(result);
+            log.info("{} shard(s): {}", shards, result);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("employees", employees);
+        summary.put("offeredRate", options.rate());
+        summary.put("mix", OperationMix.parse(options.mix()).toString());
+        summary.put("cores", Runtime.getRuntime().availableProcessors());
+        summary.put("results", results);
+        String json = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(summary);
+        if (reportPath != null) {
+            Files.writeString(reportPath, json);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private static LoadReport measure(LoadOptions options, ObjectMapper objectMapper, int shards, int employeesPerShard)
+            throws Exception {
+        try (EmbeddedApplications applications = new EmbeddedApplications()) {
+            List<String> shardUrls = IntStream.range(0, shards)
+                    .mapToObj(i -> "http://localhost:%d/api/v1/employee".formatted(FIRST_SERVER_PORT + i))
+                    .toList();
+            for (int i = 0; i < shards; i++) {
+                applications.startServer(FIRST_SERVER_PORT + i, employeesPerShard);
+            }
+            // The api moves every employee to the shard that owns its ID before it starts serving
+            applications.startApi(API_PORT, shardUrls, true);
+            return LoadGenerator.run(options, objectMapper);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Compares how quickly the api and the mock server serve after being started, built as usual and startup-optimized
+ * with Spring AOT processing and a class-data sharing archive.
+ *
+ * <p>Each build of each module is started {@code --runs} times as a process of its own. The time from launching the
+ * JVM to the first HTTP response on {@code /api/v1/employee}, whatever its status, is reported along with the resident
+ * memory of the process at that moment. The latter is read from {@code /proc} and left out on other systems.
+ *
+ * <p>Both builds are made by the task, from the repository root:
+ * <pre>
+ * ./gradlew -PstartupOptimized loadgen:startup --args="--runs=5"
+ * </pre>
+ */
+@Slf4j
+public class StartupBenchmark {
+
+    private static final Map<String, Integer> PORTS = Map.of("api", 8111, "server", 8112);
+    private static final Duration START_TIMEOUT = Duration.ofMinutes(2);
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(5);
+
+    public static void main(String[] args) throws Exception {
+        List<String> modules = List.of("api", "server");
+        int runs = 5;
+        Path reportPath = null;
+        for (String arg : args) {
+            if (arg.startsWith("--modules=")) {
+                modules = Arrays.stream(arg.substring("--modules=".length()).split(","))
+                        .map(String::trim)
+                        .toList();
+            } else if (arg.startsWith("--runs=")) {
+                runs = Integer.parseInt(arg.substring("--runs=".length()));
+            } else if (arg.startsWith("--report=")) {
+                reportPath = Path.of(arg.substring("--report=".length()));
+            } else {
+                throw new IllegalArgumentException("Unknown option " + arg);
+            }
+        }
+        String java = ProcessHandle.current().info().command().orElse("java");
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String module : modules) {
+            if (!PORTS.containsKey(module)) {
+                throw new IllegalArgumentException("No application module " + module);
+            }
+            Path standardJar = bootJar(module);
+            Path optimizedDir = Path.of(module, "build", "optimized");
+            if (!Files.isRegularFile(optimizedDir.resolve(module + ".jsa"))) {
+                throw new IllegalStateException(
+                        "No startup-optimized build of %s, make it with ./gradlew -PstartupOptimized %s:assemble"
+                                .formatted(module, module));
+            }
+            List<String> standard = List.of(java, "-jar", standardJar.getFileName().toString());
+            List<String> optimized = List.of(
+                    java,
+                    "-XX:SharedArchiveFile=" + module + ".jsa",
+                    "-Dspring.aot.enabled=true",
+                    "-jar",
+                    module + ".jar");
+            for (Map<String, Object> result : List.of(
+                    measure(module, "standard", standard, standardJar.getParent(), runs),
+                    measure(module, "optimized", optimized, optimizedDir, runs))) {
+                results.add(result);
+                log.info("{}", result);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("runs", runs);
+        summary.put("results", results);
+        String json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(summary);
+        if (reportPath != null) {
+            Files.writeString(reportPath, json);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private static Path bootJar(String module) throws IOException {
+        Path libs = Path.of(module, "build", "libs");
+        try (Stream<Path> jars = Files.list(libs)) {
+            return jars.filter(jar -> jar.toString().endsWith(".jar") && !jar.toString().endsWith("-plain.jar"))
+                    .findFirst()
+                    .orElseThrow(() -> new IllegalStateException("No boot jar in " + libs.toAbsolutePath()));
+        }
+    }
+
+    private static Map<String, Object> measure(
+            String module, String build, List<String> command, Path directory, int runs) throws Exception {
+        URI uri = URI.create("http://localhost:%d/api/v1/employee".formatted(PORTS.get(module)));
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(1))
+                .build();
+        List<Double> seconds = new ArrayList<>();
+        List<Double> rssMegabytes = new ArrayList<>();
+        for (int run = 0; run < runs; run++) {
+            long start = System.nanoTime();
+            Process process = new ProcessBuilder(command)
+                    .directory(directory.toFile())
+                    .redirectErrorStream(true)
+                    .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                    .start();
+            try {
+                awaitFirstResponse(client, process, uri);
+                seconds.add(Math.round((System.nanoTime() - start) / 1e6) / 1e3);
+                residentKilobytes(process.pid()).ifPresent(kilobytes -> rssMegabytes.add(kilobytes / 1024d));
+            } finally {
+                process.destroy();
+                if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("module", module);
+        result.put("build", build);
+        result.put("firstResponseSeconds", median(seconds));
+        result.put("fastestFirstResponseSeconds", seconds.stream().min(Double::compare).orElse(0d));
+        result.put("rssMegabytes", rssMegabytes.isEmpty() ? null : Math.round(median(rssMegabytes) * 10) / 10d);
+        return result;
+    }
+
+    private static void awaitFirstResponse(HttpClient client, Process process, URI uri) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(5)).GET().build();
+        long deadline = System.nanoTime() + START_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Started for %s, exited with %d".formatted(uri, process.exitValue()));
+            }
+            try {
+                client.send(request, HttpResponse.BodyHandlers.discarding());
+                return;
+            } catch (IOException e) {
+                // Not listening yet
+                Thread.sleep(POLL_INTERVAL.toMillis());
+            }
+        }
+        throw new IllegalStateException("No response from " + uri + " within " + START_TIMEOUT);
+    }
+
+    private static OptionalLong residentKilobytes(long pid) throws IOException {
+        Path status = Path.of("/proc", String.valueOf(pid), "status");
+        if (!Files.isReadable(status)) {
+            return OptionalLong.empty();
+        }
+        return Files.readAllLines(status).stream()
+                .filter(line -> line.startsWith("VmRSS:"))
+                .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                .findFirst();
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) {
+            return 0;
+        }
+        List<Double> sorted = values.stream().sorted().toList();
+        int middle = sorted.size() / 2;
+        return sorted.size() % 2 == 1 ? sorted.get(middle) : (sorted.get(middle - 1) + sorted.get(middle)) / 2;
+    }
+}
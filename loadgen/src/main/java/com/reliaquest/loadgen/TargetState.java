@@ -0,0 +1,134 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.random.RandomGenerator;
+
+/**
+ * What the generator knows about the target's data, used to pick realistic arguments.
+ *
+ * <p>Ids and names are learned from the initial employee list and from the responses of creates. Ids are handed out
+ * for deletion at most once, so two deletes never race for the same employee.
+ */
+public class TargetState {
+
+    private static final String[] FIRST_NAMES = {"Ada", "Grace", "Alan", "Edsger", "Barbara", "Donald", "Frances"};
+    private static final String[] LAST_NAMES = {"Lovelace", "Hopper", "Turing", "Dijkstra", "Liskov", "Knuth", "Allen"};
+    private static final String[] TITLES = {"Engineer", "Manager", "Analyst", "Designer", "Consultant"};
+
+    private final ObjectMapper objectMapper;
+    private final RandomGenerator random;
+    private final List<String> ids = new ArrayList<>();
+    private final Map<String, Integer> positions = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+
+    public TargetState(ObjectMapper objectMapper, RandomGenerator random) {
+        this.objectMapper = objectMapper;
+        this.random = random;
+    }
+
+    /**
+     * Learns the employees of a {@code getAll} or {@code create} response body.
+     * Both the api's plain bodies and the mock server's {@code data} envelope are understood.
+     */
+    public void learn(String responseBody) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(responseBody);
+        } catch (Exception e) {
+            return;
+        }
+        if (node != null && node.has("data")) {
+            node = node.get("data");
+        }
+        if (node == null) {
+            return;
+        }
+        if (node.isArray()) {
+            node.forEach(this::learnEmployee);
+        } else {
+            learnEmployee(node);
+        }
+    }
+
+    private synchronized void learnEmployee(JsonNode employee) {
+        JsonNode id = employee.get("id");
+        if (id == null || id.isNull() || positions.containsKey(id.asText())) {
+            return;
+        }
+        positions.put(id.asText(), ids.size());
+        ids.add(id.asText());
+        JsonNode name = employee.has("employee_name") ? employee.get("employee_name") : employee.get("name");
+        if (name != null && !name.isNull()) {
+            names.add(name.asText());
+        }
+    }
+
+    public synchronized int knownEmployees() {
+        return ids.size();
+    }
+
+    /**
+     * Chooses an argument for a request that was scheduled without one.
+     */
+    public String argumentFor(Operation operation) {
+        return switch (operation) {
+            case SEARCH -> searchFragment();
+            case GET_BY_ID -> anyId();
+            case DELETE -> takeId();
+            case CREATE -> createBody();
+            default -> null;
+        };
+    }
+
+    private synchronized String searchFragment() {
+        if (names.isEmpty()) {
+            return FIRST_NAMES[random.nextInt(FIRST_NAMES.length)].substring(0, 3);
+        }
+        String name = names.get(random.nextInt(names.size()));
+        int length = Math.min(name.length(), 3);
+        int start = random.nextInt(name.length() - length + 1);
+        return name.substring(start, start + length);
+    }
+
+    private synchronized String anyId() {
+        // An unknown id still exercises the lookup path; the response is a 404
+        return ids.isEmpty() ? UUID.randomUUID().toString() : ids.get(random.nextInt(ids.size()));
+    }
+
+    private synchronized String takeId() {
+        if (ids.isEmpty()) {
+            return UUID.randomUUID().toString();
+        }
+        // Swap-remove keeps the removal O(1)
+        int index = random.nextInt(ids.size());
+        String id = ids.get(index);
+        String last = ids.remove(ids.size() - 1);
+        if (index < ids.size()) {
+            ids.set(index, last);
+            positions.put(last, index);
+        }
+        positions.remove(id);
+        return id;
+    }
+
+    private String createBody() {
+        ObjectNode body = objectMapper.createObjectNode();
+        synchronized (this) {
+            body.put(
+                    "name",
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                            + LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+            body.put("salary", random.nextInt(30_000, 500_000));
+            body.put("age", random.nextInt(18, 70));
+            body.put("title", TITLES[random.nextInt(TITLES.length)]);
+        }
+        return body.toString();
+    }
+}
@@ -0,0 +1,189 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shows what the api's startup warm-up does for the latency of its first minute of traffic.
+ *
+ * <p>Each variant runs in a JVM of its own, since code compiled for one run would otherwise speed up the next. Both
+ * boot a mock server and the api in front of it. Without the warm-up, load starts as soon as the api has loaded the
+ * employees; with it, once {@code /actuator/health/readiness} reports the api up. The load is then measured from its
+ * first request, and the time from starting the api until load began is reported as {@code secondsToReady}.
+ *
+ * <p>Run from the repository root:
+ * <pre>
+ * ./gradlew loadgen:warmup --args="--employees=10000 --rate=1000"
+ * </pre>
+ * Every other option is passed to the {@link LoadGenerator}; {@code --boot}, {@code --target} and {@code --warmup}
+ * are set here, and {@code --duration} defaults to a minute.
+ */
+@Slf4j
+public class WarmupBenchmark {
+
+    private static final int API_PORT = 8111;
+    private static final int SERVER_PORT = 8112;
+    private static final Duration READY_TIMEOUT = Duration.ofMinutes(5);
+
+    public static void main(String[] args) throws Exception {
+        int employees = 10_000;
+        Path reportPath = null;
+        String variant = null;
+        List<String> forwarded = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--employees=")) {
+                employees = Integer.parseInt(arg.substring("--employees=".length()));
+            } else if (arg.startsWith("--report=")) {
+                reportPath = Path.of(arg.substring("--report=".length()));
+            } else if (arg.startsWith("--variant=")) {
+                variant = arg.substring("--variant=".length());
+            } else if (arg.startsWith("--boot=") || arg.startsWith("--target=") || arg.startsWith("--warmup=")) {
+                throw new IllegalArgumentException(arg + " is chosen by the benchmark");
+            } else {
+                forwarded.add(arg);
+            }
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        if (variant != null) {
+            // Started by the parent below, in a fresh JVM, to measure one variant
+            Map<String, Object> result = measure(options(forwarded), employees, variant.equals("on"));
+            Files.writeString(reportPath, objectMapper.writeValueAsString(result));
+            return;
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String warmup : List.of("off", "on")) {
+            Map<String, Object> result = fork(forwarded, employees, warmup, objectMapper);
+            results.add(result);
+            log.info("Warm-up {}: {}", warmup, result);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("employees", employees);
+        summary.put("mix", OperationMix.parse(options(forwarded).mix()).toString());
+        summary.put("results", results);
+        String json = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(summary);
+        if (reportPath != null) {
+            Files.writeString(reportPath, json);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private static LoadOptions options(List<String> forwarded) {
+        List<String> runArgs = new ArrayList<>();
+        runArgs.add("--duration=PT60S");
+        runArgs.addAll(forwarded);
+        runArgs.add("--target=http://localhost:%d/api/v1/employee".formatted(API_PORT));
+        runArgs.add("--warmup=PT0S");
+        return LoadOptions.parse(runArgs.toArray(String[]::new));
+    }
+
+    private static Map<String, Object> fork(
+            List<String> forwarded, int employees, String warmup, ObjectMapper objectMapper) throws Exception {
+        Path report = Files.createTempFile("warmup-" + warmup, ".json");
+        try {
+            List<String> command = new ArrayList<>();
+            command.add(ProcessHandle.current().info().command().orElse("java"));
+            command.add("-cp");
+            command.add(System.getProperty("java.class.path"));
+            command.add(WarmupBenchmark.class.getName());
+            command.add("--employees=" + employees);
+            command.add("--variant=" + warmup);
+            command.add("--report=" + report);
+            command.addAll(forwarded);
+            int exitCode = new ProcessBuilder(command).inheritIO().start().waitFor();
+            if (exitCode != 0) {
+                throw new IllegalStateException("Run with the warm-up " + warmup + " exited with " + exitCode);
+            }
+            return objectMapper.readValue(Files.readString(report), new TypeReference<>() {});
+        } finally {
+            Files.deleteIfExists(report);
+        }
+    }
+
+    private static Map<String, Object> measure(LoadOptions options, int employees, boolean warmup) throws Exception {
+        Map<String, Object> overrides = new LinkedHashMap<>();
+        overrides.put("employee.warmup.enabled", warmup);
+        overrides.put("management.endpoint.health.probes.enabled", true);
+        overrides.put("management.endpoint.health.group.readiness.include", "readinessState,warmup");
+
+        try (EmbeddedApplications applications = new EmbeddedApplications()) {
+            String serverUrl = "http://localhost:%d/api/v1/employee".formatted(SERVER_PORT);
+            applications.startServer(SERVER_PORT, employees);
+            long start = System.nanoTime();
+            applications.startApi(API_PORT, List.of(serverUrl), false, overrides);
+            if (warmup) {
+                awaitReady();
+            } else {
+                awaitEmployees();
+            }
+            double secondsToReady = Math.round((System.nanoTime() - start) / 1e6) / 1e3;
+            LoadReport report = LoadGenerator.run(options, new ObjectMapper());
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("warmup", warmup ? "on" : "off");
+            result.put("secondsToReady", secondsToReady);
+            result.put("throughput", report.throughput());
+            result.put("p50", report.latency().p50());
+            result.put("p99", report.latency().p99());
+            result.put("p999", report.latency().p999());
+            result.put("max", report.latency().max());
+            for (Operation operation : List.of(Operation.GET_BY_ID, Operation.GET_ALL, Operation.SEARCH)) {
+                LoadReport.OperationReport operationReport = report.operations().get(operation.key());
+                if (operationReport != null) {
+                    result.put(operation.key() + "P99", operationReport.latency().p99());
+                    result.put(operation.key() + "Max", operationReport.latency().max());
+                }
+            }
+            result.put("failed", report.failed());
+            result.put("dropped", report.dropped());
+            result.put("statusCodes", report.statusCodes());
+            return result;
+        }
+    }
+
+    private static void awaitReady() throws Exception {
+        URI readiness = URI.create("http://localhost:%d/actuator/health/readiness".formatted(API_PORT));
+        poll(readiness, body -> true);
+    }
+
+    private static void awaitEmployees() throws Exception {
+        URI employees = URI.create("http://localhost:%d/api/v1/employee".formatted(API_PORT));
+        ObjectMapper objectMapper = new ObjectMapper();
+        poll(employees, body -> objectMapper.readTree(body).size() > 0);
+    }
+
+    private static void poll(URI uri, ResponseCheck check) throws Exception {
+        HttpClient client = HttpClient.newHttpClient();
+        long deadline = System.nanoTime() + READY_TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            HttpResponse<String> response = client.send(
+                    HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() == 200 && check.passes(response.body())) {
+                return;
+            }
+            Thread.sleep(100);
+        }
+        throw new IllegalStateException("The api was not ready at " + uri + " within " + READY_TIMEOUT);
+    }
+
+    @FunctionalInterface
+    private interface ResponseCheck {
+        boolean passes(String body) throws Exception;
+    }
+}
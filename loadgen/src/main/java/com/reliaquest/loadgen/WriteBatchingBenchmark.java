@@ -0,0 +1,142 @@
+package com.reliaquest.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Measures what batching the api's upstream writes saves in upstream requests, and what it costs in write latency,
+ * for several batching windows.
+ *
+ * <p>For every window in {@code --windows} it boots a mock server and the api in front of it, with write batching
+ * off or with that window in milliseconds, and drives the api with the same schedule. Writes per upstream request
+ * come from the api's {@code upstream.batch.*} counters and include the warm-up.
+ *
+ * <p>Run from the repository root:
+ * <pre>
+ * ./gradlew loadgen:writeBatching --args="--windows=off,0,1,2,5,10 --rate=1000 --duration=PT30S"
+ * </pre>
+ * The mix defaults to {@code write-heavy}. Every other option is passed to the {@link LoadGenerator};
+ * {@code --boot} and {@code --target} are set here.
+ */
+@Slf4j
+public class WriteBatchingBenchmark {
+
+    private static final int API_PORT = 8111;
+    private static final int SERVER_PORT = 8112;
+    private static final String OFF = "off";
+
+    public static void main(String[] args) throws Exception {
+        List<String> windows = List.of(OFF, "0", "1", "2", "5", "10");
+        int employees = 1_000;
+        Path reportPath = null;
+        List<String> forwarded = new ArrayList<>(List.of("--mix=write-heavy"));
+        for (String arg : args) {
+            if (arg.startsWith("--windows=")) {
+                windows = Arrays.asList(arg.substring("--windows=".length()).split(","));
+            } else if (arg.startsWith("--employees=")) {
+                employees = Integer.parseInt(arg.substring("--employees=".length()));
+            } else if (arg.startsWith("--report=")) {
+                reportPath = Path.of(arg.substring("--report=".length()));
+            } else if (arg.startsWith("--boot=") || arg.startsWith("--target=")) {
+                throw new IllegalArgumentException(arg + " is chosen by the benchmark");
+            } else {
+                forwarded.add(arg);
+            }
+        }
+        forwarded.add("--target=http://localhost:%d/api/v1/employee".formatted(API_PORT));
+        LoadOptions options = LoadOptions.parse(forwarded.toArray(String[]::new));
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (String window : windows) {
+            Map<String, Object> result = measure(options, objectMapper, employees, window.trim());
+            results.add(result);
+            log.info("Window {}: {}", window, result);
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("employees", employees);
+        summary.put("offeredRate", options.rate());
+        summary.put("mix", OperationMix.parse(options.mix()).toString());
+        summary.put("results", results);
+        String json = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT).writeValueAsString(summary);
+        if (reportPath != null) {
+            Files.writeString(reportPath, json);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    private static Map<String, Object> measure(
+            LoadOptions options, ObjectMapper objectMapper, int employees, String window) throws Exception {
+        Map<String, Object> batching = new LinkedHashMap<>();
+        batching.put("employee.upstream.write-batching.enabled", !window.equals(OFF));
+        if (!window.equals(OFF)) {
+            batching.put("employee.upstream.write-batching.window", window + "ms");
+        }
+        // Single writes are only limited by the bulkhead, so give them the same concurrency the api's clients have
+        batching.put("employee.upstream.bulkhead.max-concurrent-calls", options.maxInFlight());
+
+        try (EmbeddedApplications applications = new EmbeddedApplications()) {
+            String serverUrl = "http://localhost:%d/api/v1/employee".formatted(SERVER_PORT);
+            applications.startServer(SERVER_PORT, employees);
+            applications.startApi(API_PORT, List.of(serverUrl), false, batching);
+            LoadReport report = LoadGenerator.run(options, objectMapper);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("window", window.equals(OFF) ? OFF : window + "ms");
+            result.put("throughput", report.throughput());
+            if (!window.equals(OFF)) {
+                double requests = counter(objectMapper, "upstream.batch.requests");
+                double writes = counter(objectMapper, "upstream.batch.writes");
+                result.put("upstreamRequests", (long) requests);
+                result.put("upstreamWrites", (long) writes);
+                result.put("writesPerRequest", requests > 0 ? Math.round(writes / requests * 100) / 100d : 0);
+            } else {
+                result.put("writesPerRequest", 1.0);
+            }
+            for (Operation operation : List.of(Operation.CREATE, Operation.DELETE)) {
+                LoadReport.OperationReport operationReport = report.operations().get(operation.key());
+                if (operationReport != null) {
+                    result.put(operation.key() + "P50", operationReport.latency().p50());
+                    result.put(operation.key() + "P99", operationReport.latency().p99());
+                }
+            }
+            result.put("p99", report.latency().p99());
+            result.put("failed", report.failed());
+            result.put("dropped", report.dropped());
+            result.put("statusCodes", report.statusCodes());
+            return result;
+        }
+    }
+
+    /**
+     * Reads a counter summed over all shards from the api's metrics endpoint.
+     */
+    private static double counter(ObjectMapper objectMapper, String name) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(
+                        URI.create("http://localhost:%d/actuator/metrics/%s".formatted(API_PORT, name)))
+                .GET()
+                .build();
+        HttpResponse<byte[]> response =
+                HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofByteArray());
+        if (response.statusCode() != 200) {
+            return 0;
+        }
+        JsonNode measurements = objectMapper.readTree(response.body()).path("measurements");
+        return measurements.isEmpty() ? 0 : measurements.get(0).path("value").asDouble();
+    }
+}
@@ -0,0 +1,50 @@
+package com.reliaquest.loadgen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.api.model.EmployeeDTO;
+import com.reliaquest.api.service.EmployeeService;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import jdk.jfr.Recording;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JfrSummaryTest {
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testSummarizesEmployeeOperationsByName(@TempDir Path directory) throws Exception {
+        EmployeeService service = new EmployeeService();
+        for (int i = 0; i < 50; i++) {
+            service.createEmployee(new EmployeeDTO("Employee " + i, 1_000 * i));
+        }
+
+        Path dump = directory.resolve("api.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.reliaquest.EmployeeOperation");
+            recording.start();
+            for (int i = 0; i < 10; i++) {
+                service.searchEmployees("employee 1");
+            }
+            service.getHighestSalary();
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        Map<String, Object> summary = JfrSummary.summarize(dump);
+        List<Map<String, Object>> operations = (List<Map<String, Object>>) summary.get("EmployeeOperation");
+        assertNotNull(operations, summary.keySet().toString());
+        Map<String, Object> search = operations.stream()
+                .filter(row -> row.get("group").equals("search"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals(10L, search.get("count"));
+        assertEquals(50.0, search.get("meanDatasetSize"));
+        // Employee 1 and Employee 10 to 19
+        assertEquals(11.0, search.get("meanResultSize"));
+        assertTrue(operations.stream().anyMatch(row -> row.get("group").equals("highestSalary")));
+        assertTrue(summary.containsKey("garbageCollection"));
+    }
+}
@@ -0,0 +1,96 @@
+package com.reliaquest.loadgen;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RequestScheduleTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testUniformScheduleIsSpacedByRate() {
+        List<ScheduledRequest> requests = drain(RequestSchedule.generated(
+                OperationMix.parse("getById=1"),
+                100,
+                Duration.ofSeconds(1),
+                RequestSchedule.Arrival.UNIFORM,
+                new SplittableRandom(1)));
+
+        assertEquals(100, requests.size());
+        assertEquals(0, requests.get(0).offsetNanos());
+        assertEquals(10_000_000, requests.get(1).offsetNanos());
+        assertEquals(990_000_000, requests.get(99).offsetNanos());
+    }
+
+    @Test
+    void testPoissonScheduleMatchesRateOnAverage() {
+        List<ScheduledRequest> requests = drain(RequestSchedule.generated(
+                OperationMix.parse("getById=1"),
+                1_000,
+                Duration.ofSeconds(20),
+                RequestSchedule.Arrival.POISSON,
+                new SplittableRandom(1)));
+
+        assertEquals(20_000, requests.size(), 600);
+        for (int i = 1; i < requests.size(); i++) {
+            assertTrue(requests.get(i).offsetNanos() >= requests.get(i - 1).offsetNanos());
+        }
+    }
+
+    @Test
+    void testMixFollowsWeights() {
+        OperationMix mix = OperationMix.parse("getAll=1,getById=3,create=0");
+        SplittableRandom random = new SplittableRandom(7);
+        Map<Operation, Integer> counts = new EnumMap<>(Operation.class);
+        for (int i = 0; i < 40_000; i++) {
+            counts.merge(mix.next(random), 1, Integer::sum);
+        }
+
+        assertEquals(2, counts.size());
+        assertEquals(10_000, counts.get(Operation.GET_ALL), 500);
+        assertEquals(30_000, counts.get(Operation.GET_BY_ID), 500);
+    }
+
+    @Test
+    void testPresetAndInvalidMixes() {
+        assertTrue(OperationMix.parse("balanced").weights().containsKey(Operation.DELETE));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("getAll"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("unknown=1"));
+        assertThrows(IllegalArgumentException.class, () -> OperationMix.parse("getAll=0"));
+    }
+
+    @Test
+    void testRecordedLogReplaysAtSpeed(@TempDir Path directory) {
+        Path log = directory.resolve("requests.jsonl");
+        try (RequestLogWriter writer = new RequestLogWriter(log, objectMapper)) {
+            writer.write(new ScheduledRequest(0, Operation.SEARCH, "Ada"));
+            writer.write(new ScheduledRequest(4_000_000, Operation.GET_BY_ID, null));
+        }
+
+        List<ScheduledRequest> replayed = drain(RequestSchedule.replay(log, objectMapper, 2));
+
+        assertEquals(
+                List.of(
+                        new ScheduledRequest(0, Operation.SEARCH, "Ada"),
+                        new ScheduledRequest(2_000_000, Operation.GET_BY_ID, null)),
+                replayed);
+    }
+
+    private static List<ScheduledRequest> drain(RequestSchedule schedule) {
+        List<ScheduledRequest> requests = new ArrayList<>();
+        try (schedule) {
+            schedule.forEachRemaining(requests::add);
+        }
+        return requests;
+    }
+}
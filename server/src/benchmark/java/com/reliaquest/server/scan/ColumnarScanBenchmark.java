@@ -0,0 +1,125 @@
+package com.reliaquest.server.scan;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ScanQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures {@link ColumnarScanner} throughput with 1 to N worker threads.
+ *
+ * <p>Run with {@code ./gradlew server:scanBenchmark}, optionally passing {@code --args="<rows> <iterations>"}.
+ * Each line reports the median latency of a filtered scan and of a top-ten scan, and the speed-up relative to a
+ * single thread. A last table puts a create and a delete before every filtered scan, and compares rebuilding the
+ * columns for the scan, as a scan after a write once did, with keeping them up to date in an
+ * {@link EmployeeColumnStore}.
+ */
+public class ColumnarScanBenchmark {
+
+    private static final String[] TITLES = {"Engineer", "Manager", "Analyst", "Designer", "Consultant"};
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 30;
+        List<MockEmployee> employees = generate(rows);
+        EmployeeColumns columns = EmployeeColumns.of(employees);
+        ScanQuery filter = new ScanQuery("an", "engineer", 100_000, 400_000, 25, 55, null);
+        ScanQuery topTen = ScanQuery.topBySalary(10);
+
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+        System.out.printf("rows=%d iterations=%d cores=%d%n", rows, iterations, maxThreads);
+        System.out.printf("%8s %14s %14s %9s%n", "threads", "filter p50 ms", "topTen p50 ms", "speed-up");
+
+        List<Integer> threadCounts = new ArrayList<>();
+        for (int threads = 1; threads < maxThreads; threads *= 2) {
+            threadCounts.add(threads);
+        }
+        threadCounts.add(maxThreads);
+
+        double baseline = 0;
+        for (int threads : threadCounts) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            try {
+                ColumnarScanner scanner = new ColumnarScanner(pool);
+                double filterMillis = medianMillis(scanner, columns, filter, iterations);
+                double topTenMillis = medianMillis(scanner, columns, topTen, iterations);
+                if (threads == 1) {
+                    baseline = filterMillis + topTenMillis;
+                }
+                System.out.printf(
+                        "%8d %14.2f %14.2f %8.2fx%n",
+                        threads, filterMillis, topTenMillis, baseline / (filterMillis + topTenMillis));
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        System.out.printf("%nwith a create and a delete before every scan, %d threads%n", maxThreads);
+        System.out.printf("%12s %14s%n", "columns", "filter p50 ms");
+        ColumnarScanner scanner = new ColumnarScanner();
+        System.out.printf(
+                "%12s %14.2f%n", "rebuilt", medianMillisWithWrites(scanner, employees, filter, iterations, true));
+        System.out.printf(
+                "%12s %14.2f%n", "incremental", medianMillisWithWrites(scanner, employees, filter, iterations, false));
+    }
+
+    private static double medianMillisWithWrites(
+            ColumnarScanner scanner, List<MockEmployee> seed, ScanQuery query, int iterations, boolean rebuild) {
+        List<MockEmployee> employees = new ArrayList<>(seed);
+        EmployeeColumnStore store = new EmployeeColumnStore();
+        employees.forEach(store::add);
+        List<MockEmployee> created = generate(2 * iterations);
+        long[] samples = new long[iterations];
+        for (int i = 0; i < 2 * iterations; i++) {
+            long start = System.nanoTime();
+            MockEmployee removed = employees.remove(employees.size() - 1 - i);
+            employees.add(created.get(i));
+            store.remove(removed);
+            store.add(created.get(i));
+            EmployeeColumns columns = rebuild ? EmployeeColumns.of(employees) : store.columns();
+            scanner.scan(columns, query);
+            // The first half warms up
+            if (i >= iterations) {
+                samples[i - iterations] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[iterations / 2] / 1_000_000.0;
+    }
+
+    private static double medianMillis(
+            ColumnarScanner scanner, EmployeeColumns columns, ScanQuery query, int iterations) {
+        // Warm up so that the measured runs use compiled code
+        for (int i = 0; i < iterations; i++) {
+            scanner.scan(columns, query);
+        }
+        long[] samples = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            scanner.scan(columns, query);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[iterations / 2] / 1_000_000.0;
+    }
+
+    private static List<MockEmployee> generate(int rows) {
+        Random random = new Random(42);
+        List<MockEmployee> employees = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Employee " + Integer.toString(random.nextInt(), 36))
+                    .salary(random.nextInt(30_000, 500_000))
+                    .age(random.nextInt(16, 70))
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .email("employee" + i + "@company.com")
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,90 @@
+package com.reliaquest.server.analytics;
+
+import com.reliaquest.common.analytics.SalarySketch;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SalaryAnalyticsReport;
+import com.reliaquest.server.model.SalaryStatistics;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Incrementally maintained salary statistics, overall and grouped by title and age band.
+ * Each group keeps its own {@link SalarySketch}, so updates are O(1) and reports are O(groups).
+ */
+public class SalaryAnalytics {
+
+    public static final double[] REPORTED_QUANTILES = {0.5, 0.9, 0.95, 0.99};
+
+    private static final int AGE_BAND_WIDTH = 10;
+
+    private final SalarySketch overall = new SalarySketch();
+    private final Map<String, SalarySketch> byTitle = new HashMap<>();
+    private final Map<String, SalarySketch> byAgeBand = new HashMap<>();
+
+    public synchronized void add(MockEmployee employee) {
+        if (employee.getSalary() == null) {
+            return;
+        }
+        int salary = employee.getSalary();
+        overall.add(salary);
+        byTitle.computeIfAbsent(titleOf(employee), ignored -> new SalarySketch()).add(salary);
+        byAgeBand.computeIfAbsent(ageBandOf(employee), ignored -> new SalarySketch()).add(salary);
+    }
+
+    public synchronized void remove(MockEmployee employee) {
+        if (employee.getSalary() == null) {
+            return;
+        }
+        int salary = employee.getSalary();
+        overall.remove(salary);
+        removeFromGroup(byTitle, titleOf(employee), salary);
+        removeFromGroup(byAgeBand, ageBandOf(employee), salary);
+    }
+
+    public synchronized SalaryAnalyticsReport report() {
+        return new SalaryAnalyticsReport(
+                overall.getRelativeAccuracy(),
+                statisticsOf(overall),
+                statisticsByGroup(byTitle),
+                statisticsByGroup(byAgeBand));
+    }
+
+    public static String ageBandOf(MockEmployee employee) {
+        if (employee.getAge() == null) {
+            return "unknown";
+        }
+        int lower = employee.getAge() / AGE_BAND_WIDTH * AGE_BAND_WIDTH;
+        return "%d-%d".formatted(lower, lower + AGE_BAND_WIDTH - 1);
+    }
+
+    private static String titleOf(MockEmployee employee) {
+        return employee.getTitle() == null ? "unknown" : employee.getTitle();
+    }
+
+    private static void removeFromGroup(Map<String, SalarySketch> groups, String key, int salary) {
+        SalarySketch sketch = groups.get(key);
+        if (sketch == null) {
+            return;
+        }
+        sketch.remove(salary);
+        if (sketch.getCount() == 0) {
+            groups.remove(key);
+        }
+    }
+
+    private static Map<String, SalaryStatistics> statisticsByGroup(Map<String, SalarySketch> groups) {
+        Map<String, SalaryStatistics> statistics = new TreeMap<>();
+        groups.forEach((key, sketch) -> statistics.put(key, statisticsOf(sketch)));
+        return statistics;
+    }
+
+    private static SalaryStatistics statisticsOf(SalarySketch sketch) {
+        Map<String, Long> percentiles = new LinkedHashMap<>();
+        for (double quantile : REPORTED_QUANTILES) {
+            percentiles.put("p" + Math.round(quantile * 100), Math.round(sketch.quantile(quantile)));
+        }
+        return new SalaryStatistics(sketch.getCount(), sketch.getSum(), sketch.getMean(), percentiles);
+    }
+}
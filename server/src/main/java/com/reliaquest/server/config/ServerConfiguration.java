@@ -25,6 +25,12 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    /*
+     * Load tests switch the random throttling off so that they measure the service rather than the limiter.
+     */
+    @Value("${mock.request-limit.enabled:true}")
+    private boolean requestLimitEnabled;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
@@ -54,6 +60,8 @@ public class ServerConfiguration implements WebMvcConfigurer {
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        if (requestLimitEnabled) {
+            registry.addInterceptor(new RandomRequestLimitInterceptor()).excludePathPatterns("/admin/**");
+        }
     }
 }
@@ -0,0 +1,10 @@
+package com.reliaquest.server.controller;
+
+/**
+ * Thrown for request input the mock server rejects, such as an out-of-range parameter.
+ */
+public class BadRequestException extends RuntimeException {
+    public BadRequestException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,23 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.common.search.FuzzyNameIndex;
+import com.reliaquest.server.model.BatchOperation;
+import com.reliaquest.server.model.BatchResult;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.SalaryAnalyticsReport;
+import com.reliaquest.server.model.ScanQuery;
 import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,6 +27,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -26,6 +37,8 @@ public class MockEmployeeController {
 
     private final MockEmployeeService mockEmployeeService;
 
+    private final Validator validator;
+
     @GetMapping()
     public Response<List<MockEmployee>> getEmployees() {
         return Response.handledWith(mockEmployeeService.getMockEmployees());
@@ -44,11 +57,30 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    /*
+     * Applies several creates and deletes in one request, in order. Each operation is validated and applied on its
+     * own, so one invalid operation fails alone and the rest of the batch still goes through.
+     */
+    @PostMapping("/batch")
+    public Response<List<BatchResult>> applyBatch(@RequestBody List<BatchOperation> operations) {
+        return Response.handledWith(operations.stream().map(this::apply).toList());
+    }
+
     @GetMapping("/search/{searchString}")
     public ResponseEntity<List<MockEmployee>> getEmployeesByNameSearch(@PathVariable String searchString) {
         return ResponseEntity.ok(mockEmployeeService.searchEmployees(searchString));
     }
 
+    @GetMapping("/search/fuzzy/{searchString}")
+    public ResponseEntity<List<MockEmployee>> getEmployeesByFuzzyNameSearch(
+            @PathVariable String searchString, @RequestParam(defaultValue = "1") int maxDistance) {
+        if (maxDistance < 1 || maxDistance > FuzzyNameIndex.MAX_DISTANCE) {
+            throw new BadRequestException(
+                    "maxDistance must be between 1 and " + FuzzyNameIndex.MAX_DISTANCE + ": " + maxDistance);
+        }
+        return ResponseEntity.ok(mockEmployeeService.searchEmployeesFuzzy(searchString, maxDistance));
+    }
+
     @GetMapping("/highestSalary")
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         return ResponseEntity.ok(mockEmployeeService.getHighestSalary());
@@ -59,6 +91,38 @@ public class MockEmployeeController {
         return ResponseEntity.ok(mockEmployeeService.getTopTenHighestSalaries());
     }
 
+    @GetMapping("/query")
+    public Response<List<MockEmployee>> queryEmployees(
+            @RequestParam(required = false) Integer minSalary,
+            @RequestParam(required = false) Integer maxSalary,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) String title) {
+        return Response.handledWith(
+                mockEmployeeService.query(new EmployeeQuery(minSalary, maxSalary, minAge, maxAge, title)));
+    }
+
+    @GetMapping("/scan")
+    public ResponseEntity<Response<List<MockEmployee>>> scanEmployees(
+            @RequestParam(required = false) String nameContains,
+            @RequestParam(required = false) String titleContains,
+            @RequestParam(required = false) Integer minSalary,
+            @RequestParam(required = false) Integer maxSalary,
+            @RequestParam(required = false) Integer minAge,
+            @RequestParam(required = false) Integer maxAge,
+            @RequestParam(required = false) Integer limit) {
+        if (limit != null && limit <= 0) {
+            return ResponseEntity.badRequest().body(Response.error("limit must be positive"));
+        }
+        return ResponseEntity.ok(Response.handledWith(mockEmployeeService.scan(
+                new ScanQuery(nameContains, titleContains, minSalary, maxSalary, minAge, maxAge, limit))));
+    }
+
+    @GetMapping("/analytics/salary")
+    public Response<SalaryAnalyticsReport> getSalaryAnalytics() {
+        return Response.handledWith(mockEmployeeService.getSalaryAnalytics());
+    }
+
     //Update the deleteMApping in the Mock Controller
     //added @PathVariable to match interface
     //Also added "/{id} to the method to delete based on id"
@@ -66,4 +130,18 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @PathVariable String id) {
         return Response.handledWith(mockEmployeeService.delete(id));
     }
+
+    private BatchResult apply(BatchOperation operation) {
+        Set<ConstraintViolation<BatchOperation>> violations = validator.validate(operation);
+        if (!violations.isEmpty()) {
+            return BatchResult.failed(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", ")));
+        }
+        return switch (operation.getType()) {
+            case CREATE -> BatchResult.created(mockEmployeeService.create(operation.getCreate()));
+            case DELETE -> BatchResult.deleted(mockEmployeeService.delete(operation.getId()));
+        };
+    }
 }
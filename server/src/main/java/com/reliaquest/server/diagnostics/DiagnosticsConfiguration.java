@@ -0,0 +1,33 @@
+package com.reliaquest.server.diagnostics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.common.diagnostics.FlightRecordings;
+import com.reliaquest.common.web.RecordingJacksonHttpMessageConverter;
+import com.reliaquest.server.model.Response;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class DiagnosticsConfiguration {
+
+    /*
+     * Replaces the JSON converter Spring Boot would configure with the same converter reporting to flight recordings,
+     * describing the data in each Response rather than the envelope.
+     */
+    @Bean
+    public RecordingJacksonHttpMessageConverter recordingJacksonHttpMessageConverter(ObjectMapper objectMapper) {
+        return new RecordingJacksonHttpMessageConverter(
+                objectMapper, body -> body instanceof Response<?> response ? response.data() : body);
+    }
+
+    @Bean
+    public FlightRecordings flightRecordings(
+            @Value("${mock.flight-recording.max-duration:PT30M}") Duration maxDuration,
+            @Value("${mock.flight-recording.max-size:100MB}") DataSize maxSize,
+            @Value("${mock.flight-recording.max-age:PT10M}") Duration maxAge) {
+        return new FlightRecordings("mock-employee-api", maxDuration, maxSize.toBytes(), maxAge);
+    }
+}
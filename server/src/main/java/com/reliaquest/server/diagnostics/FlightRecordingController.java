@@ -0,0 +1,72 @@
+package com.reliaquest.server.diagnostics;
+
+import com.reliaquest.common.diagnostics.FlightRecordings;
+import com.reliaquest.server.controller.BadRequestException;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Starts, stops and downloads a bounded JDK Flight Recorder recording of the server.
+ *
+ * <pre>
+ * GET    /admin/flightrecording                                 status of the current or last recording
+ * POST   /admin/flightrecording?settings=profile&amp;duration=PT2M  both optional
+ * DELETE /admin/flightrecording                                 stops the recording
+ * GET    /admin/flightrecording/dump                            the recorded data as a .jfr file
+ * </pre>
+ */
+@RestController
+@RequestMapping("/admin/flightrecording")
+@RequiredArgsConstructor
+public class FlightRecordingController {
+
+    private final FlightRecordings recordings;
+
+    @GetMapping
+    public Response<Map<String, Object>> status() {
+        return Response.handledWith(recordings.status());
+    }
+
+    @PostMapping
+    public Response<Map<String, Object>> start(
+            @RequestParam(required = false) String settings, @RequestParam(required = false) Duration duration) {
+        try {
+            return Response.handledWith(recordings.start(settings, duration));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
+    @DeleteMapping
+    public Response<Map<String, Object>> stop() {
+        return Response.handledWith(recordings.stop());
+    }
+
+    @GetMapping("/dump")
+    public ResponseEntity<Resource> dump() throws IOException {
+        InputStream dump = recordings.dump();
+        if (dump == null) {
+            return ResponseEntity.notFound().build();
+        }
+        // Closed, and so deleted, once the resource has been written to the response
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + recordings.dumpFileName() + "\"")
+                .body(new InputStreamResource(dump));
+    }
+}
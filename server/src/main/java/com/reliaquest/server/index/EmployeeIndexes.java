@@ -0,0 +1,191 @@
+package com.reliaquest.server.index;
+
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Secondary indexes over mock employees: a hash index on id and title, and sorted indexes on salary and age.
+ *
+ * <p>{@link #query(EmployeeQuery)} plans each query by picking the most selective index for one predicate and
+ * checking the remaining predicates on its candidates only. Title selectivity is known exactly; a range's
+ * selectivity is counted on the sorted index but the count stops as soon as it exceeds the best candidate so
+ * far. The cost of a query is therefore proportional to the size of its most selective predicate, not to the
+ * total number of employees.
+ */
+@Slf4j
+public class EmployeeIndexes {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<UUID, MockEmployee> byId = new HashMap<>();
+    private final Map<String, Set<UUID>> byTitle = new HashMap<>();
+    private final NavigableMap<Integer, Set<UUID>> bySalary = new TreeMap<>();
+    private final NavigableMap<Integer, Set<UUID>> byAge = new TreeMap<>();
+
+    public void add(MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            UUID id = employee.getId();
+            byId.put(id, employee);
+            if (employee.getTitle() != null) {
+                byTitle.computeIfAbsent(normalize(employee.getTitle()), ignored -> new LinkedHashSet<>())
+                        .add(id);
+            }
+            if (employee.getSalary() != null) {
+                bySalary.computeIfAbsent(employee.getSalary(), ignored -> new LinkedHashSet<>())
+                        .add(id);
+            }
+            if (employee.getAge() != null) {
+                byAge.computeIfAbsent(employee.getAge(), ignored -> new LinkedHashSet<>())
+                        .add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(MockEmployee employee) {
+        lock.writeLock().lock();
+        try {
+            UUID id = employee.getId();
+            byId.remove(id);
+            if (employee.getTitle() != null) {
+                removePosting(byTitle, normalize(employee.getTitle()), id);
+            }
+            if (employee.getSalary() != null) {
+                removePosting(bySalary, employee.getSalary(), id);
+            }
+            if (employee.getAge() != null) {
+                removePosting(byAge, employee.getAge(), id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Optional<MockEmployee> findById(UUID id) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(byId.get(id));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<MockEmployee> query(EmployeeQuery query) {
+        lock.readLock().lock();
+        try {
+            List<MockEmployee> result = new ArrayList<>();
+            for (UUID id : plan(query).candidates()) {
+                MockEmployee employee = byId.get(id);
+                if (employee != null && query.matches(employee)) {
+                    result.add(employee);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /*
+     * Picks the postings of the most selective predicate, or every id when the query has no predicate.
+     * Package-private for tests; callers hold the read lock.
+     */
+    Plan plan(EmployeeQuery query) {
+        String chosen = "scan";
+        long best = byId.size();
+        Collection<UUID> candidates = byId.keySet();
+
+        if (query.hasTitle()) {
+            Set<UUID> postings = byTitle.getOrDefault(normalize(query.title()), Collections.emptySet());
+            chosen = "title";
+            best = postings.size();
+            candidates = postings;
+        }
+        if (query.hasSalaryRange()) {
+            NavigableMap<Integer, Set<UUID>> range = range(bySalary, query.minSalary(), query.maxSalary());
+            long size = countUpTo(range, best);
+            if (size < best) {
+                chosen = "salary";
+                best = size;
+                candidates = flatten(range, size);
+            }
+        }
+        if (query.hasAgeRange()) {
+            NavigableMap<Integer, Set<UUID>> range = range(byAge, query.minAge(), query.maxAge());
+            long size = countUpTo(range, best);
+            if (size < best) {
+                chosen = "age";
+                best = size;
+                candidates = flatten(range, size);
+            }
+        }
+        log.debug("Planned {} using {} index with {} candidates", query, chosen, best);
+        return new Plan(chosen, candidates);
+    }
+
+    /*
+     * The index a query is served from, "scan" when none, and the candidates read from it. Every predicate is checked
+     * on the candidates, including the one they were chosen by.
+     */
+    record Plan(String index, Collection<UUID> candidates) {}
+
+    private static NavigableMap<Integer, Set<UUID>> range(
+            NavigableMap<Integer, Set<UUID>> index, Integer min, Integer max) {
+        if (min != null && max != null) {
+            return min > max ? Collections.emptyNavigableMap() : index.subMap(min, true, max, true);
+        }
+        if (min != null) {
+            return index.tailMap(min, true);
+        }
+        return max != null ? index.headMap(max, true) : index;
+    }
+
+    /*
+     * Counts the postings in the range, stopping once the count reaches the limit.
+     */
+    private static long countUpTo(NavigableMap<Integer, Set<UUID>> range, long limit) {
+        long count = 0;
+        for (Set<UUID> postings : range.values()) {
+            count += postings.size();
+            if (count >= limit) {
+                return count;
+            }
+        }
+        return count;
+    }
+
+    private static List<UUID> flatten(NavigableMap<Integer, Set<UUID>> range, long size) {
+        List<UUID> ids = new ArrayList<>((int) size);
+        range.values().forEach(ids::addAll);
+        return ids;
+    }
+
+    private static <K> void removePosting(Map<K, Set<UUID>> index, K key, UUID id) {
+        Set<UUID> postings = index.get(key);
+        if (postings != null && postings.remove(id) && postings.isEmpty()) {
+            index.remove(key);
+        }
+    }
+
+    private static String normalize(String title) {
+        return title.trim().toLowerCase(Locale.ROOT);
+    }
+}
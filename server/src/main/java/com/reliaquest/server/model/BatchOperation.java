@@ -0,0 +1,36 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotNull;
+import java.util.Objects;
+import lombok.Data;
+
+/**
+ * One write of a {@code POST /batch}: a create carrying its input, or a delete carrying the employee ID.
+ */
+@Data
+public class BatchOperation {
+
+    public enum Type {
+        CREATE,
+        DELETE
+    }
+
+    @NotNull private Type type;
+
+    @Valid
+    private CreateMockEmployeeInput create;
+
+    private String id;
+
+    @JsonIgnore
+    @AssertTrue(message = "a create needs its input and a delete needs an id")
+    public boolean isComplete() {
+        if (type == Type.CREATE) {
+            return Objects.nonNull(create);
+        }
+        return type != Type.DELETE || Objects.nonNull(id) && !id.isBlank();
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one {@link BatchOperation}. Operations of a batch succeed or fail independently.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BatchResult(Status status, MockEmployee employee, String error) {
+
+    public static BatchResult created(MockEmployee employee) {
+        return new BatchResult(Status.CREATED, employee, null);
+    }
+
+    public static BatchResult deleted(boolean found) {
+        return new BatchResult(found ? Status.DELETED : Status.NOT_FOUND, null, null);
+    }
+
+    public static BatchResult failed(String error) {
+        return new BatchResult(Status.FAILED, null, error);
+    }
+
+    public enum Status {
+        CREATED,
+        DELETED,
+        NOT_FOUND,
+        FAILED
+    }
+}
@@ -5,11 +5,17 @@ import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import java.util.UUID;
 import lombok.Data;
 
 @Data
 public class CreateMockEmployeeInput {
 
+    /*
+     * Optional. Callers that place employees on shards by ID assign it themselves; otherwise one is generated.
+     */
+    private UUID id;
+
     @NotBlank
     private String name;
 
@@ -0,0 +1,34 @@
+package com.reliaquest.server.model;
+
+/**
+ * Conjunction of optional predicates over indexed employee attributes.
+ * Range bounds are inclusive, and the title is matched case-insensitively. A {@code null} bound means unbounded.
+ */
+public record EmployeeQuery(Integer minSalary, Integer maxSalary, Integer minAge, Integer maxAge, String title) {
+
+    public boolean hasSalaryRange() {
+        return minSalary != null || maxSalary != null;
+    }
+
+    public boolean hasAgeRange() {
+        return minAge != null || maxAge != null;
+    }
+
+    public boolean hasTitle() {
+        return title != null && !title.isBlank();
+    }
+
+    public boolean matches(MockEmployee employee) {
+        return (!hasSalaryRange() || within(employee.getSalary(), minSalary, maxSalary))
+                && (!hasAgeRange() || within(employee.getAge(), minAge, maxAge))
+                && (!hasTitle() || titleMatches(employee.getTitle()));
+    }
+
+    private boolean titleMatches(String employeeTitle) {
+        return employeeTitle != null && title.trim().equalsIgnoreCase(employeeTitle.trim());
+    }
+
+    private static boolean within(Integer value, Integer min, Integer max) {
+        return value != null && (min == null || value >= min) && (max == null || value <= max);
+    }
+}
@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.Map;
+
+public record SalaryAnalyticsReport(
+        double relativeAccuracy,
+        SalaryStatistics overall,
+        Map<String, SalaryStatistics> byTitle,
+        Map<String, SalaryStatistics> byAgeBand) {}
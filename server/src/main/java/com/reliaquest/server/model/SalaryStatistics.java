@@ -0,0 +1,9 @@
+package com.reliaquest.server.model;
+
+import java.util.Map;
+
+/**
+ * Salary statistics of one group. Percentiles are keyed as {@code p50}, {@code p90} and so on, and are
+ * approximate within the report's relative accuracy.
+ */
+public record SalaryStatistics(long count, long sum, double mean, Map<String, Long> percentiles) {}
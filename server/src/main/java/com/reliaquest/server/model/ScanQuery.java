@@ -0,0 +1,24 @@
+package com.reliaquest.server.model;
+
+/**
+ * Ad-hoc filter evaluated by a full scan. Every predicate is optional: text predicates are case-insensitive
+ * substring matches, and range bounds are inclusive. With a {@code limit}, the result is the top {@code limit}
+ * matches by salary, highest first; without one, every match is returned in storage order.
+ */
+public record ScanQuery(
+        String nameContains,
+        String titleContains,
+        Integer minSalary,
+        Integer maxSalary,
+        Integer minAge,
+        Integer maxAge,
+        Integer limit) {
+
+    public static ScanQuery nameContaining(String search) {
+        return new ScanQuery(search, null, null, null, null, null, null);
+    }
+
+    public static ScanQuery topBySalary(int limit) {
+        return new ScanQuery(null, null, null, null, null, null, limit);
+    }
+}
@@ -0,0 +1,286 @@
+package com.reliaquest.server.scan;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ScanQuery;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Evaluates a {@link ScanQuery} over {@link EmployeeColumns} with a segmented fork-join scan.
+ *
+ * <p>The rows are split into fixed-size segments. Each segment is scanned over the primitive columns and keeps
+ * either its matching row numbers or, when the query has a limit, a bounded min-heap of its best rows by
+ * salary. Segment results are merged pairwise on the way back up, so top-K never holds more than K rows per
+ * task. Small inputs are scanned sequentially on the calling thread, where forking would only add overhead.
+ * Deleted rows never match.
+ */
+public class ColumnarScanner {
+
+    static final int SEGMENT_SIZE = 8_192;
+
+    static final int PARALLEL_THRESHOLD = 4 * SEGMENT_SIZE;
+
+    private final ForkJoinPool pool;
+
+    public ColumnarScanner() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public ColumnarScanner(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public List<MockEmployee> scan(EmployeeColumns columns, ScanQuery query) {
+        Filter filter = new Filter(columns, query);
+        // No more rows than there are can match, so a larger limit is clamped rather than allocated for
+        int limit = query.limit() == null ? -1 : Math.max(0, Math.min(query.limit(), columns.size()));
+        Matches matches = columns.size() < PARALLEL_THRESHOLD
+                ? scanSegment(filter, 0, columns.size(), limit)
+                : pool.invoke(new ScanTask(filter, 0, columns.size(), limit));
+
+        int[] rows = matches.rows();
+        List<MockEmployee> result = new ArrayList<>(rows.length);
+        for (int row : rows) {
+            result.add(columns.row(row));
+        }
+        return result;
+    }
+
+    private static Matches scanSegment(Filter filter, int from, int to, int limit) {
+        if (limit >= 0) {
+            TopK top = new TopK(filter.columns, limit, to - from);
+            for (int row = from; row < to; row++) {
+                if (filter.test(row)) {
+                    top.offer(row);
+                }
+            }
+            return top;
+        }
+        RowList rows = new RowList();
+        for (int row = from; row < to; row++) {
+            if (filter.test(row)) {
+                rows.add(row);
+            }
+        }
+        return rows;
+    }
+
+    private static final class ScanTask extends RecursiveTask<Matches> {
+
+        private final Filter filter;
+        private final int from;
+        private final int to;
+        private final int limit;
+
+        ScanTask(Filter filter, int from, int to, int limit) {
+            this.filter = filter;
+            this.from = from;
+            this.to = to;
+            this.limit = limit;
+        }
+
+        @Override
+        protected Matches compute() {
+            if (to - from <= SEGMENT_SIZE) {
+                return scanSegment(filter, from, to, limit);
+            }
+            // Split on a segment boundary so that segments keep their fixed size
+            int segments = (to - from + SEGMENT_SIZE - 1) / SEGMENT_SIZE;
+            int middle = from + (segments / 2) * SEGMENT_SIZE;
+            ScanTask right = new ScanTask(filter, middle, to, limit);
+            right.fork();
+            Matches left = new ScanTask(filter, from, middle, limit).compute();
+            return left.merge(right.join());
+        }
+    }
+
+    /*
+     * Conjunction of the query's predicates, cheapest checks first.
+     */
+    private static final class Filter {
+
+        private final EmployeeColumns columns;
+        private final String name;
+        private final String title;
+        private final int minSalary;
+        private final int maxSalary;
+        private final int minAge;
+        private final int maxAge;
+        private final boolean salaryRange;
+        private final boolean ageRange;
+
+        Filter(EmployeeColumns columns, ScanQuery query) {
+            this.columns = columns;
+            this.name = lower(query.nameContains());
+            this.title = lower(query.titleContains());
+            this.salaryRange = query.minSalary() != null || query.maxSalary() != null;
+            this.minSalary = query.minSalary() == null ? Integer.MIN_VALUE + 1 : query.minSalary();
+            this.maxSalary = query.maxSalary() == null ? Integer.MAX_VALUE : query.maxSalary();
+            this.ageRange = query.minAge() != null || query.maxAge() != null;
+            this.minAge = query.minAge() == null ? Integer.MIN_VALUE + 1 : query.minAge();
+            this.maxAge = query.maxAge() == null ? Integer.MAX_VALUE : query.maxAge();
+        }
+
+        boolean test(int row) {
+            if (columns.deleted(row)) {
+                return false;
+            }
+            if (salaryRange) {
+                int salary = columns.salary(row);
+                if (salary < minSalary || salary > maxSalary) {
+                    return false;
+                }
+            }
+            if (ageRange) {
+                int age = columns.age(row);
+                if (age < minAge || age > maxAge) {
+                    return false;
+                }
+            }
+            return (name == null || columns.name(row).contains(name))
+                    && (title == null || columns.title(row).contains(title));
+        }
+
+        private static String lower(String value) {
+            return value == null || value.isEmpty() ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private interface Matches {
+
+        Matches merge(Matches other);
+
+        /*
+         * Matching row numbers in result order.
+         */
+        int[] rows();
+    }
+
+    private static final class RowList implements Matches {
+
+        private int[] rows = new int[16];
+        private int size;
+
+        void add(int row) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            rows[size++] = row;
+        }
+
+        @Override
+        public Matches merge(Matches other) {
+            RowList right = (RowList) other;
+            int[] merged = Arrays.copyOf(rows, size + right.size);
+            System.arraycopy(right.rows, 0, merged, size, right.size);
+            rows = merged;
+            size = merged.length;
+            return this;
+        }
+
+        @Override
+        public int[] rows() {
+            return Arrays.copyOf(rows, size);
+        }
+    }
+
+    /*
+     * Bounded min-heap of row numbers ordered by salary; ties favour the earlier row. The heap starts at the size of
+     * the segment when that is smaller than the limit, and grows up to the limit only as merges fill it.
+     */
+    private static final class TopK implements Matches {
+
+        private final EmployeeColumns columns;
+        private final int capacity;
+        private int[] heap;
+        private int size;
+
+        TopK(EmployeeColumns columns, int capacity, int segmentLength) {
+            this.columns = columns;
+            this.capacity = capacity;
+            this.heap = new int[Math.min(capacity, segmentLength)];
+        }
+
+        void offer(int row) {
+            if (size < capacity) {
+                if (size == heap.length) {
+                    heap = Arrays.copyOf(heap, (int) Math.min(capacity, Math.max(16, 2L * size)));
+                }
+                heap[size] = row;
+                siftUp(size++);
+            } else if (capacity > 0 && ranksAbove(row, heap[0])) {
+                heap[0] = row;
+                siftDown(0);
+            }
+        }
+
+        @Override
+        public Matches merge(Matches other) {
+            TopK right = (TopK) other;
+            for (int i = 0; i < right.size; i++) {
+                offer(right.heap[i]);
+            }
+            return this;
+        }
+
+        @Override
+        public int[] rows() {
+            Integer[] boxed = new Integer[size];
+            for (int i = 0; i < size; i++) {
+                boxed[i] = heap[i];
+            }
+            Arrays.sort(boxed, (a, b) -> ranksAbove(a, b) ? -1 : ranksAbove(b, a) ? 1 : 0);
+            int[] sorted = new int[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = boxed[i];
+            }
+            return sorted;
+        }
+
+        private boolean ranksAbove(int a, int b) {
+            int salaryA = columns.salary(a);
+            int salaryB = columns.salary(b);
+            return salaryA > salaryB || (salaryA == salaryB && a < b);
+        }
+
+        private void siftUp(int index) {
+            while (index > 0) {
+                int parent = (index - 1) / 2;
+                if (!ranksAbove(heap[parent], heap[index])) {
+                    return;
+                }
+                swap(parent, index);
+                index = parent;
+            }
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                int left = 2 * index + 1;
+                int right = left + 1;
+                if (left < size && ranksAbove(heap[smallest], heap[left])) {
+                    smallest = left;
+                }
+                if (right < size && ranksAbove(heap[smallest], heap[right])) {
+                    smallest = right;
+                }
+                if (smallest == index) {
+                    return;
+                }
+                swap(index, smallest);
+                index = smallest;
+            }
+        }
+
+        private void swap(int i, int j) {
+            int tmp = heap[i];
+            heap[i] = heap[j];
+            heap[j] = tmp;
+        }
+    }
+}
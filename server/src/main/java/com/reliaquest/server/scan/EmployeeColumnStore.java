@@ -0,0 +1,118 @@
+package com.reliaquest.server.scan;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Keeps {@link EmployeeColumns} up to date as employees are created and deleted, without copying every employee
+ * on each change.
+ *
+ * <p>A create appends a row to columns with spare capacity, which are copied only when they are full. A delete
+ * tombstones the row, and the columns are compacted once more than half of their rows are tombstones. Both are
+ * amortized O(1), so the first scan after a write no longer pays for a full rebuild.
+ *
+ * <p>Writes must be serialized by the caller; {@link #columns()} may be read concurrently with them.
+ */
+public final class EmployeeColumnStore {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Tombstones are left alone below this, since compacting a few rows gains nothing
+    private static final int MIN_COMPACTION = 1_024;
+
+    private final Map<MockEmployee, Integer> rowOf = new IdentityHashMap<>();
+
+    private MockEmployee[] rows = new MockEmployee[INITIAL_CAPACITY];
+    private int[] salaries = new int[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private String[] titles = new String[INITIAL_CAPACITY];
+    private boolean[] deleted = new boolean[INITIAL_CAPACITY];
+    private int size;
+    private int tombstones;
+
+    private volatile EmployeeColumns columns = publish();
+
+    /**
+     * @return the columns as of the last write
+     */
+    public EmployeeColumns columns() {
+        return columns;
+    }
+
+    public void add(MockEmployee employee) {
+        if (size == rows.length) {
+            resize(rows.length * 2);
+        }
+        rows[size] = employee;
+        salaries[size] = employee.getSalary() == null ? EmployeeColumns.MISSING : employee.getSalary();
+        ages[size] = employee.getAge() == null ? EmployeeColumns.MISSING : employee.getAge();
+        names[size] = employee.getName() == null ? "" : employee.getName().toLowerCase(Locale.ROOT);
+        titles[size] = employee.getTitle() == null ? "" : employee.getTitle().toLowerCase(Locale.ROOT);
+        rowOf.put(employee, size);
+        size++;
+        columns = publish();
+    }
+
+    public void remove(MockEmployee employee) {
+        Integer row = rowOf.remove(employee);
+        if (row == null) {
+            return;
+        }
+        deleted[row] = true;
+        tombstones++;
+        if (tombstones >= MIN_COMPACTION && tombstones * 2 > size) {
+            compact();
+        }
+        columns = publish();
+    }
+
+    /*
+     * Copies the live rows, in order, into new columns; views already handed out keep the old ones.
+     */
+    private void compact() {
+        int live = size - tombstones;
+        int capacity = Math.max(INITIAL_CAPACITY, live * 2);
+        MockEmployee[] liveRows = new MockEmployee[capacity];
+        int[] liveSalaries = new int[capacity];
+        int[] liveAges = new int[capacity];
+        String[] liveNames = new String[capacity];
+        String[] liveTitles = new String[capacity];
+        int next = 0;
+        for (int row = 0; row < size; row++) {
+            if (!deleted[row]) {
+                liveRows[next] = rows[row];
+                liveSalaries[next] = salaries[row];
+                liveAges[next] = ages[row];
+                liveNames[next] = names[row];
+                liveTitles[next] = titles[row];
+                rowOf.put(rows[row], next);
+                next++;
+            }
+        }
+        rows = liveRows;
+        salaries = liveSalaries;
+        ages = liveAges;
+        names = liveNames;
+        titles = liveTitles;
+        deleted = new boolean[capacity];
+        size = live;
+        tombstones = 0;
+    }
+
+    private void resize(int capacity) {
+        rows = Arrays.copyOf(rows, capacity);
+        salaries = Arrays.copyOf(salaries, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        names = Arrays.copyOf(names, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        deleted = Arrays.copyOf(deleted, capacity);
+    }
+
+    private EmployeeColumns publish() {
+        return new EmployeeColumns(rows, salaries, ages, names, titles, deleted, size);
+    }
+}
@@ -0,0 +1,80 @@
+package com.reliaquest.server.scan;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+
+/**
+ * Column-oriented view of the employees, laid out for scanning.
+ * Numeric attributes are primitive arrays and text attributes are pre-lowercased, so a scan neither unboxes
+ * nor allocates per row. Missing numbers are stored as {@link #MISSING}, which never matches a range.
+ *
+ * <p>A view covers the first {@link #size()} rows of columns that an {@link EmployeeColumnStore} only appends to,
+ * so later creates never show up in it. Deleted rows are tombstoned in place rather than removed, and a scan racing
+ * a delete may still return the deleted employee, as it would had it started a moment earlier.
+ */
+public final class EmployeeColumns {
+
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    private final MockEmployee[] rows;
+    private final int[] salaries;
+    private final int[] ages;
+    private final String[] names;
+    private final String[] titles;
+    private final boolean[] deleted;
+    private final int size;
+
+    EmployeeColumns(
+            MockEmployee[] rows,
+            int[] salaries,
+            int[] ages,
+            String[] names,
+            String[] titles,
+            boolean[] deleted,
+            int size) {
+        this.rows = rows;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.names = names;
+        this.titles = titles;
+        this.deleted = deleted;
+        this.size = size;
+    }
+
+    public static EmployeeColumns of(List<MockEmployee> employees) {
+        EmployeeColumnStore store = new EmployeeColumnStore();
+        employees.forEach(store::add);
+        return store.columns();
+    }
+
+    /**
+     * @return the number of rows, deleted ones included
+     */
+    public int size() {
+        return size;
+    }
+
+    MockEmployee row(int index) {
+        return rows[index];
+    }
+
+    int salary(int index) {
+        return salaries[index];
+    }
+
+    int age(int index) {
+        return ages[index];
+    }
+
+    String name(int index) {
+        return names[index];
+    }
+
+    String title(int index) {
+        return titles[index];
+    }
+
+    boolean deleted(int index) {
+        return deleted[index];
+    }
+}
@@ -1,11 +1,22 @@
 package com.reliaquest.server.service;
 
+import com.reliaquest.common.diagnostics.EmployeeOperationEvent;
+import com.reliaquest.common.search.FuzzyNameIndex;
+import com.reliaquest.server.analytics.SalaryAnalytics;
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.index.EmployeeIndexes;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeQuery;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SalaryAnalyticsReport;
+import com.reliaquest.server.model.ScanQuery;
+import com.reliaquest.server.scan.ColumnarScanner;
+import com.reliaquest.server.scan.EmployeeColumnStore;
+import jakarta.annotation.PostConstruct;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import lombok.Getter;
@@ -25,30 +36,61 @@ public class MockEmployeeService {
     @Getter
     private final List<MockEmployee> mockEmployees;
 
+    private final SalaryAnalytics salaryAnalytics = new SalaryAnalytics();
+
+    private final EmployeeIndexes indexes = new EmployeeIndexes();
+
+    private final FuzzyNameIndex<MockEmployee> fuzzyNameIndex =
+            new FuzzyNameIndex<>(MockEmployee::getId, MockEmployee::getName);
+
+    private final ColumnarScanner scanner = new ColumnarScanner();
+
+    /*
+     * Updated on create and delete, which hold the monitor; scans read its columns without it.
+     */
+    private final EmployeeColumnStore columns = new EmployeeColumnStore();
+
+    @PostConstruct
+    void initializeDerivedData() {
+        mockEmployees.forEach(this::addDerivedData);
+    }
+
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
-                .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
-                        && mockEmployee.getId().equals(uuid))
-                .findFirst();
+        return recorded("getById", () -> indexes.findById(uuid));
     }
 
-    public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+    /*
+     * Synchronized with delete, since the employee list and the columns are not thread-safe.
+     * Creating an ID that already exists returns the existing employee, so a caller may safely retry.
+     */
+    public synchronized MockEmployee create(@NonNull CreateMockEmployeeInput input) {
+        if (Objects.nonNull(input.getId())) {
+            final var existing = findById(input.getId());
+            if (existing.isPresent()) {
+                return existing.get();
+            }
+        }
         final var mockEmployee = MockEmployee.from(
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
         mockEmployees.add(mockEmployee);
+        addDerivedData(mockEmployee);
         log.debug("Added employee: {}", mockEmployee);
         return mockEmployee;
     }
 
-    public boolean delete(@NonNull String id) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getId())
-                        && employee.getId().toString().equalsIgnoreCase( id))
-                .findFirst();
+    public synchronized boolean delete(@NonNull String id) {
+        final UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        final var mockEmployee = indexes.findById(uuid);
         if (mockEmployee.isPresent()) {
             mockEmployees.remove(mockEmployee.get());
+            removeDerivedData(mockEmployee.get());
             log.debug("Removed employee: {}", mockEmployee.get());
             return true;
         }
@@ -63,9 +105,18 @@ public class MockEmployeeService {
      * @return List of Employees based on search String
      */
     public List<MockEmployee> searchEmployees(String search) {
-        return mockEmployees.stream()
-                .filter(employee -> employee.getName().toLowerCase().contains(search.toLowerCase()))
-                .collect(Collectors.toList());
+        return scan("search", ScanQuery.nameContaining(search));
+    }
+
+    /**
+     * Typo-tolerant variant of {@link #searchEmployees(String)}, served from an index over the words of the names.
+     *
+     * @param search the possibly misspelled name or part of it
+     * @param maxDistance the most edits allowed per word, between 1 and {@link FuzzyNameIndex#MAX_DISTANCE}
+     * @return employees with a name word within the distance of every word of the search, closest first
+     */
+    public List<MockEmployee> searchEmployeesFuzzy(String search, int maxDistance) {
+        return recorded("searchFuzzy", () -> fuzzyNameIndex.search(search, maxDistance));
     }
     /**Added method to the MockEmployeeService to return the highest salary
      *
@@ -75,7 +126,9 @@ public class MockEmployeeService {
      */
 
     public int getHighestSalary() {
-        return mockEmployees.stream().mapToInt(MockEmployee::getSalary).max().orElse(0);
+        return recorded(
+                "highestSalary",
+                () -> mockEmployees.stream().mapToInt(MockEmployee::getSalary).max().orElse(0));
     }
     /**Added method to the MockEmployeeService to return the Top ten salaries
      *
@@ -84,10 +137,77 @@ public class MockEmployeeService {
      * @return List of names of the 10 employees with the
      */
     public List<String> getTopTenHighestSalaries() {
-        return mockEmployees.stream()
-                .sorted(Comparator.comparingInt(MockEmployee::getSalary).reversed())
-                .limit(10)
+        return scan("topTen", ScanQuery.topBySalary(10)).stream()
                 .map(MockEmployee::getName)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Evaluates an ad-hoc filter with a parallel scan over a columnar copy of the employees.
+     * Use it for predicate combinations that {@link #query(EmployeeQuery)} cannot serve from an index.
+     *
+     * @param query the predicates, and optionally a top-K limit by salary
+     * @return matching employees
+     */
+    public List<MockEmployee> scan(@NonNull ScanQuery query) {
+        return scan("scan", query);
+    }
+
+    /**
+     * Salary statistics maintained incrementally on create and delete.
+     *
+     * @return count, sum, mean and approximate percentiles overall, by title and by age band
+     */
+    public SalaryAnalyticsReport getSalaryAnalytics() {
+        return salaryAnalytics.report();
+    }
+
+    /**
+     * Finds employees matching every predicate of the query using the secondary indexes.
+     *
+     * @param query salary range, age range and title predicates, each optional
+     * @return matching employees
+     */
+    public List<MockEmployee> query(@NonNull EmployeeQuery query) {
+        return recorded("query", () -> indexes.query(query));
+    }
+
+    private List<MockEmployee> scan(String operation, ScanQuery query) {
+        return recorded(operation, () -> scanner.scan(columns.columns(), query));
+    }
+
+    /*
+     * Runs a read and reports it to a running flight recording as an EmployeeOperationEvent.
+     */
+    private <T> T recorded(String operation, Supplier<T> read) {
+        EmployeeOperationEvent event = new EmployeeOperationEvent();
+        event.begin();
+        T result = read.get();
+        event.end();
+        if (event.shouldCommit()) {
+            event.describe(operation, "local", mockEmployees.size(), EmployeeOperationEvent.sizeOf(result));
+            event.commit();
+        }
+        return result;
+    }
+
+    private void addDerivedData(MockEmployee mockEmployee) {
+        columns.add(mockEmployee);
+        if (Objects.isNull(mockEmployee.getId())) {
+            return;
+        }
+        indexes.add(mockEmployee);
+        fuzzyNameIndex.add(mockEmployee);
+        salaryAnalytics.add(mockEmployee);
+    }
+
+    private void removeDerivedData(MockEmployee mockEmployee) {
+        columns.remove(mockEmployee);
+        if (Objects.isNull(mockEmployee.getId())) {
+            return;
+        }
+        indexes.remove(mockEmployee);
+        fuzzyNameIndex.remove(mockEmployee);
+        salaryAnalytics.remove(mockEmployee);
+    }
 }
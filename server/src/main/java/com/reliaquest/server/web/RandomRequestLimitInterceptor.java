@@ -25,6 +25,7 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isBefore(requestLimit.get().getLastRequested())) {
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                recordThrottled(request);
                 return false;
             }
             if (Instant.now()
@@ -40,6 +41,18 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
         return true;
     }
 
+    private void recordThrottled(HttpServletRequest request) {
+        RequestThrottledEvent event = new RequestThrottledEvent();
+        if (event.shouldCommit()) {
+            event.method = request.getMethod();
+            event.path = request.getRequestURI();
+            event.backoffRemaining = Duration.between(
+                            Instant.now(), requestLimit.get().getLastRequested().plus(REQUEST_BACKOFF_DURATION))
+                    .toMillis();
+            event.commit();
+        }
+    }
+
     private record RequestLimit(@Getter int count, @Getter Instant lastRequested) {
         public static RequestLimit init() {
             return new RequestLimit(0, Instant.now());
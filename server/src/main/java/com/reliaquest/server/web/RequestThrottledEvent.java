@@ -0,0 +1,30 @@
+package com.reliaquest.server.web;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Flight recorder event for a request refused with {@code 429} by the {@link RandomRequestLimitInterceptor}.
+ */
+@Name("com.reliaquest.server.RequestThrottled")
+@Label("Request Throttled")
+@Category({"Mock Employee API", "Web"})
+@Description("A request refused by the random request limit")
+@StackTrace(false)
+class RequestThrottledEvent extends jdk.jfr.Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Path")
+    String path;
+
+    @Label("Backoff Remaining")
+    @Description("Time until requests are accepted again")
+    @Timespan(Timespan.MILLISECONDS)
+    long backoffRemaining;
+}
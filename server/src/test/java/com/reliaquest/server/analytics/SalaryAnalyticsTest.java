@@ -0,0 +1,134 @@
+package com.reliaquest.server.analytics;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.SalaryAnalyticsReport;
+import com.reliaquest.server.model.SalaryStatistics;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+public class SalaryAnalyticsTest {
+
+    private static final List<String> TITLES = List.of("Engineer", "Manager", "Analyst", "Designer");
+
+    @Test
+    void testGroupsByTitleAndAgeBandWithinAccuracy() {
+        List<MockEmployee> employees = randomEmployees(new Random(17), 20_000);
+        SalaryAnalytics analytics = new SalaryAnalytics();
+        employees.forEach(analytics::add);
+
+        SalaryAnalyticsReport report = analytics.report();
+
+        assertStatistics(report.overall(), employees, report.relativeAccuracy());
+        assertGroups(report.byTitle(), employees, MockEmployee::getTitle, report.relativeAccuracy());
+        assertGroups(report.byAgeBand(), employees, SalaryAnalytics::ageBandOf, report.relativeAccuracy());
+    }
+
+    @Test
+    void testRemovalsUpdateGroupsAndDropEmptyOnes() {
+        List<MockEmployee> employees = new ArrayList<>(randomEmployees(new Random(19), 5_000));
+        MockEmployee loner = employee("Astronaut", 71, 250_000);
+        employees.add(loner);
+        SalaryAnalytics analytics = new SalaryAnalytics();
+        employees.forEach(analytics::add);
+        assertTrue(analytics.report().byTitle().containsKey("Astronaut"));
+        assertTrue(analytics.report().byAgeBand().containsKey("70-79"));
+
+        List<MockEmployee> kept = new ArrayList<>();
+        for (int i = 0; i < employees.size(); i++) {
+            if (i % 2 == 0 || employees.get(i) == loner) {
+                analytics.remove(employees.get(i));
+            } else {
+                kept.add(employees.get(i));
+            }
+        }
+
+        SalaryAnalyticsReport report = analytics.report();
+        assertFalse(report.byTitle().containsKey("Astronaut"));
+        assertFalse(report.byAgeBand().containsKey("70-79"));
+        assertStatistics(report.overall(), kept, report.relativeAccuracy());
+        assertGroups(report.byTitle(), kept, MockEmployee::getTitle, report.relativeAccuracy());
+        assertGroups(report.byAgeBand(), kept, SalaryAnalytics::ageBandOf, report.relativeAccuracy());
+    }
+
+    @Test
+    void testMissingValuesAreGroupedAsUnknown() {
+        SalaryAnalytics analytics = new SalaryAnalytics();
+        analytics.add(employee(null, null, 50_000));
+        analytics.add(employee("Engineer", 30, null));
+
+        SalaryAnalyticsReport report = analytics.report();
+
+        assertEquals(1, report.overall().count());
+        assertEquals(Map.of("unknown", 1L), counts(report.byTitle()));
+        assertEquals(Map.of("unknown", 1L), counts(report.byAgeBand()));
+    }
+
+    @Test
+    void testAgeBands() {
+        assertEquals("20-29", SalaryAnalytics.ageBandOf(employee("Engineer", 20, 1)));
+        assertEquals("20-29", SalaryAnalytics.ageBandOf(employee("Engineer", 29, 1)));
+        assertEquals("30-39", SalaryAnalytics.ageBandOf(employee("Engineer", 30, 1)));
+        assertEquals("unknown", SalaryAnalytics.ageBandOf(employee("Engineer", null, 1)));
+    }
+
+    private static void assertGroups(
+            Map<String, SalaryStatistics> groups,
+            List<MockEmployee> employees,
+            Function<MockEmployee, String> key,
+            double relativeAccuracy) {
+        Map<String, List<MockEmployee>> expected = employees.stream().collect(Collectors.groupingBy(key));
+        assertEquals(expected.keySet(), groups.keySet());
+        expected.forEach((group, members) -> assertStatistics(groups.get(group), members, relativeAccuracy));
+    }
+
+    private static void assertStatistics(
+            SalaryStatistics statistics, List<MockEmployee> employees, double relativeAccuracy) {
+        int[] sorted = employees.stream().mapToInt(MockEmployee::getSalary).sorted().toArray();
+        long sum = employees.stream().mapToLong(MockEmployee::getSalary).sum();
+        assertEquals(sorted.length, statistics.count());
+        assertEquals(sum, statistics.sum());
+        assertEquals((double) sum / sorted.length, statistics.mean(), 1e-6);
+        for (double quantile : SalaryAnalytics.REPORTED_QUANTILES) {
+            int exact = sorted[(int) Math.floor(quantile * (sorted.length - 1))];
+            long estimate = statistics.percentiles().get("p" + Math.round(quantile * 100));
+            // The reported percentile is rounded to a whole salary
+            assertTrue(
+                    Math.abs(estimate - exact) <= exact * relativeAccuracy + 0.5,
+                    "q=" + quantile + " exact=" + exact + " estimate=" + estimate);
+        }
+    }
+
+    private static Map<String, Long> counts(Map<String, SalaryStatistics> groups) {
+        return groups.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().count()));
+    }
+
+    private static List<MockEmployee> randomEmployees(Random random, int count) {
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            employees.add(employee(
+                    TITLES.get(random.nextInt(TITLES.size())),
+                    random.nextInt(16, 70),
+                    (int) (30_000 * Math.exp(Math.abs(random.nextGaussian())))));
+        }
+        return employees;
+    }
+
+    private static MockEmployee employee(String title, Integer age, Integer salary) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Employee")
+                .salary(salary)
+                .age(age)
+                .title(title)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.server.controller;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.service.MockEmployeeService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+public class MockEmployeeControllerTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private MockEmployeeService service;
+    private MockEmployee alice;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        service = new MockEmployeeService(new Faker(), new ArrayList<>());
+        alice = service.create(input("Alice Walker", 50_000));
+        LocalValidatorFactoryBean validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+        mockMvc = MockMvcBuilders.standaloneSetup(new MockEmployeeController(service, validator))
+                .setControllerAdvice(new MockEmployeeControllerAdvice())
+                .setValidator(validator)
+                .build();
+    }
+
+    @Test
+    void testFuzzySearchRejectsAnOutOfRangeMaxDistance() throws Exception {
+        mockMvc.perform(get("/api/v1/employee/search/fuzzy/alise").param("maxDistance", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].employee_name").value("Alice Walker"));
+
+        mockMvc.perform(get("/api/v1/employee/search/fuzzy/alise").param("maxDistance", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("maxDistance must be between 1 and 2: 0"));
+        mockMvc.perform(get("/api/v1/employee/search/fuzzy/alise").param("maxDistance", "3"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testBatchOperationsSucceedOrFailOnTheirOwn() throws Exception {
+        UUID bobId = UUID.randomUUID();
+        CreateMockEmployeeInput bob = input("Bob Stone", 60_000);
+        bob.setId(bobId);
+        CreateMockEmployeeInput tooYoung = input("Carol Reed", 70_000);
+        tooYoung.setAge(10);
+        List<Map<String, Object>> batch = List.of(
+                Map.of("type", "CREATE", "create", bob),
+                Map.of("type", "CREATE", "create", tooYoung),
+                Map.of("type", "DELETE", "id", alice.getId().toString()),
+                Map.of("type", "DELETE", "id", UUID.randomUUID().toString()),
+                Map.of("type", "DELETE"));
+
+        mockMvc.perform(post("/api/v1/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batch)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.size()").value(5))
+                .andExpect(jsonPath("$.data[0].status").value("CREATED"))
+                .andExpect(jsonPath("$.data[0].employee.id").value(bobId.toString()))
+                .andExpect(jsonPath("$.data[1].status").value("FAILED"))
+                .andExpect(jsonPath("$.data[1].error").value("create.age must be greater than or equal to 16"))
+                .andExpect(jsonPath("$.data[2].status").value("DELETED"))
+                .andExpect(jsonPath("$.data[3].status").value("NOT_FOUND"))
+                .andExpect(jsonPath("$.data[4].status").value("FAILED"))
+                .andExpect(jsonPath("$.data[4].error")
+                        .value("complete a create needs its input and a delete needs an id"));
+
+        assertEquals(
+                List.of("Bob Stone"),
+                service.getMockEmployees().stream().map(MockEmployee::getName).toList());
+    }
+
+    private static CreateMockEmployeeInput input(String name, int salary) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.server.index;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeIndexesTest {
+
+    private static final List<String> TITLES = List.of("Engineer", "Manager", "Analyst", "Designer", "Architect");
+
+    private final List<MockEmployee> employees = new ArrayList<>();
+    private final EmployeeIndexes indexes = new EmployeeIndexes();
+
+    @BeforeEach
+    void setUp() {
+        Random random = new Random(23);
+        for (int i = 0; i < 2_000; i++) {
+            MockEmployee employee = employee(
+                    TITLES.get(random.nextInt(TITLES.size())), random.nextInt(30_000, 500_000), random.nextInt(16, 76));
+            employees.add(employee);
+            indexes.add(employee);
+        }
+    }
+
+    @Test
+    void testQueriesMatchFilteringEveryEmployee() {
+        List<EmployeeQuery> queries = List.of(
+                new EmployeeQuery(null, null, null, null, null),
+                new EmployeeQuery(null, null, null, null, "Engineer"),
+                new EmployeeQuery(null, null, null, null, "  engineer "),
+                new EmployeeQuery(null, null, null, null, "Astronaut"),
+                new EmployeeQuery(100_000, 200_000, null, null, null),
+                new EmployeeQuery(450_000, null, null, null, null),
+                new EmployeeQuery(null, 40_000, null, null, null),
+                new EmployeeQuery(null, null, 30, 39, null),
+                new EmployeeQuery(null, null, 40, 30, null),
+                new EmployeeQuery(100_000, 120_000, 25, 60, "Manager"),
+                new EmployeeQuery(null, null, 75, 75, "Analyst"));
+
+        for (EmployeeQuery query : queries) {
+            Set<MockEmployee> expected = new HashSet<>(
+                    employees.stream().filter(query::matches).toList());
+            List<MockEmployee> actual = indexes.query(query);
+            assertEquals(expected.size(), actual.size(), query.toString());
+            assertEquals(expected, new HashSet<>(actual), query.toString());
+        }
+    }
+
+    @Test
+    void testPlannerPicksTheMostSelectiveIndex() {
+        assertEquals("scan", indexes.plan(new EmployeeQuery(null, null, null, null, null)).index());
+        assertEquals("title", indexes.plan(new EmployeeQuery(null, null, null, null, "Engineer")).index());
+        assertEquals("salary", indexes.plan(new EmployeeQuery(100_000, 101_000, 16, 75, "Engineer")).index());
+        assertEquals("age", indexes.plan(new EmployeeQuery(30_000, 500_000, 40, 40, "Engineer")).index());
+        // An empty title beats any range
+        assertEquals("title", indexes.plan(new EmployeeQuery(100_000, 101_000, 40, 40, "Astronaut")).index());
+    }
+
+    @Test
+    void testResidualPredicatesAreCheckedOnTheCandidates() {
+        EmployeeQuery query = new EmployeeQuery(100_000, 150_000, 40, 40, "Engineer");
+        EmployeeIndexes.Plan plan = indexes.plan(query);
+
+        assertEquals("age", plan.index());
+        assertTrue(plan.candidates().size() > indexes.query(query).size());
+        assertTrue(indexes.query(query).stream().allMatch(query::matches));
+    }
+
+    @Test
+    void testRemoveDropsTheEmployeeFromEveryIndex() {
+        MockEmployee removed = employees.get(0);
+
+        indexes.remove(removed);
+
+        assertTrue(indexes.findById(removed.getId()).isEmpty());
+        EmployeeQuery exact = new EmployeeQuery(
+                removed.getSalary(), removed.getSalary(), removed.getAge(), removed.getAge(), removed.getTitle());
+        assertFalse(indexes.query(exact).contains(removed));
+        assertFalse(indexes.plan(exact).candidates().contains(removed.getId()));
+        assertEquals(employees.get(1), indexes.findById(employees.get(1).getId()).orElseThrow());
+    }
+
+    @Test
+    void testEmployeesWithMissingAttributesAreOnlyFoundById() {
+        MockEmployee partial = MockEmployee.builder().id(UUID.randomUUID()).name("Partial").build();
+
+        indexes.add(partial);
+
+        assertEquals(partial, indexes.findById(partial.getId()).orElseThrow());
+        assertFalse(indexes.query(new EmployeeQuery(null, null, 16, 75, null)).contains(partial));
+        assertTrue(indexes.query(new EmployeeQuery(null, null, null, null, null)).contains(partial));
+        indexes.remove(partial);
+        assertTrue(indexes.findById(partial.getId()).isEmpty());
+    }
+
+    private static MockEmployee employee(String title, int salary, int age) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Employee")
+                .salary(salary)
+                .age(age)
+                .title(title)
+                .build();
+    }
+}
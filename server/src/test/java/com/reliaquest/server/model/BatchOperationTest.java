@@ -0,0 +1,40 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class BatchOperationTest {
+
+    @Test
+    void testCreateNeedsItsInput() {
+        assertFalse(operation(BatchOperation.Type.CREATE, null, null).isComplete());
+        assertTrue(operation(BatchOperation.Type.CREATE, new CreateMockEmployeeInput(), null)
+                .isComplete());
+        // An ID on a create is ignored rather than taken for its input
+        assertFalse(operation(BatchOperation.Type.CREATE, null, UUID.randomUUID().toString())
+                .isComplete());
+    }
+
+    @Test
+    void testDeleteNeedsANonBlankId() {
+        assertFalse(operation(BatchOperation.Type.DELETE, null, null).isComplete());
+        assertFalse(operation(BatchOperation.Type.DELETE, null, " ").isComplete());
+        assertTrue(operation(BatchOperation.Type.DELETE, null, UUID.randomUUID().toString())
+                .isComplete());
+    }
+
+    @Test
+    void testMissingTypeIsLeftToItsOwnConstraint() {
+        assertTrue(operation(null, null, null).isComplete());
+    }
+
+    private static BatchOperation operation(BatchOperation.Type type, CreateMockEmployeeInput create, String id) {
+        BatchOperation operation = new BatchOperation();
+        operation.setType(type);
+        operation.setCreate(create);
+        operation.setId(id);
+        return operation;
+    }
+}
@@ -0,0 +1,49 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeQueryTest {
+
+    private static final MockEmployee EMPLOYEE = MockEmployee.builder()
+            .id(UUID.randomUUID())
+            .name("Jane Doe")
+            .salary(100_000)
+            .age(40)
+            .title("Engineer")
+            .build();
+
+    @Test
+    void testRangesAreInclusive() {
+        assertTrue(new EmployeeQuery(100_000, 100_000, null, null, null).matches(EMPLOYEE));
+        assertTrue(new EmployeeQuery(null, null, 40, 40, null).matches(EMPLOYEE));
+        assertFalse(new EmployeeQuery(100_001, null, null, null, null).matches(EMPLOYEE));
+        assertFalse(new EmployeeQuery(null, null, null, 39, null).matches(EMPLOYEE));
+    }
+
+    @Test
+    void testTitleIgnoresCaseAndSurroundingWhitespace() {
+        assertTrue(new EmployeeQuery(null, null, null, null, " engineer ").matches(EMPLOYEE));
+        assertFalse(new EmployeeQuery(null, null, null, null, "Engineering").matches(EMPLOYEE));
+    }
+
+    @Test
+    void testEmptyQueryMatchesEverything() {
+        EmployeeQuery query = new EmployeeQuery(null, null, null, null, " ");
+
+        assertFalse(query.hasSalaryRange() || query.hasAgeRange() || query.hasTitle());
+        assertTrue(query.matches(EMPLOYEE));
+        assertTrue(query.matches(MockEmployee.builder().build()));
+    }
+
+    @Test
+    void testMissingValuesDoNotMatchAPredicate() {
+        MockEmployee partial = EMPLOYEE.toBuilder().salary(null).title(null).build();
+
+        assertFalse(new EmployeeQuery(0, null, null, null, null).matches(partial));
+        assertFalse(new EmployeeQuery(null, null, null, null, "Engineer").matches(partial));
+        assertTrue(new EmployeeQuery(null, null, 16, 75, null).matches(partial));
+    }
+}
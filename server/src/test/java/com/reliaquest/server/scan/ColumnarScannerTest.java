@@ -0,0 +1,117 @@
+package com.reliaquest.server.scan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ScanQuery;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+public class ColumnarScannerTest {
+
+    private static final List<String> FIRST_NAMES = List.of("Ada", "Grace", "Alan", "Edsger", "Barbara", "Donald");
+    private static final List<String> TITLES = List.of("Engineer", "Engineering Manager", "Analyst", "Designer");
+
+    private final ColumnarScanner scanner = new ColumnarScanner();
+
+    @Test
+    void testSequentialScanMatchesStreamFilter() {
+        assertMatchesStreamFilter(employees(new Random(29), ColumnarScanner.SEGMENT_SIZE + 100));
+    }
+
+    @Test
+    void testParallelScanMatchesStreamFilter() {
+        assertMatchesStreamFilter(employees(new Random(31), ColumnarScanner.PARALLEL_THRESHOLD * 2 + 123));
+    }
+
+    @Test
+    void testLimitLargerThanTheRowsIsClamped() {
+        List<MockEmployee> employees = employees(new Random(37), ColumnarScanner.PARALLEL_THRESHOLD + 1);
+        EmployeeColumns columns = EmployeeColumns.of(employees);
+
+        List<MockEmployee> all = scanner.scan(columns, ScanQuery.topBySalary(Integer.MAX_VALUE));
+
+        assertEquals(expected(employees, ScanQuery.topBySalary(Integer.MAX_VALUE)), all);
+        assertEquals(employees.size(), all.size());
+    }
+
+    @Test
+    void testNoMatchesAndNonPositiveLimits() {
+        List<MockEmployee> employees = employees(new Random(41), ColumnarScanner.PARALLEL_THRESHOLD + 1);
+        EmployeeColumns columns = EmployeeColumns.of(employees);
+
+        assertTrue(scanner.scan(columns, ScanQuery.nameContaining("nobody")).isEmpty());
+        assertTrue(scanner.scan(columns, new ScanQuery("nobody", null, null, null, null, null, 10))
+                .isEmpty());
+        assertTrue(scanner.scan(columns, ScanQuery.topBySalary(0)).isEmpty());
+        assertTrue(scanner.scan(columns, ScanQuery.topBySalary(-5)).isEmpty());
+        assertTrue(scanner.scan(EmployeeColumns.of(List.of()), ScanQuery.topBySalary(10))
+                .isEmpty());
+    }
+
+    private void assertMatchesStreamFilter(List<MockEmployee> employees) {
+        EmployeeColumns columns = EmployeeColumns.of(employees);
+        List<ScanQuery> queries = List.of(
+                new ScanQuery(null, null, null, null, null, null, null),
+                ScanQuery.nameContaining("ADA"),
+                new ScanQuery(null, "manager", 100_000, 300_000, null, null, null),
+                new ScanQuery("grace", null, null, null, 30, 39, null),
+                new ScanQuery(null, null, 400_000, 100_000, null, null, null),
+                ScanQuery.topBySalary(1),
+                ScanQuery.topBySalary(10),
+                ScanQuery.topBySalary(5_000),
+                new ScanQuery(null, "engineer", null, 200_000, 40, null, 25),
+                new ScanQuery("alan", null, null, null, null, null, 100_000));
+
+        for (ScanQuery query : queries) {
+            assertEquals(expected(employees, query), scanner.scan(columns, query), query.toString());
+        }
+    }
+
+    /*
+     * The scan's contract spelled out with a plain stream: matches in storage order, or the top matches by salary
+     * with ties in storage order.
+     */
+    private static List<MockEmployee> expected(List<MockEmployee> employees, ScanQuery query) {
+        Stream<MockEmployee> matches = employees.stream()
+                .filter(employee -> contains(employee.getName(), query.nameContains()))
+                .filter(employee -> contains(employee.getTitle(), query.titleContains()))
+                .filter(employee -> within(employee.getSalary(), query.minSalary(), query.maxSalary()))
+                .filter(employee -> within(employee.getAge(), query.minAge(), query.maxAge()));
+        if (query.limit() == null) {
+            return matches.toList();
+        }
+        return matches.sorted(Comparator.comparing(MockEmployee::getSalary).reversed())
+                .limit(Math.max(0, query.limit()))
+                .toList();
+    }
+
+    private static boolean contains(String value, String part) {
+        return part == null || value.toLowerCase(Locale.ROOT).contains(part.toLowerCase(Locale.ROOT));
+    }
+
+    private static boolean within(int value, Integer min, Integer max) {
+        return (min == null || value >= min) && (max == null || value <= max);
+    }
+
+    private static List<MockEmployee> employees(Random random, int count) {
+        List<MockEmployee> employees = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name(FIRST_NAMES.get(random.nextInt(FIRST_NAMES.size())) + " " + i)
+                    // Coarse salaries, so that ties are common
+                    .salary(random.nextInt(30, 500) * 1_000)
+                    .age(random.nextInt(16, 76))
+                    .title(TITLES.get(random.nextInt(TITLES.size())))
+                    .build());
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.server.scan;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.ScanQuery;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+public class EmployeeColumnStoreTest {
+
+    private final ColumnarScanner scanner = new ColumnarScanner();
+
+    @Test
+    void testScansMatchAFreshCopyThroughCreatesAndDeletes() {
+        Random random = new Random(43);
+        EmployeeColumnStore store = new EmployeeColumnStore();
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            add(store, employees, employee(random, i));
+        }
+        // Enough deletes for the columns to be compacted, interleaved with creates
+        for (int i = 0; i < 4_000; i++) {
+            MockEmployee removed = employees.remove(random.nextInt(employees.size()));
+            store.remove(removed);
+            if (i % 4 == 0) {
+                add(store, employees, employee(random, 5_000 + i));
+            }
+            if (i % 500 == 0) {
+                assertSameScans(employees, store.columns());
+            }
+        }
+
+        assertTrue(store.columns().size() < 5_000, "Not compacted: " + store.columns().size());
+        assertSameScans(employees, store.columns());
+    }
+
+    @Test
+    void testColumnsTakenBeforeAWriteDoNotSeeLaterCreates() {
+        Random random = new Random(47);
+        EmployeeColumnStore store = new EmployeeColumnStore();
+        MockEmployee first = employee(random, 0);
+        store.add(first);
+
+        EmployeeColumns before = store.columns();
+        for (int i = 1; i < 100; i++) {
+            store.add(employee(random, i));
+        }
+
+        assertEquals(List.of(first), scanner.scan(before, ScanQuery.topBySalary(10)));
+        assertEquals(100, scanner.scan(store.columns(), ScanQuery.topBySalary(1_000)).size());
+    }
+
+    @Test
+    void testRemovingAnUnknownEmployeeChangesNothing() {
+        Random random = new Random(53);
+        EmployeeColumnStore store = new EmployeeColumnStore();
+        MockEmployee stored = employee(random, 0);
+        store.add(stored);
+        EmployeeColumns before = store.columns();
+
+        store.remove(employee(random, 1));
+
+        assertSame(before, store.columns());
+        assertEquals(List.of(stored), scanner.scan(store.columns(), ScanQuery.topBySalary(10)));
+    }
+
+    private void assertSameScans(List<MockEmployee> employees, EmployeeColumns columns) {
+        EmployeeColumns fresh = EmployeeColumns.of(employees);
+        for (ScanQuery query : List.of(
+                new ScanQuery(null, null, null, null, null, null, null),
+                new ScanQuery("employee 1", "engineer", 100_000, 400_000, null, null, null),
+                ScanQuery.topBySalary(10),
+                ScanQuery.topBySalary(10_000))) {
+            assertEquals(scanner.scan(fresh, query), scanner.scan(columns, query), query.toString());
+        }
+    }
+
+    private static void add(EmployeeColumnStore store, List<MockEmployee> employees, MockEmployee employee) {
+        store.add(employee);
+        employees.add(employee);
+    }
+
+    private static MockEmployee employee(Random random, int i) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name("Employee " + i)
+                // Coarse salaries, so that ties are common
+                .salary(random.nextInt(30, 500) * 1_000)
+                .age(random.nextInt(16, 76))
+                .title(random.nextBoolean() ? "Engineer" : "Manager")
+                .build();
+    }
+}
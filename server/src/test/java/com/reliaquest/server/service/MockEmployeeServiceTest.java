@@ -0,0 +1,131 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.EmployeeQuery;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class MockEmployeeServiceTest {
+
+    private MockEmployeeService service;
+
+    @BeforeEach
+    void setUp() {
+        List<MockEmployee> employees = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            employees.add(MockEmployee.builder()
+                    .id(UUID.randomUUID())
+                    .name("Seeded Employee " + i)
+                    .salary(50_000 + i * 1_000)
+                    .age(20 + i % 40)
+                    .title(i % 2 == 0 ? "Engineer" : "Manager")
+                    .email("seeded" + i + "@company.com")
+                    .build());
+        }
+        service = new MockEmployeeService(new Faker(), employees);
+        service.initializeDerivedData();
+    }
+
+    @Test
+    void testCreatedEmployeesAreIndexed() {
+        MockEmployee created = service.create(input(null, "New Hire", 999_000, 30, "Astronaut"));
+
+        assertEquals(created, service.findById(created.getId()).orElseThrow());
+        assertEquals(List.of(created), service.query(new EmployeeQuery(null, null, null, null, "astronaut")));
+        assertEquals(List.of(created), service.query(new EmployeeQuery(999_000, null, null, null, null)));
+        assertEquals(101, service.getMockEmployees().size());
+    }
+
+    @Test
+    void testCreatingAnExistingIdReturnsTheExistingEmployee() {
+        MockEmployee existing = service.getMockEmployees().get(0);
+
+        MockEmployee created = service.create(input(existing.getId(), "Someone Else", 1, 30, "Astronaut"));
+
+        assertSame(existing, created);
+        assertEquals(100, service.getMockEmployees().size());
+        assertTrue(service.query(new EmployeeQuery(null, null, null, null, "Astronaut")).isEmpty());
+    }
+
+    @Test
+    void testDeletedEmployeesAreRemovedFromTheListAndIndexes() {
+        MockEmployee deleted = service.getMockEmployees().get(10);
+
+        assertTrue(service.delete(deleted.getId().toString().toUpperCase()));
+
+        assertTrue(service.findById(deleted.getId()).isEmpty());
+        assertFalse(service.getMockEmployees().contains(deleted));
+        assertFalse(service.query(new EmployeeQuery(deleted.getSalary(), deleted.getSalary(), null, null, null))
+                .contains(deleted));
+        assertFalse(service.delete(deleted.getId().toString()));
+    }
+
+    @Test
+    void testDeletingAnUnknownOrMalformedIdReturnsFalse() {
+        assertFalse(service.delete(UUID.randomUUID().toString()));
+        assertFalse(service.delete("not-a-uuid"));
+        assertEquals(100, service.getMockEmployees().size());
+    }
+
+    @Test
+    void testSearchEmployeesMatchesNameSubstringsInStorageOrder() {
+        MockEmployee created = service.create(input(null, "Another Employee 5", 1_000, 30, "Astronaut"));
+
+        List<MockEmployee> expected = service.getMockEmployees().stream()
+                .filter(employee -> employee.getName().toLowerCase().contains("employee 5"))
+                .toList();
+        assertEquals(expected, service.searchEmployees("EMPLOYEE 5"));
+        assertTrue(service.searchEmployees("employee 5").contains(created));
+        assertTrue(service.searchEmployees("nobody").isEmpty());
+    }
+
+    @Test
+    void testFuzzySearchFollowsMutations() {
+        MockEmployee alice = service.create(input(null, "Alice Walker", 1_000, 30, "Astronaut"));
+        MockEmployee alicia = service.create(input(null, "Alicia Walker", 1_000, 30, "Astronaut"));
+
+        // Closest first: Alice is one edit from the query, Alicia three
+        assertEquals(List.of(alice, alicia), service.searchEmployeesFuzzy("alice walkr", 2));
+        assertEquals(List.of(alice), service.searchEmployeesFuzzy("alice walkr", 1));
+        assertTrue(service.searchEmployeesFuzzy("alcie", 1).isEmpty());
+
+        service.delete(alice.getId().toString());
+
+        assertEquals(List.of(alicia), service.searchEmployeesFuzzy("alice walkr", 2));
+    }
+
+    @Test
+    void testTopTenHighestSalariesFollowMutations() {
+        List<String> expected = IntStream.iterate(99, i -> i >= 90, i -> i - 1)
+                .mapToObj(i -> "Seeded Employee " + i)
+                .toList();
+        assertEquals(expected, service.getTopTenHighestSalaries());
+
+        service.create(input(null, "New Hire", 1_000_000, 30, "Astronaut"));
+        service.delete(service.getMockEmployees().get(99).getId().toString());
+
+        List<String> names = service.getTopTenHighestSalaries();
+        assertEquals(10, names.size());
+        assertEquals("New Hire", names.get(0));
+        assertFalse(names.contains("Seeded Employee 99"));
+        assertEquals("Seeded Employee 90", names.get(9));
+    }
+
+    private static CreateMockEmployeeInput input(UUID id, String name, int salary, int age, String title) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setId(id);
+        input.setName(name);
+        input.setSalary(salary);
+        input.setAge(age);
+        input.setTitle(title);
+        return input;
+    }
+}